@@ -0,0 +1,191 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.benchmark;
+
+// Benchmark: Durchsatz des lock-freien InMemoryTaskRepository bei mehreren Threads.
+// Ausfuehren: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ConcurrentRepository"
+
+import com.taskforge.model.Task;
+import com.taskforge.repository.InMemoryTaskRepository;
+import com.taskforge.repository.TaskRepository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Misst add(), findByTitle() und findAll() bei 1, 4 und 8 Threads:
+ * - lockFree: InMemoryTaskRepository (TaskLog + ConcurrentHashMap)
+ * - globalLock: Vergleich mit ArrayList + HashMap hinter einer einzigen Sperre
+ *
+ * Skalierung pruefen: Ergebnisse der Varianten mit 1/4/8 Threads vergleichen
+ * (aussagekraeftig nur auf Maschinen mit entsprechend vielen Kernen).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ConcurrentRepositoryBenchmark {
+
+    @Param({"lockFree", "globalLock"})
+    private String implementation;
+
+    private TaskRepository repository;
+
+    // Wiederverwendete Tasks — gemessen wird das Repository, nicht die Task-Erzeugung
+    private Task[] pool;
+
+    @Setup(Level.Iteration)
+    public void freshRepository() {
+        repository = "lockFree".equals(implementation)
+                ? new InMemoryTaskRepository()
+                : new GlobalLockRepository();
+        pool = new Task[1024];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = new Task("Task-" + i);
+            repository.add(pool[i]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            next = (next + 1) & 1023;
+            return next;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void add_1thread(Cursor cursor) {
+        repository.add(pool[cursor.advance()]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void add_4threads(Cursor cursor) {
+        repository.add(pool[cursor.advance()]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void add_8threads(Cursor cursor) {
+        repository.add(pool[cursor.advance()]);
+    }
+
+    // Gemischte Last: 2 Schreiber, 4 Titelsuchen, 2 Snapshot-Leser
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void mixedAdd(Cursor cursor) {
+        repository.add(pool[cursor.advance()]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public Optional<Task> mixedFindByTitle(Cursor cursor) {
+        return repository.findByTitle(pool[cursor.advance()].getTitle());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public int mixedFindAll() {
+        return repository.findAll().size();
+    }
+
+    /**
+     * Vergleichsimplementierung: alle Zugriffe hinter einer gemeinsamen Sperre.
+     */
+    static class GlobalLockRepository implements TaskRepository {
+
+        private final List<Task> tasks = new ArrayList<>();
+        private final Map<String, Task> titleIndex = new HashMap<>();
+
+        @Override
+        public synchronized void add(Task task) {
+            tasks.add(task);
+            titleIndex.putIfAbsent(task.getTitle().toLowerCase(), task);
+        }
+
+        @Override
+        public synchronized void addAll(Collection<Task> batch) {
+            batch.forEach(this::add);
+        }
+
+        @Override
+        public synchronized List<Task> findAll() {
+            return List.copyOf(tasks);
+        }
+
+        @Override
+        public synchronized Optional<Task> findByTitle(String title) {
+            return Optional.ofNullable(titleIndex.get(title.toLowerCase()));
+        }
+
+        @Override
+        public synchronized Optional<Task> findById(long id) {
+            return tasks.stream().filter(t -> t.getId() == id).findFirst();
+        }
+
+        @Override
+        public synchronized Optional<Task> complete(long id) {
+            Optional<Task> found = findById(id);
+            found.ifPresent(task -> task.setCompleted(true));
+            return found;
+        }
+
+        @Override
+        public synchronized Optional<Task> delete(long id) {
+            Optional<Task> removed = findById(id);
+            removed.ifPresent(task -> {
+                tasks.remove(task);
+                titleIndex.remove(task.getTitle().toLowerCase(), task);
+            });
+            return removed;
+        }
+
+        @Override
+        public synchronized List<Task> findPage(long afterId, int limit) {
+            int from = 0;
+            while (afterId > 0 && from < tasks.size() && tasks.get(from).getId() != afterId) {
+                from++;
+            }
+            // Geloeschte Cursor merkt sich die Vergleichsimplementierung nicht: dann von vorn
+            from = afterId > 0 && from < tasks.size() ? from + 1 : 0;
+            return List.copyOf(tasks.subList(Math.min(from, tasks.size()),
+                    (int) Math.min((long) from + limit, tasks.size())));
+        }
+
+        @Override
+        public Stream<Task> stream() {
+            return findAll().stream();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.benchmark;
+
+// Benchmark: Heap-Bedarf und GC-Verhalten von InMemory- und OffHeap-Repository.
+// Ausfuehren: mvn -Pbenchmark test-compile exec:exec -Djmh.args="FootprintBenchmark"
+// GC-Details zusaetzlich mit: -Djmh.args="FootprintBenchmark -prof gc"
+
+import com.taskforge.model.Task;
+import com.taskforge.repository.InMemoryTaskRepository;
+import com.taskforge.repository.OffHeapTaskRepository;
+import com.taskforge.repository.TaskRepository;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuellt das Repository mit size Tasks und misst danach eine vollstaendige GC (System.gc()),
+ * waehrend der Bestand erreichbar bleibt. Die Dauer zeigt, wie viel der Collector verfolgen muss;
+ * die Zusatzzaehler zeigen den verbleibenden Heap und den Direct-Speicher.
+ *
+ *   inMemory — ein Task-Objekt (mit String und LocalDateTime) pro Task auf dem Heap
+ *   offHeap  — Spalten in Direct-ByteBuffern, Titel dedupliziert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g", "-XX:MaxDirectMemorySize=2g"})
+public class FootprintBenchmark {
+
+    @Param({"1000000", "5000000"})
+    private int size;
+
+    @Param({"inMemory", "offHeap"})
+    private String repository;
+
+    private TaskRepository tasks;
+
+    /** Pro Iteration gemessener Speicherbedarf (erscheint als Zusatzspalte im Ergebnis). */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedHeapMb;
+        public long directMemoryMb;
+    }
+
+    @Setup(Level.Trial)
+    public void fill() {
+        tasks = "offHeap".equals(repository) ? new OffHeapTaskRepository() : new InMemoryTaskRepository();
+        for (int i = 0; i < size; i++) {
+            // 10.000 verschiedene Titel — typisch fuer wiederkehrende Aufgaben
+            tasks.add(new Task("Task " + (i % 10_000)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void release() {
+        tasks = null;
+    }
+
+    @Benchmark
+    public int fullGcWithLiveTasks(Footprint footprint) {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        footprint.retainedHeapMb = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+        footprint.directMemoryMb = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum() >> 20;
+        return tasks.findAll().size();
+    }
+}
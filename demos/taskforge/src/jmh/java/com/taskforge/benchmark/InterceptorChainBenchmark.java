@@ -0,0 +1,141 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.benchmark;
+
+// Benchmark: Kosten der CDI-Kette @Logged -> @Timed -> ValidatingTaskRepository -> Repository.
+// Erweiterung: @Traced (Stereotype @Service und @Repository) per @Param ein- und ausschaltbar.
+// Ausfuehren: mvn -Pbenchmark test-compile exec:exec -Djmh.args="InterceptorChain -prof gc"
+
+import com.taskforge.model.Task;
+import com.taskforge.qualifier.InMemory;
+import com.taskforge.repository.InMemoryTaskRepository;
+import com.taskforge.repository.TaskRepository;
+import com.taskforge.stereotype.Service;
+
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.inject.Inject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst dieselbe Operation (Task anlegen + wieder loeschen, der Bestand bleibt konstant)
+ * auf drei Ebenen eines echten Weld-SE-Containers:
+ * - raw:         InMemoryTaskRepository direkt, ohne Container
+ * - decorated:   @InMemory TaskRepository aus dem Container
+ *                (Client-Proxy + TracingInterceptor des @Repository-Stereotyps + ValidatingTaskRepository)
+ * - intercepted: ein @Service-Bean davor (@Traced + @Logged + @Timed, dann wie decorated)
+ *
+ * traceEnabled setzt app.trace.enabled: bei false ruft der TracingInterceptor nur proceed() auf,
+ * der Unterschied zu true sind die Kosten des Aufrufbaums (auf beiden Ebenen mit Container).
+ *
+ * Die Differenzen zeigen, was Decorator und Interceptors pro Aufruf kosten; "-prof gc" liefert
+ * dazu die Allokationsrate (gc.alloc.rate.norm = Bytes pro Operation).
+ * Events und Observer von TaskService.createTask sind bewusst nicht Teil der Messung.
+ *
+ * Konsolenausgaben (Validator, LOGGED, TIMER) gehen in einen Null-Stream: gemessen wird das
+ * Erzeugen der Zeilen, nicht das Terminal. app.timer.console=false, app.logged.level und
+ * app.trace.enabled per @Param.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorChainBenchmark {
+
+    @Param({"OFF", "INFO"})
+    private String loggedLevel;
+
+    @Param({"false", "true"})
+    private String traceEnabled;
+
+    private SeContainer container;
+    private PrintStream originalOut;
+
+    private TaskRepository raw;
+    private TaskRepository decorated;
+    private RepositoryProbe intercepted;
+
+    @Setup(Level.Trial)
+    public void startContainer() {
+        System.setProperty("app.timer.console", "false");
+        System.setProperty("app.logged.level", loggedLevel);
+        System.setProperty("app.trace.enabled", traceEnabled);
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        container = SeContainerInitializer.newInstance()
+                .addBeanClasses(RepositoryProbe.class)
+                .initialize();
+        raw = new InMemoryTaskRepository();
+        decorated = container.select(TaskRepository.class, new InMemory.Literal()).get();
+        intercepted = container.select(RepositoryProbe.class).get();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContainer() {
+        container.close();
+        System.setOut(originalOut);
+        System.clearProperty("app.timer.console");
+        System.clearProperty("app.logged.level");
+        System.clearProperty("app.trace.enabled");
+    }
+
+    @Benchmark
+    public Optional<Task> raw() {
+        Task task = new Task("Benchmark-Task");
+        raw.add(task);
+        return raw.delete(task.getId());
+    }
+
+    @Benchmark
+    public Optional<Task> decorated() {
+        Task task = new Task("Benchmark-Task");
+        decorated.add(task);
+        return decorated.delete(task.getId());
+    }
+
+    @Benchmark
+    public Optional<Task> intercepted() {
+        Task task = new Task("Benchmark-Task");
+        intercepted.add(task);
+        return intercepted.delete(task.getId());
+    }
+
+    /**
+     * Duenner @Service vor dem Repository: dieselbe Interceptor-Kette wie TaskService,
+     * aber ohne Events. Wird per addBeanClasses registriert (src/jmh ist kein Bean-Archiv).
+     */
+    @Service
+    public static class RepositoryProbe {
+
+        @Inject
+        @InMemory
+        private TaskRepository repository;
+
+        public void add(Task task) {
+            repository.add(task);
+        }
+
+        public Optional<Task> delete(long id) {
+            return repository.delete(id);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.benchmark;
+
+// Benchmark: add, findByTitle (Treffer/Fehlgriff) und findAll aller Repository-Implementierungen
+// bei 1k bis 10M Tasks, mit 1 und 4 Threads.
+// Ausfuehren: mvn -Pbenchmark test-compile exec:exec -Djmh.args="RepositoryScale -prof gc"
+// Nur ein Ausschnitt: -Djmh.args="RepositoryScale -p implementation=file -p size=1000000 -prof gc"
+
+import com.taskforge.model.Task;
+import com.taskforge.repository.FileTaskRepository;
+import com.taskforge.repository.InMemoryTaskRepository;
+import com.taskforge.repository.MockTaskRepository;
+import com.taskforge.repository.OffHeapTaskRepository;
+import com.taskforge.repository.TaskRepository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Misst die Repository-Operationen bei wachsendem Bestand:
+ * - add:               neuer Task (inkl. Task-Erzeugung und ID-Vergabe); der Bestand waechst waehrend
+ *                      der Messung, bei 1k also deutlich ueber die Ausgangsgroesse hinaus
+ * - findByTitleHit:    zufaelliger vorhandener Titel
+ * - findByTitleMiss:   Titel, den es nicht gibt (voller Index- bzw. Listendurchlauf)
+ * - iterateFindAll:    findAll() holen und komplett durchlaufen
+ *
+ * Implementierungen: inMemory, offHeap, file (FileTaskRepository ausserhalb des Containers,
+ * Journal im Temp-Verzeichnis, SyncMode INTERVAL) und mock (ArrayList, nicht thread-sicher —
+ * dort werden mehrere Schreiber per synchronized serialisiert).
+ *
+ * GC und Allokation: "-prof gc" (gc.alloc.rate.norm = Bytes pro Operation, gc.count, gc.time).
+ * 10M Tasks brauchen mehrere GB Heap; das Fuellen dauert beim FileTaskRepository entsprechend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx8g", "-XX:MaxDirectMemorySize=4g"})
+public class RepositoryScaleBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"inMemory", "offHeap", "file", "mock"})
+    private String implementation;
+
+    private TaskRepository repository;
+    private String[] hitTitles;
+    private String[] missTitles;
+    private boolean serializeWriters;
+
+    private PrintStream originalOut;
+    private Path storageDir;
+
+    @Setup(Level.Trial)
+    public void fill() throws Exception {
+        // Mock und FileTaskRepository protokollieren jeden add() auf der Konsole
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        repository = switch (implementation) {
+            case "inMemory" -> new InMemoryTaskRepository();
+            case "offHeap" -> new OffHeapTaskRepository();
+            case "file" -> openFileRepository();
+            case "mock" -> new MockTaskRepository();
+            default -> throw new IllegalArgumentException("Unbekannte Implementierung: " + implementation);
+        };
+        serializeWriters = repository instanceof MockTaskRepository;
+
+        List<Task> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < size; i++) {
+            batch.add(new Task("Task " + i));
+            if (batch.size() == 10_000 || i == size - 1) {
+                repository.addAll(batch);
+                batch.clear();
+            }
+        }
+        hitTitles = new String[1024];
+        missTitles = new String[1024];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < hitTitles.length; i++) {
+            hitTitles[i] = "TASK " + random.nextInt(size); // Gross-/Kleinschreibung egal
+            missTitles[i] = "Fehlt " + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void release() throws Exception {
+        if (repository instanceof FileTaskRepository) {
+            invoke(repository, "cleanup");
+            try (Stream<Path> files = Files.walk(storageDir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        repository = null;
+        System.setOut(originalOut);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            next = (next + 1) & 1023;
+            return next;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void add_1thread(Cursor cursor) {
+        add(cursor);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void add_4threads(Cursor cursor) {
+        add(cursor);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<Task> findByTitleHit_1thread(Cursor cursor) {
+        return repository.findByTitle(hitTitles[cursor.advance()]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Task> findByTitleHit_4threads(Cursor cursor) {
+        return repository.findByTitle(hitTitles[cursor.advance()]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<Task> findByTitleMiss_1thread(Cursor cursor) {
+        return repository.findByTitle(missTitles[cursor.advance()]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Task> findByTitleMiss_4threads(Cursor cursor) {
+        return repository.findByTitle(missTitles[cursor.advance()]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long iterateFindAll_1thread() {
+        return iterate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long iterateFindAll_4threads() {
+        return iterate();
+    }
+
+    private void add(Cursor cursor) {
+        Task task = new Task(missTitles[cursor.advance()]);
+        if (serializeWriters) {
+            synchronized (repository) {
+                repository.add(task);
+            }
+        } else {
+            repository.add(task);
+        }
+    }
+
+    private long iterate() {
+        long checksum = 0;
+        for (Task task : repository.findAll()) {
+            checksum += task.getId();
+        }
+        return checksum;
+    }
+
+    // FileTaskRepository ohne CDI: Konfiguration setzen und @PostConstruct selbst aufrufen
+    private FileTaskRepository openFileRepository() throws IOException, ReflectiveOperationException {
+        storageDir = Files.createTempDirectory("taskforge-bench");
+        FileTaskRepository file = new FileTaskRepository();
+        set(file, "storageDir", storageDir.toString());
+        set(file, "syncMode", "INTERVAL");
+        set(file, "syncIntervalMs", 100);
+        set(file, "snapshotEveryRecords", 10_000);
+        invoke(file, "init");
+        return file;
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static void invoke(Object target, String name) throws ReflectiveOperationException {
+        Method method = target.getClass().getDeclaredMethod(name);
+        method.setAccessible(true);
+        method.invoke(target);
+    }
+}
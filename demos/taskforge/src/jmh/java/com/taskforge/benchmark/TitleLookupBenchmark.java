@@ -0,0 +1,76 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.benchmark;
+
+// Benchmark: findByTitle ueber den Titel-Index im Vergleich zur frueheren linearen Suche.
+// Ausfuehren: mvn -Pbenchmark test-compile exec:exec -Djmh.args="TitleLookup"
+
+import com.taskforge.model.Task;
+import com.taskforge.repository.InMemoryTaskRepository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht die Titelsuche im InMemoryTaskRepository bei 10k, 100k und 1M Tasks:
+ * - indexedLookup: findByTitle ueber den Hash-Index (O(1))
+ * - linearScan:    Stream ueber findAll() mit equalsIgnoreCase (O(n), frueheres Verhalten)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TitleLookupBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private InMemoryTaskRepository repository;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void fillRepository() {
+        repository = new InMemoryTaskRepository();
+        for (int i = 0; i < size; i++) {
+            repository.add(new Task("Task-" + i));
+        }
+        // Gemischte Gross-/Kleinschreibung, gleichmaessig ueber den Bestand verteilt
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = "TASK-" + (long) i * (size - 1) / (queries.length - 1);
+        }
+    }
+
+    private String nextQuery() {
+        next = (next + 1) & (queries.length - 1);
+        return queries[next];
+    }
+
+    @Benchmark
+    public Optional<Task> indexedLookup() {
+        return repository.findByTitle(nextQuery());
+    }
+
+    @Benchmark
+    public Optional<Task> linearScan() {
+        String title = nextQuery();
+        return repository.findAll().stream()
+                .filter(t -> t.getTitle().equalsIgnoreCase(title))
+                .findFirst();
+    }
+}
@@ -4,6 +4,7 @@ package com.taskforge;
 // Uebung 0: Main-Klasse mit CDI-Container (Weld SE).
 // Erweitert in jeder Uebung — zeigt am Ende alle CDI-Features im Zusammenspiel.
 
+import com.taskforge.metrics.MethodLatencyRegistry;
 import com.taskforge.service.TaskService;
 import com.taskforge.service.TaskStatistics;
 
@@ -67,6 +68,13 @@ public class TaskForgeApp {
             System.out.println("--- Statistik (TaskStatistics per @Observes) ---");
             TaskStatistics stats = container.select(TaskStatistics.class).get();
             System.out.println("  " + stats.getSummary());
+            System.out.println("  " + stats.getRateSummary());
+
+            // --- Methoden-Latenzen (TimedInterceptor -> MethodLatencyRegistry) ---
+            System.out.println();
+            System.out.println("--- Methoden-Latenzen (@Timed) ---");
+            container.select(MethodLatencyRegistry.class).get().getSummary().lines()
+                    .forEach(line -> System.out.println("  " + line));
 
             // --- Alle Repository-Implementierungen auflisten (Uebung 4: Instance<T>) ---
             System.out.println();
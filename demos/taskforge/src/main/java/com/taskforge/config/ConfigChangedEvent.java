@@ -0,0 +1,53 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.config;
+
+// Erweiterung: CDI-Event des ConfigProducer nach dem Neuladen der Konfiguration.
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Wird gefeuert, wenn sich beim Neuladen mindestens ein Konfigurationswert geaendert hat
+ * (hinzugefuegt, geaendert oder entfernt). Observer lesen die neuen Werte typisiert ueber den
+ * ConfigProducer oder direkt hier als Text.
+ *
+ * Verwendung: void onConfigChanged(@Observes ConfigChangedEvent event) {
+ *                 if (event.affects("app.cache.maxSize")) { ... }
+ *             }
+ */
+public class ConfigChangedEvent {
+
+    private final Set<String> keys;
+    private final Map<String, String> oldValues;
+    private final Map<String, String> newValues;
+
+    public ConfigChangedEvent(Set<String> keys, Map<String, String> oldValues, Map<String, String> newValues) {
+        this.keys = Set.copyOf(keys);
+        this.oldValues = oldValues;
+        this.newValues = newValues;
+    }
+
+    /** Die geaenderten Schluessel. */
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    public boolean affects(String key) {
+        return keys.contains(key);
+    }
+
+    /** Bisheriger Wert oder null, wenn der Schluessel neu ist. */
+    public String getOldValue(String key) {
+        return oldValues.get(key);
+    }
+
+    /** Neuer Wert oder null, wenn der Schluessel entfernt wurde. */
+    public String getNewValue(String key) {
+        return newValues.get(key);
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigChangedEvent{" + keys + "}";
+    }
+}
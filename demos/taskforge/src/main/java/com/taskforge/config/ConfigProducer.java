@@ -7,14 +7,44 @@ package com.taskforge.config;
 // Hinweis: Ab Uebung 9 wird die Konfiguration durch DeltaSpike @ConfigProperty ersetzt.
 // Diese Klasse bleibt als Referenzbeispiel erhalten, liefert aber nur noch Werte,
 // die nicht bereits durch DeltaSpike abgedeckt sind.
+// Erweiterung: Werte aus apache-deltaspike.properties, typisiert (int, long, boolean, Duration, Enum)
+// und einmal geparst im Cache; Datei per WatchService ueberwacht, Aenderungen als ConfigChangedEvent.
 
 import com.taskforge.qualifier.ConfigValue;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.Produces;
 import jakarta.enterprise.inject.spi.InjectionPoint;
+import jakarta.inject.Inject;
+import org.apache.deltaspike.core.api.config.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Erzeugt Konfigurationswerte per @Produces.
@@ -22,17 +52,94 @@ import java.util.Map;
  * - Producer-Methoden
  * - InjectionPoint-API (Metadaten des Injection-Punktes auslesen)
  * - Qualifier mit @Nonbinding Member
+ *
+ * Quelle ist dieselbe apache-deltaspike.properties, die DeltaSpike liest (oder app.config.file);
+ * System-Properties haben Vorrang, die Standardwerte unten gelten nur fuer fehlende Schluessel.
+ * Uebernommen werden nur System-Properties, deren Schluessel die Datei oder die Standardwerte
+ * kennen oder die mit "app." beginnen — ein fremdes System.setProperty() (JVM, Bibliotheken,
+ * Tests) loest beim naechsten Neuladen kein ConfigChangedEvent aus.
+ * Jeder Wert wird beim ersten Zugriff je Typ einmal geparst und bis zum naechsten Neuladen
+ * gecacht — ein Zugriff ist danach eine Map-Abfrage.
+ *
+ * Typen: String, int, long, boolean und Duration auch per Injection (@ConfigValue);
+ * Enums ueber getEnum(), da ein Producer nicht fuer beliebige Enum-Typen gelten kann.
+ * Duration: ISO-8601 ("PT5S") oder Zahl mit Einheit ms, s, m, h, d; eine Zahl allein = ms.
+ *
+ * Hot Reload: Liegt die Datei im Dateisystem (nicht im JAR), ueberwacht ein WatchService ihr
+ * Verzeichnis. Nach einer Aenderung wird neu geladen; haben sich Werte geaendert, feuert der
+ * Producer ein ConfigChangedEvent mit den betroffenen Schluesseln. Bereits injizierte Werte
+ * (auch @ConfigProperty) bleiben, wie sie sind — live wirkt nur, wer das Event beobachtet oder
+ * die Werte hier erneut abfragt (TaskEventDispatcher, CachingTaskRepository).
+ *
+ * Konfiguration:
+ *   app.config.file  — nur als System-Property: zu lesende und zu ueberwachende Datei
+ *                      (fehlt sie, gilt die Classpath-Ressource)
+ *   app.config.watch — false = kein WatchService, Neuladen nur ueber reload()
  */
 @ApplicationScoped
 public class ConfigProducer {
 
-    private final Map<String, String> config = new HashMap<>();
+    static final String RESOURCE = "META-INF/apache-deltaspike.properties";
+
+    // Editoren schreiben oft in mehreren Schritten — erst nach dieser Ruhezeit neu laden
+    private static final long DEBOUNCE_MS = 100;
+
+    // System-Properties mit diesem Praefix gelten auch ohne Eintrag in Datei oder Standardwerten
+    private static final String SYSTEM_PREFIX = "app.";
+
+    // Standardwerte — greifen, wenn weder Datei noch System-Property den Schluessel setzt
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "app.name", "TaskForge",
+            "app.maxTasks", "100",
+            "app.version", "1.0");
+
+    @Inject
+    @ConfigProperty(name = "app.config.watch", defaultValue = "true")
+    private Boolean watch;
 
-    public ConfigProducer() {
-        // Standardwerte — in der Praxis aus einer Datei oder Datenbank geladen
-        config.put("app.name", "TaskForge");
-        config.put("app.maxTasks", "100");
-        config.put("app.version", "1.0");
+    @Inject
+    private Event<ConfigChangedEvent> changed;
+
+    private Path file;                 // null = Ressource im JAR, nicht ueberwachbar
+    private volatile Values values;
+    private WatchService watchService;
+    private Thread watcher;
+
+    @PostConstruct
+    void init() {
+        file = resolveFile();
+        values = new Values(read());
+    }
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        if (!watch || file == null) {
+            return;
+        }
+        try {
+            watchService = file.getFileSystem().newWatchService();
+            file.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            System.out.println("[ConfigProducer] Ueberwachung nicht moeglich: " + e.getMessage());
+            return;
+        }
+        watcher = new Thread(this::watchLoop, "taskforge-config-watch");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    void cleanup() {
+        if (watchService != null) {
+            try {
+                watchService.close(); // beendet take() im Watcher-Thread
+                watcher.join(1_000);
+            } catch (IOException e) {
+                System.out.println("[ConfigProducer] WatchService nicht sauber geschlossen: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 
     /**
@@ -42,8 +149,276 @@ public class ConfigProducer {
     @Produces
     @ConfigValue
     public String getConfigValue(InjectionPoint ip) {
-        ConfigValue annotation = ip.getAnnotated().getAnnotation(ConfigValue.class);
-        String key = annotation.value();
-        return config.getOrDefault(key, "?");
+        ConfigValue annotation = annotationOf(ip);
+        String value = lookup(annotation.value(), String.class, annotation.defaultValue(), Function.identity());
+        return value != null ? value : "?";
+    }
+
+    @Produces
+    @ConfigValue
+    public int getIntValue(InjectionPoint ip) {
+        ConfigValue annotation = annotationOf(ip);
+        return require(annotation.value(),
+                lookup(annotation.value(), Integer.class, annotation.defaultValue(), Integer::valueOf));
+    }
+
+    @Produces
+    @ConfigValue
+    public long getLongValue(InjectionPoint ip) {
+        ConfigValue annotation = annotationOf(ip);
+        return require(annotation.value(),
+                lookup(annotation.value(), Long.class, annotation.defaultValue(), Long::valueOf));
+    }
+
+    @Produces
+    @ConfigValue
+    public boolean getBooleanValue(InjectionPoint ip) {
+        ConfigValue annotation = annotationOf(ip);
+        return require(annotation.value(),
+                lookup(annotation.value(), Boolean.class, annotation.defaultValue(), ConfigProducer::parseBoolean));
+    }
+
+    @Produces
+    @ConfigValue
+    public Duration getDurationValue(InjectionPoint ip) {
+        ConfigValue annotation = annotationOf(ip);
+        return require(annotation.value(),
+                lookup(annotation.value(), Duration.class, annotation.defaultValue(), ConfigProducer::parseDuration));
+    }
+
+    public String getString(String key, String defaultValue) {
+        return lookup(key, String.class, defaultValue, Function.identity());
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return lookup(key, Integer.class, Integer.toString(defaultValue), Integer::valueOf);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return lookup(key, Long.class, Long.toString(defaultValue), Long::valueOf);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return lookup(key, Boolean.class, Boolean.toString(defaultValue), ConfigProducer::parseBoolean);
+    }
+
+    public Duration getDuration(String key, Duration defaultValue) {
+        return lookup(key, Duration.class, defaultValue.toString(), ConfigProducer::parseDuration);
+    }
+
+    /**
+     * Enum-Wert ueber den Konstantennamen (Gross-/Kleinschreibung egal).
+     */
+    public <E extends Enum<E>> E getEnum(String key, Class<E> type, E defaultValue) {
+        return lookup(key, type, defaultValue.name(),
+                text -> Enum.valueOf(type, text.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Zaehlt bei jedem Neuladen mit Aenderungen hoch. Fuer Beans, die kein Event beobachten
+     * koennen (z.B. Decorators): Version merken und bei Abweichung die Werte neu abfragen.
+     */
+    public long getVersion() {
+        return values.version;
+    }
+
+    /** Ueberwachte Datei oder null, wenn die Konfiguration aus einem JAR stammt. */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Liest Datei und System-Properties neu ein. Haben sich Werte geaendert, wird der Cache
+     * verworfen und ein ConfigChangedEvent gefeuert (im Thread des Aufrufers).
+     *
+     * @return die geaenderten Schluessel (leer = nichts geaendert, kein Event)
+     */
+    public synchronized Set<String> reload() {
+        Values old = values;
+        Map<String, String> fresh = read();
+        Set<String> keys = new HashSet<>();
+        for (Map.Entry<String, String> entry : fresh.entrySet()) {
+            if (!entry.getValue().equals(old.raw.get(entry.getKey()))) {
+                keys.add(entry.getKey());
+            }
+        }
+        for (String key : old.raw.keySet()) {
+            if (!fresh.containsKey(key)) {
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            return keys;
+        }
+        values = new Values(fresh, old.version + 1);
+        System.out.println("[ConfigProducer] Neu geladen, geaendert: " + keys);
+        changed.fire(new ConfigChangedEvent(keys, old.raw, fresh));
+        return keys;
+    }
+
+    private void watchLoop() {
+        Path name = file.getFileName();
+        try {
+            while (true) {
+                if (!isRelevant(watchService.take(), name)) {
+                    continue;
+                }
+                Thread.sleep(DEBOUNCE_MS);
+                WatchKey more;
+                while ((more = watchService.poll()) != null) {
+                    isRelevant(more, name);
+                }
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    // Ungueltige Datei oder fehlerhafter Observer: alte Werte bleiben, Ueberwachung laeuft weiter
+                    System.out.println("[ConfigProducer] Neuladen fehlgeschlagen: " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Container wird beendet
+        }
+    }
+
+    private static boolean isRelevant(WatchKey key, Path name) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    private <T> T lookup(String key, Class<T> type, String defaultValue, Function<String, T> parser) {
+        Values current = values;
+        Lookup lookup = new Lookup(key, type, defaultValue);
+        Object cached = current.parsed.get(lookup);
+        if (cached == null) {
+            String text = current.raw.get(key);
+            if (text == null) {
+                text = defaultValue;
+            }
+            if (text == null || text.isEmpty()) {
+                return null;
+            }
+            try {
+                cached = parser.apply(text.trim());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Ungueltiger Wert fuer " + key + ": '" + text
+                        + "' (erwartet " + type.getSimpleName() + ")", e);
+            }
+            current.parsed.putIfAbsent(lookup, cached);
+        }
+        return type.cast(cached);
+    }
+
+    private static <T> T require(String key, T value) {
+        if (value == null) {
+            throw new IllegalStateException("Konfigurationsschluessel fehlt: " + key);
+        }
+        return value;
+    }
+
+    // Aus der vorberechneten Qualifier-Menge statt per Reflection ueber getAnnotated()
+    private static ConfigValue annotationOf(InjectionPoint ip) {
+        for (Annotation qualifier : ip.getQualifiers()) {
+            if (qualifier instanceof ConfigValue configValue) {
+                return configValue;
+            }
+        }
+        throw new IllegalStateException("Kein @ConfigValue an " + ip);
+    }
+
+    static boolean parseBoolean(String text) {
+        if (text.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (text.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("weder true noch false");
+    }
+
+    static Duration parseDuration(String text) {
+        if (text.length() > 1 && (text.charAt(0) == 'P' || text.charAt(0) == 'p')) {
+            return Duration.parse(text);
+        }
+        int split = 0;
+        while (split < text.length() && Character.isDigit(text.charAt(split))) {
+            split++;
+        }
+        long amount = Long.parseLong(text.substring(0, split));
+        return switch (text.substring(split).trim().toLowerCase(Locale.ROOT)) {
+            case "", "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            case "d" -> Duration.ofDays(amount);
+            default -> throw new IllegalArgumentException("unbekannte Einheit");
+        };
+    }
+
+    private static Path resolveFile() {
+        String configFile = System.getProperty("app.config.file", "");
+        if (!configFile.isBlank()) {
+            return Path.of(configFile).toAbsolutePath();
+        }
+        URL url = Thread.currentThread().getContextClassLoader().getResource(RESOURCE);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Path.of(url.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    // Standardwerte < Datei < System-Properties (nur eigene Schluessel)
+    private Map<String, String> read() {
+        Properties properties = new Properties();
+        try (InputStream in = file != null
+                ? Files.newInputStream(file)
+                : Thread.currentThread().getContextClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Konfiguration nicht lesbar: " + (file != null ? file : RESOURCE), e);
+        }
+        Map<String, String> result = new HashMap<>(DEFAULTS);
+        for (String key : properties.stringPropertyNames()) {
+            result.put(key, properties.getProperty(key));
+        }
+        Properties system = System.getProperties();
+        for (String key : system.stringPropertyNames()) {
+            if (key.startsWith(SYSTEM_PREFIX) || result.containsKey(key)) {
+                result.put(key, system.getProperty(key));
+            }
+        }
+        return result;
+    }
+
+    // Schluessel des Caches: derselbe Schluessel kann mit verschiedenen Typen/Standardwerten gelesen werden
+    private record Lookup(String key, Class<?> type, String defaultValue) {
+    }
+
+    // Ein geladener Stand: Rohwerte + daraus geparste Werte; wird beim Neuladen komplett ersetzt
+    private static final class Values {
+
+        final Map<String, String> raw;
+        final ConcurrentHashMap<Lookup, Object> parsed = new ConcurrentHashMap<>();
+        final long version;
+
+        Values(Map<String, String> raw) {
+            this(raw, 0);
+        }
+
+        Values(Map<String, String> raw, long version) {
+            this.raw = Map.copyOf(raw);
+            this.version = version;
+        }
     }
 }
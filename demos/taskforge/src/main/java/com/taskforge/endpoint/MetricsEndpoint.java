@@ -0,0 +1,217 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.endpoint;
+
+// Erweiterung: Optionaler HTTP-Endpunkt /metrics (Prometheus) auf com.sun.net.httpserver.
+
+import com.taskforge.event.TaskEvent;
+import com.taskforge.metrics.LatencyHistogram;
+import com.taskforge.metrics.MethodLatencyRegistry;
+import com.taskforge.qualifier.InMemory;
+import com.taskforge.repository.InMemoryTaskRepository;
+import com.taskforge.service.TaskStatistics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.apache.deltaspike.core.api.config.ConfigProperty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stellt unter http://host:port/metrics die Laufzeit-Metriken im Prometheus-Textformat bereit:
+ *   taskforge_method_latency_seconds  — @Timed-Methoden (MethodLatencyRegistry), Summary
+ *   taskforge_repository_tasks        — Bestand des InMemoryTaskRepository
+ *   taskforge_task_events_total       — TaskEvents je Action (TaskStatistics)
+ *   taskforge_task_completion_seconds — Zeit vom Anlegen bis zum Erledigen
+ *   jvm_memory_*, jvm_buffer_pool_*, jvm_gc_*, jvm_threads_live — JVM ueber die MXBeans
+ *
+ * Jeder Abruf liest die Werte frisch; zwischen zwei Abrufen kostet der Endpunkt nichts.
+ *
+ * Konfiguration (apache-deltaspike.properties):
+ *   app.metrics.enabled — false (Standard) = kein Server, kein Port
+ *   app.metrics.host / app.metrics.port — Bind-Adresse (Port 0 = beliebiger freier Port)
+ *   app.metrics.threads — eigener kleiner Thread-Pool fuer die Anfragen
+ *
+ * @ApplicationScoped + @Observes @Initialized — startet mit dem Container, stoppt in @PreDestroy.
+ */
+@ApplicationScoped
+public class MetricsEndpoint {
+
+    static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Inject
+    @ConfigProperty(name = "app.metrics.enabled", defaultValue = "false")
+    private Boolean enabled;
+
+    @Inject
+    @ConfigProperty(name = "app.metrics.host", defaultValue = "127.0.0.1")
+    private String host;
+
+    @Inject
+    @ConfigProperty(name = "app.metrics.port", defaultValue = "9464")
+    private Integer port;
+
+    @Inject
+    @ConfigProperty(name = "app.metrics.threads", defaultValue = "2")
+    private Integer threads;
+
+    @Inject
+    private MethodLatencyRegistry latencies;
+
+    @Inject
+    private TaskStatistics statistics;
+
+    @Inject
+    @InMemory
+    private InMemoryTaskRepository repository;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Metrik-Endpunkt konnte nicht starten", e);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "taskforge-metrics-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+        server.start();
+        System.out.println("[MetricsEndpoint] Prometheus-Metriken unter http://" + host + ":"
+                + getPort() + PATH);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.out.println("[MetricsEndpoint] Gestoppt (@PreDestroy)");
+        }
+    }
+
+    /**
+     * Tatsaechlicher Port (bei app.metrics.port=0 vom Betriebssystem vergeben), -1 wenn aus.
+     */
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Alle Metriken als Prometheus-Text — auch ohne laufenden Server aufrufbar.
+     */
+    public String scrape() {
+        PrometheusWriter out = new PrometheusWriter();
+
+        out.family("taskforge_method_latency_seconds", "summary",
+                "Dauer der @Timed-Methodenaufrufe");
+        latencies.getHistograms().forEach((name, histogram) ->
+                out.summary("taskforge_method_latency_seconds", histogram, 1e-9, "method", name));
+        out.family("taskforge_method_latency_max_seconds", "gauge",
+                "Laengster @Timed-Methodenaufruf seit Start oder Reset");
+        latencies.getHistograms().forEach((name, histogram) ->
+                out.sample("taskforge_method_latency_max_seconds", histogram.getMax() * 1e-9,
+                        "method", name));
+
+        out.family("taskforge_repository_tasks", "gauge", "Gespeicherte Tasks")
+                .sample("taskforge_repository_tasks", repository.size(), "repository", "inMemory");
+
+        out.family("taskforge_task_events_total", "counter", "Zugestellte TaskEvents je Action");
+        for (TaskEvent.Action action : TaskEvent.Action.values()) {
+            out.sample("taskforge_task_events_total", statistics.getCount(action),
+                    "action", action.name().toLowerCase(Locale.ROOT));
+        }
+        LatencyHistogram completion = statistics.getCompletionLatency();
+        out.family("taskforge_task_completion_seconds", "summary",
+                "Zeit vom Anlegen bis zum Erledigen eines Tasks")
+                .summary("taskforge_task_completion_seconds", completion, 1e-3);
+
+        writeJvm(out);
+        return out.toString();
+    }
+
+    private static void writeJvm(PrometheusWriter out) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        out.family("jvm_memory_used_bytes", "gauge", "Belegter Speicher")
+                .sample("jvm_memory_used_bytes", heap.getUsed(), "area", "heap")
+                .sample("jvm_memory_used_bytes", nonHeap.getUsed(), "area", "nonheap");
+        out.family("jvm_memory_committed_bytes", "gauge", "Vom Betriebssystem zugesagter Speicher")
+                .sample("jvm_memory_committed_bytes", heap.getCommitted(), "area", "heap")
+                .sample("jvm_memory_committed_bytes", nonHeap.getCommitted(), "area", "nonheap");
+        out.family("jvm_memory_max_bytes", "gauge", "Obergrenze (-1 = unbegrenzt)")
+                .sample("jvm_memory_max_bytes", heap.getMax(), "area", "heap")
+                .sample("jvm_memory_max_bytes", nonHeap.getMax(), "area", "nonheap");
+
+        out.family("jvm_buffer_pool_used_bytes", "gauge",
+                "Direct- und Mapped-Buffer (u.a. OffHeapTaskRepository)");
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            out.sample("jvm_buffer_pool_used_bytes", pool.getMemoryUsed(), "pool", pool.getName());
+        }
+
+        out.family("jvm_gc_collections_total", "counter", "Anzahl der Garbage Collections");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            out.sample("jvm_gc_collections_total", gc.getCollectionCount(), "gc", gc.getName());
+        }
+        out.family("jvm_gc_collection_seconds_total", "counter", "Gesamtdauer der Garbage Collections");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            out.sample("jvm_gc_collection_seconds_total", gc.getCollectionTime() / 1000.0, "gc", gc.getName());
+        }
+
+        out.family("jvm_threads_live", "gauge", "Lebende Threads")
+                .sample("jvm_threads_live", ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+}
@@ -0,0 +1,92 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.endpoint;
+
+// Erweiterung: Prometheus-Textformat (Version 0.0.4) fuer den MetricsEndpoint.
+
+import com.taskforge.metrics.LatencyHistogram;
+
+/**
+ * Schreibt Metriken im Prometheus-Textformat in einen StringBuilder.
+ * Jede Metrik-Familie beginnt mit HELP und TYPE; danach folgen beliebig viele Samples.
+ * Label-Werte werden escaped (Backslash, Anfuehrungszeichen, Zeilenumbruch).
+ */
+final class PrometheusWriter {
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final StringBuilder out = new StringBuilder(4096);
+
+    /**
+     * Kopfzeilen einer Metrik-Familie.
+     *
+     * @param type counter, gauge oder summary
+     */
+    PrometheusWriter family(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    /**
+     * Ein Sample; labels abwechselnd Name und Wert.
+     */
+    PrometheusWriter sample(String name, double value, String... labels) {
+        out.append(name);
+        if (labels.length > 0) {
+            out.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labels[i]).append("=\"");
+                escape(labels[i + 1]);
+                out.append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+        return this;
+    }
+
+    /**
+     * Samples einer Summary aus einem LatencyHistogram: Quantile, _sum und _count.
+     *
+     * @param unitSeconds Sekunden pro Histogramm-Einheit (z.B. 1e-9 fuer Nanosekunden)
+     */
+    PrometheusWriter summary(String name, LatencyHistogram histogram, double unitSeconds,
+                             String... labels) {
+        String[] withQuantile = new String[labels.length + 2];
+        System.arraycopy(labels, 0, withQuantile, 0, labels.length);
+        withQuantile[labels.length] = "quantile";
+        for (double quantile : QUANTILES) {
+            withQuantile[labels.length + 1] = Double.toString(quantile);
+            sample(name, histogram.percentile(quantile) * unitSeconds, withQuantile);
+        }
+        sample(name + "_sum", histogram.getSum() * unitSeconds, labels);
+        sample(name + "_count", histogram.getCount(), labels);
+        return this;
+    }
+
+    private void escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
@@ -0,0 +1,13 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.event;
+
+// Erweiterung: Zustellart der TaskEvents (app.events.mode).
+
+/**
+ * SYNC — Event.fire(): der Aufrufer wartet auf alle @Observes-Methoden.
+ * ASYNC — Event.fireAsync(): Zustellung an @ObservesAsync-Methoden auf dem Event-Executor.
+ */
+public enum DispatchMode {
+    SYNC,
+    ASYNC
+}
@@ -0,0 +1,55 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.event;
+
+// Erweiterung: Verhalten des asynchronen Event-Versands bei voller Warteschlange.
+// Erweiterung: DROP lehnt ab (RejectedExecutionException) — die Zustellung scheitert sichtbar.
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Was passiert, wenn die begrenzte Warteschlange des Event-Executors voll ist.
+ */
+public enum OverflowPolicy {
+
+    /** Der Aufrufer wartet, bis wieder Platz ist (Gegendruck, kein Event geht verloren). */
+    BLOCK,
+
+    /**
+     * Das Event wird verworfen und gezaehlt — der Aufrufer wird nie aufgehalten.
+     * Der Handler wirft danach eine RejectedExecutionException: Die CompletionStage von
+     * fireAsync() endet damit als fehlgeschlagen, statt nie fertig zu werden.
+     */
+    DROP,
+
+    /** Der Aufrufer stellt das Event selbst zu (synchron) — bremst nur den Verursacher. */
+    CALLER_RUNS;
+
+    /**
+     * Liefert den passenden RejectedExecutionHandler.
+     *
+     * @param dropped zaehlt verworfene Events (nur DROP)
+     */
+    public RejectedExecutionHandler handler(LongAdder dropped) {
+        return switch (this) {
+            case BLOCK -> (task, executor) -> {
+                if (executor.isShutdown()) {
+                    throw new RejectedExecutionException("Event-Executor ist beendet");
+                }
+                try {
+                    executor.getQueue().put(task);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Unterbrochen beim Warten auf die Event-Queue", e);
+                }
+            };
+            case DROP -> (task, executor) -> {
+                dropped.increment();
+                throw new RejectedExecutionException("Event-Queue voll — Event verworfen");
+            };
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+        };
+    }
+}
@@ -3,12 +3,13 @@ package com.taskforge.event;
 
 // Uebung 5: Event-Klasse fuer lose gekoppelte Kommunikation zwischen Beans.
 // Wird vom TaskService gefeuert und von TaskLogger/TaskStatistics beobachtet.
+// Erweiterung: Zeitstempel des Ereignisses (fuer das persistente Event-Log und dessen Replay).
 
 import com.taskforge.model.Task;
 
 /**
  * Repraesentiert ein Ereignis im Lebenszyklus eines Tasks.
- * Enthaelt den betroffenen Task und die ausgefuehrte Aktion.
+ * Enthaelt den betroffenen Task, die ausgefuehrte Aktion und den Zeitpunkt (Epoch-Millisekunden).
  */
 public class TaskEvent {
 
@@ -23,10 +24,19 @@ public class TaskEvent {
 
     private final Task task;
     private final Action action;
+    private final long timestamp;
 
     public TaskEvent(Task task, Action action) {
+        this(task, action, System.currentTimeMillis());
+    }
+
+    /**
+     * Stellt ein bereits geschehenes Ereignis wieder her (z.B. beim Replay des Event-Logs).
+     */
+    public TaskEvent(Task task, Action action, long timestamp) {
         this.task = task;
         this.action = action;
+        this.timestamp = timestamp;
     }
 
     public Task getTask() {
@@ -37,6 +47,11 @@ public class TaskEvent {
         return action;
     }
 
+    /** Zeitpunkt des Ereignisses in Epoch-Millisekunden. */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
     @Override
     public String toString() {
         return String.format("TaskEvent{action=%s, task='%s'}", action, task.getTitle());
@@ -0,0 +1,33 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.event;
+
+// Erweiterung: Mehrere TaskEvents in einer Zustellung (Micro-Batching).
+
+import java.util.List;
+
+/**
+ * Gruppe von TaskEvents in Feuer-Reihenfolge.
+ * Observer, die @Observes TaskEventBatch deklarieren, werden einmal pro Gruppe statt
+ * einmal pro Event aufgerufen. Einzelne @Observes TaskEvent-Methoden bleiben unberuehrt.
+ */
+public class TaskEventBatch {
+
+    private final List<TaskEvent> events;
+
+    public TaskEventBatch(List<TaskEvent> events) {
+        this.events = List.copyOf(events);
+    }
+
+    public List<TaskEvent> getEvents() {
+        return events;
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    @Override
+    public String toString() {
+        return "TaskEventBatch{" + events.size() + " Events}";
+    }
+}
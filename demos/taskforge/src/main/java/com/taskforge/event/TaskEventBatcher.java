@@ -0,0 +1,147 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.event;
+
+// Erweiterung: Sammelt TaskEvents zu groessen- oder zeitbegrenzten Batches.
+// Erweiterung: Nach close() wird jedes Event sofort zugestellt (Austausch zur Laufzeit).
+// Erweiterung: inOrder-Consumer unter der Sperre — sieht die Batches in Aufnahme-Reihenfolge.
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Sammelt Events und gibt sie als TaskEventBatch an den sink weiter, sobald
+ *   - maxSize Events beisammen sind (im Thread des Aufrufers), oder
+ *   - das aelteste wartende Event maxDelayMs alt ist (im Hintergrund-Thread).
+ *
+ * Bei maxSize = 1 wird jedes Event sofort als eigener Batch weitergegeben, ohne Hintergrund-Thread.
+ * Die Zustellung laeuft ausserhalb der Sperre; Batches verschiedener Threads koennen sich daher
+ * ueberholen — innerhalb eines Batches bleibt die Reihenfolge erhalten.
+ * Wer die exakte Reihenfolge braucht (z.B. ein Event-Log), uebergibt einen inOrder-Consumer:
+ * er bekommt jeden Batch noch unter der Sperre, im Moment des Abschlusses — damit in der
+ * Reihenfolge, in der die Events offer() erreicht haben. Er sollte entsprechend kurz sein.
+ * Ein Event, das nach close() eintrifft (z.B. waehrend der Dispatcher den Batcher austauscht),
+ * geht sofort als eigener Batch an den sink statt verloren.
+ */
+public class TaskEventBatcher implements AutoCloseable {
+
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private final Consumer<List<TaskEvent>> inOrder;
+    private final Consumer<TaskEventBatch> sink;
+    private final ScheduledExecutorService flusher;
+
+    private List<TaskEvent> pending;   // nur unter this
+    private long oldestPendingNanos;   // nur unter this
+    private boolean closed;            // nur unter this
+
+    public TaskEventBatcher(int maxSize, long maxDelayMs, Consumer<TaskEventBatch> sink) {
+        this(maxSize, maxDelayMs, events -> { }, sink);
+    }
+
+    /**
+     * @param inOrder erhaelt jeden Batch unter der Sperre, in Aufnahme-Reihenfolge (vor sink)
+     */
+    public TaskEventBatcher(int maxSize, long maxDelayMs, Consumer<List<TaskEvent>> inOrder,
+                            Consumer<TaskEventBatch> sink) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Batch-Groesse muss mindestens 1 sein: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.inOrder = inOrder;
+        this.sink = sink;
+        this.pending = new ArrayList<>(maxSize);
+        if (maxSize > 1) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "taskforge-event-batcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Viertel der Wartezeit als Takt: kein Event wartet laenger als 1,25 * maxDelayMs
+            long period = Math.max(1, maxDelayMs / 4);
+            flusher.scheduleAtFixedRate(this::flushIfDue, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * Nimmt ein Event auf; ist der Batch voll, wird er sofort zugestellt.
+     */
+    public void offer(TaskEvent event) {
+        List<TaskEvent> full = null;
+        synchronized (this) {
+            if (closed) {
+                full = List.of(event);
+                inOrder.accept(full);
+            } else {
+                if (pending.isEmpty()) {
+                    oldestPendingNanos = System.nanoTime();
+                }
+                pending.add(event);
+                if (pending.size() >= maxSize) {
+                    full = takePending();
+                }
+            }
+        }
+        if (full != null) {
+            sink.accept(new TaskEventBatch(full));
+        }
+    }
+
+    /**
+     * Stellt alle wartenden Events sofort zu.
+     */
+    public void flush() {
+        List<TaskEvent> batch;
+        synchronized (this) {
+            batch = pending.isEmpty() ? null : takePending();
+        }
+        if (batch != null) {
+            sink.accept(new TaskEventBatch(batch));
+        }
+    }
+
+    private void flushIfDue() {
+        try {
+            List<TaskEvent> batch = null;
+            synchronized (this) {
+                if (!pending.isEmpty() && System.nanoTime() - oldestPendingNanos >= maxDelayNanos) {
+                    batch = takePending();
+                }
+            }
+            if (batch != null) {
+                sink.accept(new TaskEventBatch(batch));
+            }
+        } catch (RuntimeException e) {
+            // Ein fehlerhafter Observer darf den Takt nicht beenden
+            System.out.println("[TaskEventBatcher] Zustellung fehlgeschlagen: " + e.getMessage());
+        }
+    }
+
+    // Unter der Sperre: Batch abschliessen und an inOrder geben
+    private List<TaskEvent> takePending() {
+        List<TaskEvent> batch = pending;
+        pending = new ArrayList<>(maxSize);
+        inOrder.accept(batch);
+        return batch;
+    }
+
+    /**
+     * Beendet den Hintergrund-Takt und stellt den Rest zu.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+    }
+}
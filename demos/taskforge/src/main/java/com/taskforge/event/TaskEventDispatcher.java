@@ -0,0 +1,344 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.event;
+
+// Erweiterung: Zentraler Versand der TaskEvents — synchron (fire) oder asynchron (fireAsync)
+// auf einem begrenzten Executor mit waehlbarer Ueberlaufstrategie.
+// Erweiterung: Zusaetzliche Zustellung als TaskEventBatch (Micro-Batching).
+// Erweiterung: Optionales persistentes Event-Log (TaskEventLog) fuer das Replay.
+// Erweiterung: JFR-Event pro zugestelltem TaskEvent (TaskLifecycleEvent).
+// Erweiterung: Batch-Groesse, Batch-Wartezeit und Thread-Anzahl live per ConfigChangedEvent.
+// Erweiterung: Abgelehnte Zustellungen (DROP, beendeter Executor) enden als fehlgeschlagene Stage.
+
+import com.taskforge.config.ConfigChangedEvent;
+import com.taskforge.config.ConfigProducer;
+import com.taskforge.jfr.TaskLifecycleEvent;
+import com.taskforge.storage.TaskEventLog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.NotificationOptions;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.Reception;
+import jakarta.inject.Inject;
+import org.apache.deltaspike.core.api.config.ConfigProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Versendet TaskEvents an die Observer.
+ *
+ * SYNC (Standard): Event.fire() — wie bisher, der Aufrufer wartet auf alle @Observes-Methoden.
+ * ASYNC: Event.fireAsync() auf einem eigenen Executor — der Aufrufer wartet nur noch auf das
+ * Einreihen. Zugestellt wird an @ObservesAsync-Methoden (TaskLogger, TaskStatistics haben beide).
+ * Die Warteschlange ist begrenzt; ist sie voll, entscheidet die OverflowPolicy.
+ * Ein bei DROP verworfenes Event zaehlt als dropped und liefert eine fehlgeschlagene
+ * CompletionStage (RejectedExecutionException). Weld reicht die Ablehnung des Executors aus
+ * fireAsync() direkt an den Aufrufer durch; dispatch() faengt sie ab, der Aufrufer wird nicht
+ * aufgehalten. onAsyncError() zaehlt abgelehnte Zustellungen nicht als failed.
+ *
+ * Jedes Event geht einzeln an die TaskEvent-Observer und zusaetzlich ueber den TaskEventBatcher
+ * gesammelt an die TaskEventBatch-Observer (TaskLogger, TaskStatistics) — in derselben Zustellart.
+ *
+ * Konfiguration (apache-deltaspike.properties):
+ *   app.events.mode          — SYNC oder ASYNC
+ *   app.events.threads       — Anzahl Zustell-Threads
+ *   app.events.virtualThreads — virtuelle Threads verwenden, sofern die JVM sie anbietet
+ *   app.events.queueCapacity — Plaetze in der Warteschlange
+ *   app.events.overflow      — BLOCK, DROP oder CALLER_RUNS
+ *   app.events.batch.maxSize — Events pro Batch (1 = sofort, ohne Hintergrund-Thread)
+ *   app.events.batch.maxDelayMs — laengste Wartezeit eines Events in einem unvollstaendigen Batch
+ *   app.eventlog.enabled     — jedes Event zusaetzlich in app.storage.dir/app.eventlog.file schreiben
+ *
+ * Live aenderbar (ConfigChangedEvent, ohne Neustart): app.events.batch.maxSize,
+ * app.events.batch.maxDelayMs und app.events.threads. Fuer die Batches entsteht ein neuer
+ * TaskEventBatcher; der alte stellt seinen Rest noch zu. Wird ein Schluessel aus der Datei
+ * entfernt, bleibt der bisherige Wert stehen.
+ *
+ * Das Event-Log schreibt der TaskEventBatcher unter seiner Sperre (inOrder), bevor er den Batch
+ * zustellt — in der Reihenfolge, in der die dispatch()-Aufrufe den Batcher erreichen, auch bei
+ * asynchroner Zustellung und auch wenn sich die Zustellungen selbst ueberholen. Events eines
+ * Tasks, die nacheinander versendet werden, stehen damit in dieser Reihenfolge im Log.
+ * Nur waehrend ein Batcher ausgetauscht wird (ConfigChangedEvent), koennen gleichzeitige
+ * dispatch()-Aufrufe ueber alten und neuen Batcher verschraenkt ins Log gelangen.
+ * Nachspielen: TaskEventReplay.
+ *
+ * @ApplicationScoped — ein Executor fuer die ganze Anwendung.
+ */
+@ApplicationScoped
+public class TaskEventDispatcher {
+
+    @Inject
+    private Event<TaskEvent> taskEvent;
+
+    @Inject
+    private Event<TaskEventBatch> taskEventBatch;
+
+    @Inject
+    @ConfigProperty(name = "app.events.mode", defaultValue = "SYNC")
+    private String mode;
+
+    @Inject
+    @ConfigProperty(name = "app.events.virtualThreads", defaultValue = "true")
+    private Boolean virtualThreads;
+
+    @Inject
+    @ConfigProperty(name = "app.events.queueCapacity", defaultValue = "1024")
+    private Integer queueCapacity;
+
+    @Inject
+    @ConfigProperty(name = "app.events.overflow", defaultValue = "BLOCK")
+    private String overflow;
+
+    @Inject
+    @ConfigProperty(name = "app.eventlog.enabled", defaultValue = "false")
+    private Boolean eventLogEnabled;
+
+    @Inject
+    @ConfigProperty(name = "app.eventlog.file", defaultValue = "events.log")
+    private String eventLogFile;
+
+    @Inject
+    @ConfigProperty(name = "app.storage.dir", defaultValue = "data")
+    private String storageDir;
+
+    @Inject
+    private ConfigProducer config;
+
+    // Live aenderbar — aus dem ConfigProducer statt per @ConfigProperty, damit ein spaeter
+    // erzeugter Dispatcher den aktuellen Stand sieht und nicht den beim Start gelesenen
+    private int threads;
+    private int batchMaxSize;
+    private int batchMaxDelayMs;
+
+    private DispatchMode dispatchMode;
+    private TaskEventLog eventLog;
+    private ThreadPoolExecutor executor;
+    private NotificationOptions asyncOptions;
+    private volatile TaskEventBatcher batcher;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        threads = config.getInt("app.events.threads", 4);
+        batchMaxSize = config.getInt("app.events.batch.maxSize", 1);
+        batchMaxDelayMs = config.getInt("app.events.batch.maxDelayMs", 50);
+        dispatchMode = DispatchMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        if (dispatchMode == DispatchMode.ASYNC) {
+            executor = createExecutor(threads, queueCapacity,
+                    OverflowPolicy.valueOf(overflow.trim().toUpperCase(Locale.ROOT)),
+                    virtualThreads, dropped);
+            asyncOptions = NotificationOptions.ofExecutor(executor);
+        }
+        if (eventLogEnabled) {
+            try {
+                eventLog = new TaskEventLog(Path.of(storageDir, eventLogFile));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Event-Log nicht zu oeffnen", e);
+            }
+        }
+        batcher = newBatcher();
+        System.out.println("[TaskEventDispatcher] Zustellung: " + dispatchMode
+                + (executor != null ? " (" + threads + " Threads, Queue " + queueCapacity
+                        + ", " + overflow + ")" : "")
+                + ", Batches bis " + batchMaxSize + " Events / " + batchMaxDelayMs + "ms"
+                + (eventLog != null ? ", Event-Log " + eventLog.getFile() : ""));
+    }
+
+    @PreDestroy
+    void cleanup() {
+        try {
+            batcher.close();
+        } catch (RuntimeException e) {
+            System.out.println("[TaskEventDispatcher] Letzter Batch nicht zugestellt: " + e.getMessage());
+        }
+        if (executor != null) {
+            // Bereits eingereihte Events noch zustellen
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    System.out.println("[TaskEventDispatcher] " + executor.getQueue().size()
+                            + " Events nicht mehr zugestellt");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (eventLog != null) {
+            try {
+                eventLog.close();
+            } catch (IOException e) {
+                System.out.println("[TaskEventDispatcher] Event-Log nicht sauber geschlossen: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Uebernimmt geaenderte Batch- und Thread-Einstellungen. IF_EXISTS: eine Konfigurations-
+     * aenderung allein erzeugt den Dispatcher nicht.
+     */
+    void onConfigChanged(@Observes(notifyObserver = Reception.IF_EXISTS) ConfigChangedEvent event) {
+        if (event.affects("app.events.batch.maxSize") || event.affects("app.events.batch.maxDelayMs")) {
+            synchronized (this) {
+                batchMaxSize = config.getInt("app.events.batch.maxSize", batchMaxSize);
+                batchMaxDelayMs = config.getInt("app.events.batch.maxDelayMs", batchMaxDelayMs);
+                TaskEventBatcher old = batcher;
+                batcher = newBatcher();
+                old.close();
+            }
+            System.out.println("[TaskEventDispatcher] Batches jetzt bis " + batchMaxSize + " Events / "
+                    + batchMaxDelayMs + "ms");
+        }
+        if (executor != null && event.affects("app.events.threads")) {
+            int size = config.getInt("app.events.threads", threads);
+            // Kern- und Maximalgroesse in der Reihenfolge setzen, in der core <= max gilt
+            if (size > executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(size);
+                executor.setCorePoolSize(size);
+            } else {
+                executor.setCorePoolSize(size);
+                executor.setMaximumPoolSize(size);
+            }
+            threads = size;
+            System.out.println("[TaskEventDispatcher] Jetzt " + size + " Zustell-Threads");
+        }
+    }
+
+    /**
+     * Stellt ein Event gemaess app.events.mode zu.
+     * Bei laufender JFR-Aufzeichnung entsteht dabei ein TaskLifecycleEvent.
+     */
+    public void dispatch(TaskEvent event) {
+        TaskLifecycleEvent recorded = new TaskLifecycleEvent();
+        recorded.begin();
+        if (dispatchMode == DispatchMode.SYNC) {
+            taskEvent.fire(event);
+        } else {
+            fireAsync(taskEvent, event).whenComplete((result, error) -> onAsyncError(event, error));
+        }
+        batcher.offer(event);
+        recorded.end();
+        if (recorded.shouldCommit()) {
+            recorded.action = event.getAction().name();
+            recorded.taskId = event.getTask().getId();
+            recorded.title = event.getTask().getTitle();
+            recorded.commit();
+        }
+    }
+
+    /**
+     * Stellt sofort alle noch gesammelten Events als Batch zu.
+     */
+    public void flushBatches() {
+        batcher.flush();
+    }
+
+    private TaskEventBatcher newBatcher() {
+        return new TaskEventBatcher(batchMaxSize, batchMaxDelayMs, this::appendToLog, this::deliverBatch);
+    }
+
+    // Unter der Sperre des Batchers — legt die Reihenfolge im Log fest
+    private void appendToLog(List<TaskEvent> events) {
+        if (eventLog != null) {
+            try {
+                eventLog.append(events);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Event-Log nicht beschreibbar", e);
+            }
+        }
+    }
+
+    private void deliverBatch(TaskEventBatch batch) {
+        if (dispatchMode == DispatchMode.SYNC) {
+            taskEventBatch.fire(batch);
+        } else {
+            fireAsync(taskEventBatch, batch).whenComplete((result, error) -> onAsyncError(batch, error));
+        }
+    }
+
+    // Lehnt der Executor ab, wirft Weld schon in fireAsync() — als fehlgeschlagene Stage weitergeben
+    private <T> CompletionStage<T> fireAsync(Event<T> target, T payload) {
+        try {
+            return target.fireAsync(payload, asyncOptions);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void onAsyncError(Object event, Throwable error) {
+        if (error instanceof RejectedExecutionException) {
+            return; // verworfen (als dropped gezaehlt) oder Executor schon beendet
+        }
+        if (error != null) {
+            failed.increment();
+            System.out.println("[TaskEventDispatcher] Observer fehlgeschlagen fuer "
+                    + event + ": " + error.getMessage());
+        }
+    }
+
+    /**
+     * Baut den begrenzten Zustell-Executor: feste Thread-Anzahl, ArrayBlockingQueue mit
+     * queueCapacity Plaetzen, Ueberlauf gemaess policy. Virtuelle Threads werden per Reflection
+     * angefordert (Thread.ofVirtual() ab Java 21); fehlen sie, entstehen Daemon-Threads.
+     */
+    public static ThreadPoolExecutor createExecutor(int threads, int queueCapacity, OverflowPolicy policy,
+                                                    boolean preferVirtual, LongAdder dropped) {
+        ThreadFactory factory = preferVirtual ? virtualThreadFactory() : null;
+        if (factory == null) {
+            AtomicInteger counter = new AtomicInteger();
+            factory = r -> {
+                Thread thread = new Thread(r, "taskforge-events-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory, policy.handler(dropped));
+    }
+
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class)
+                    .invoke(builder, "taskforge-events-", 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null; // JVM ohne virtuelle Threads
+        }
+    }
+
+    /** Das Event-Log oder null, wenn app.eventlog.enabled=false. */
+    public TaskEventLog getEventLog() {
+        return eventLog;
+    }
+
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    /** Wegen voller Warteschlange verworfene Events (nur bei DROP). */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** Asynchrone Zustellungen, bei denen ein Observer eine Exception geworfen hat. */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+}
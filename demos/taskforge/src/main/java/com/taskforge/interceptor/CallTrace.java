@@ -0,0 +1,100 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.interceptor;
+
+// Erweiterung: Wiederverwendbarer Aufrufbaum eines Threads fuer den TracingInterceptor.
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Aufrufbaum eines Threads in parallelen Arrays fester Groesse (Preorder: Methode, Tiefe,
+ * Start, Ende). Der Puffer wird nach jedem aeussersten Aufruf geleert und wiederverwendet —
+ * das Mitschreiben alloziert nichts. Passen nicht alle Aufrufe hinein, werden die
+ * ueberzaehligen nur gezaehlt.
+ *
+ * Nicht thread-sicher: jeder Thread hat seinen eigenen (ThreadLocal im TracingInterceptor).
+ */
+final class CallTrace {
+
+    static final int MAX_NODES = 256;
+
+    private final Method[] methods = new Method[MAX_NODES];
+    private final int[] depths = new int[MAX_NODES];
+    private final long[] starts = new long[MAX_NODES];
+    private final long[] ends = new long[MAX_NODES];
+    private int size;
+    private int depth;
+    private int dropped;
+
+    /**
+     * Beginnt einen Aufruf.
+     *
+     * @return Knotennummer fuer exit() oder -1, wenn der Puffer voll ist
+     */
+    int enter(Method method, long startNanos) {
+        int node = -1;
+        if (size < MAX_NODES) {
+            node = size++;
+            methods[node] = method;
+            depths[node] = depth;
+            starts[node] = startNanos;
+        } else {
+            dropped++;
+        }
+        depth++;
+        return node;
+    }
+
+    /**
+     * Beendet einen Aufruf.
+     *
+     * @return true, wenn damit der aeusserste Aufruf endet
+     */
+    boolean exit(int node, long endNanos) {
+        if (node >= 0) {
+            ends[node] = endNanos;
+        }
+        return --depth == 0;
+    }
+
+    /** Dauer des aeussersten Aufrufs — erst nach dessen exit() gueltig. */
+    long rootNanos() {
+        return ends[0] - starts[0];
+    }
+
+    /** Leert den Puffer fuer den naechsten aeussersten Aufruf (Methoden-Referenzen inklusive). */
+    void reset() {
+        Arrays.fill(methods, 0, size, null);
+        size = 0;
+        depth = 0;
+        dropped = 0;
+    }
+
+    /**
+     * Der Baum als eingerueckte Zeilen: Methode, Gesamtdauer und Eigenzeit (ohne Kinder).
+     */
+    String format() {
+        StringBuilder tree = new StringBuilder();
+        for (int node = 0; node < size; node++) {
+            long total = ends[node] - starts[node];
+            long children = 0;
+            for (int child = node + 1; child < size && depths[child] > depths[node]; child++) {
+                if (depths[child] == depths[node] + 1) {
+                    children += ends[child] - starts[child];
+                }
+            }
+            tree.append("    ").append("  ".repeat(depths[node]))
+                    .append(methods[node].getDeclaringClass().getSimpleName())
+                    .append('.').append(methods[node].getName()).append("() ")
+                    .append(String.format(Locale.ROOT, "%.3fms (selbst %.3fms)",
+                            total / 1_000_000.0, (total - children) / 1_000_000.0))
+                    .append(System.lineSeparator());
+        }
+        if (dropped > 0) {
+            tree.append("    ... ").append(dropped).append(" weitere Aufrufe nicht aufgezeichnet")
+                    .append(System.lineSeparator());
+        }
+        return tree.toString();
+    }
+}
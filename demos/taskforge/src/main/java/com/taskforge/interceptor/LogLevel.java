@@ -0,0 +1,19 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.interceptor;
+
+// Erweiterung: Stufen des LoggingInterceptors, konfigurierbar per DeltaSpike (app.logged.level).
+
+/**
+ * Legt fest, was der LoggingInterceptor ausgibt. Jede Stufe schliesst die vorherigen ein.
+ */
+public enum LogLevel {
+
+    /** Keine Ausgabe — der Interceptor ruft nur proceed() auf. */
+    OFF,
+
+    /** Nur Methoden, die mit einer Exception enden (immer, ohne Sampling). */
+    ERROR,
+
+    /** Zusaetzlich Ein- und Austritt — jeder app.logged.sampleRate-te Aufruf. */
+    INFO
+}
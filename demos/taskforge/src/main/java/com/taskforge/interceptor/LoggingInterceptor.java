@@ -4,34 +4,97 @@ package com.taskforge.interceptor;
 // Uebung 6 (Bonus): Interceptor-Implementierung — protokolliert Methodenein-/austritt.
 // @Priority(900) — wird vor dem TimedInterceptor (1000) ausgefuehrt.
 // Das bedeutet: Logging umschliesst das Timing.
+// Erweiterung: LogLevel + Sampling (app.logged.*), fertige Ausgabezeilen je Methode im Cache.
 
 import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
 import jakarta.interceptor.AroundInvoke;
 import jakarta.interceptor.Interceptor;
 import jakarta.interceptor.InvocationContext;
+import org.apache.deltaspike.core.api.config.ConfigProperty;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Protokolliert den Ein- und Austritt aus annotierten Methoden.
+ *
+ * Konfiguration (apache-deltaspike.properties):
+ *   app.logged.level      — OFF, ERROR oder INFO (siehe LogLevel)
+ *   app.logged.sampleRate — INFO gibt nur jeden N-ten Aufruf aus (zufaellig gewaehlt, 1 = alle)
+ *
+ * Die Ausgabezeilen entstehen einmal pro Methode und liegen danach im Cache; ein Aufruf ohne
+ * Ausgabe (OFF, ERROR ohne Exception oder nicht gezogen) alloziert nichts und nimmt keine Sperre.
  */
 @Interceptor
 @Logged
 @Priority(900)
 public class LoggingInterceptor {
 
+    // Methode -> fertige Ausgabezeilen; gemeinsam fuer alle Interceptor-Instanzen
+    private static final ConcurrentHashMap<Method, Lines> LINES = new ConcurrentHashMap<>();
+
+    @Inject
+    @ConfigProperty(name = "app.logged.level", defaultValue = "INFO")
+    private String levelName;
+
+    @Inject
+    @ConfigProperty(name = "app.logged.sampleRate", defaultValue = "1")
+    private Integer sampleRate;
+
+    // Aus levelName beim ersten Aufruf ermittelt (gleichzeitige Erstaufrufe ermitteln dasselbe)
+    private LogLevel level;
+
     @AroundInvoke
     public Object logMethod(InvocationContext ctx) throws Exception {
-        String className = ctx.getTarget().getClass().getSimpleName();
-        String methodName = ctx.getMethod().getName();
-        System.out.printf("  [LOGGED] -> %s.%s()%n", className, methodName);
+        LogLevel current = level;
+        if (current == null) {
+            current = LogLevel.valueOf(levelName.trim().toUpperCase(Locale.ROOT));
+            level = current;
+        }
+        if (current == LogLevel.OFF) {
+            return ctx.proceed();
+        }
+        Lines lines = null;
+        if (current == LogLevel.INFO && sampled()) {
+            lines = linesOf(ctx.getMethod());
+            System.out.println(lines.enter);
+        }
         try {
             Object result = ctx.proceed();
-            System.out.printf("  [LOGGED] <- %s.%s()%n", className, methodName);
+            if (lines != null) {
+                System.out.println(lines.exit);
+            }
             return result;
         } catch (Exception e) {
-            System.out.printf("  [LOGGED] !! %s.%s() warf %s: %s%n",
-                    className, methodName,
-                    e.getClass().getSimpleName(), e.getMessage());
+            System.out.println(linesOf(ctx.getMethod()).failed
+                    + e.getClass().getSimpleName() + ": " + e.getMessage());
             throw e;
         }
     }
+
+    private boolean sampled() {
+        return sampleRate <= 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    private static Lines linesOf(Method method) {
+        Lines lines = LINES.get(method);
+        return lines != null ? lines : LINES.computeIfAbsent(method, Lines::new);
+    }
+
+    private static final class Lines {
+
+        final String enter;
+        final String exit;
+        final String failed;
+
+        Lines(Method method) {
+            String name = method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()";
+            enter = "  [LOGGED] -> " + name;
+            exit = "  [LOGGED] <- " + name;
+            failed = "  [LOGGED] !! " + name + " warf ";
+        }
+    }
 }
@@ -3,14 +3,24 @@ package com.taskforge.interceptor;
 
 // Uebung 6: Interceptor-Implementierung — misst die Ausfuehrungszeit in Millisekunden.
 // Aktiviert mit @Priority(1000), wird nach dem LoggingInterceptor (@Priority 900) ausgefuehrt.
+// Erweiterung: Nanosekunden-Histogramme je Methode (MethodLatencyRegistry), Konsole abschaltbar.
+// Erweiterung: JFR-Event pro Aufruf (ServiceCallEvent).
+
+import com.taskforge.jfr.ServiceCallEvent;
+import com.taskforge.metrics.MethodLatencyRegistry;
 
 import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
 import jakarta.interceptor.AroundInvoke;
 import jakarta.interceptor.Interceptor;
 import jakarta.interceptor.InvocationContext;
+import org.apache.deltaspike.core.api.config.ConfigProperty;
 
 /**
  * Misst die Ausfuehrungszeit jeder annotierten Methode.
+ * Jede Dauer landet in nanosekundengenauen Histogrammen (MethodLatencyRegistry);
+ * die Zeile pro Aufruf auf der Konsole laesst sich mit app.timer.console=false abschalten.
+ * Bei laufender JFR-Aufzeichnung entsteht zusaetzlich je Aufruf ein ServiceCallEvent.
  *
  * Aufruf-Reihenfolge bei mehreren Interceptors:
  *   LoggingInterceptor (900) -> TimedInterceptor (1000) -> eigentliche Methode
@@ -20,17 +30,40 @@ import jakarta.interceptor.InvocationContext;
 @Priority(1000)
 public class TimedInterceptor {
 
+    @Inject
+    private MethodLatencyRegistry registry;
+
+    @Inject
+    @ConfigProperty(name = "app.timer.console", defaultValue = "true")
+    private Boolean console;
+
     @AroundInvoke
     public Object measure(InvocationContext ctx) throws Exception {
+        ServiceCallEvent event = new ServiceCallEvent();
+        event.begin();
         long start = System.nanoTime();
+        Throwable failure = null;
         try {
             return ctx.proceed();
+        } catch (Throwable t) {
+            // Auch Errors (z.B. OutOfMemoryError) als fehlgeschlagen verbuchen; weiter geht t unveraendert
+            failure = t;
+            throw t;
         } finally {
-            long durationMs = (System.nanoTime() - start) / 1_000_000;
-            System.out.printf("  [TIMER] %s.%s(): %dms%n",
-                    ctx.getTarget().getClass().getSimpleName(),
-                    ctx.getMethod().getName(),
-                    durationMs);
+            long durationNanos = System.nanoTime() - start;
+            event.end();
+            if (event.shouldCommit()) {
+                event.className = ctx.getMethod().getDeclaringClass().getSimpleName();
+                event.methodName = ctx.getMethod().getName();
+                event.failed = failure != null;
+                event.exceptionType = failure != null ? failure.getClass().getName() : null;
+                event.commit();
+            }
+            registry.record(ctx.getMethod(), durationNanos);
+            if (console) {
+                System.out.printf("  [TIMER] %s(): %.3fms%n",
+                        registry.nameOf(ctx.getMethod()), durationNanos / 1_000_000.0);
+            }
         }
     }
 }
@@ -0,0 +1,23 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.interceptor;
+
+// Erweiterung: Interceptor Binding fuer das Tracing langsamer Aufrufe.
+// Wird vom TracingInterceptor implementiert und in @Service und @Repository verwendet.
+
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Interceptor Binding fuer Aufrufbaeume: verschachtelte @Traced-Aufrufe werden pro Thread
+ * mitgeschrieben und nur ausgegeben, wenn der aeusserste Aufruf zu lange dauert.
+ */
+@InterceptorBinding
+@Retention(RUNTIME)
+@Target({TYPE, METHOD})
+public @interface Traced {
+}
@@ -0,0 +1,62 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.interceptor;
+
+// Erweiterung: Tracing langsamer Aufrufe — Aufrufbaum pro Thread, Ausgabe nur ueber der Schwelle.
+// @Priority(800) — aeusserster Interceptor, umschliesst Logging (900) und Timing (1000).
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import org.apache.deltaspike.core.api.config.ConfigProperty;
+
+/**
+ * Schreibt verschachtelte @Traced-Aufrufe (Services und Repositories) pro Thread in einen
+ * wiederverwendbaren CallTrace. Endet der aeusserste Aufruf nach mehr als
+ * app.trace.thresholdMs Millisekunden, wird der ganze Baum mit Gesamt- und Eigenzeiten
+ * ausgegeben; sonst wird der Puffer nur geleert.
+ *
+ * Ein schneller Aufruf kostet zwei nanoTime()-Aufrufe, einen ThreadLocal-Zugriff und ein paar
+ * Array-Schreibzugriffe. Repository-Knoten enthalten die Decorators (ValidatingTaskRepository,
+ * CachingTaskRepository), da CDI Interceptors vor den Decorators aufruft.
+ *
+ * Konfiguration (apache-deltaspike.properties):
+ *   app.trace.enabled     — false = Interceptor ruft nur proceed() auf
+ *   app.trace.thresholdMs — Schwelle fuer den aeussersten Aufruf
+ */
+@Interceptor
+@Traced
+@Priority(800)
+public class TracingInterceptor {
+
+    private static final ThreadLocal<CallTrace> TRACE = ThreadLocal.withInitial(CallTrace::new);
+
+    @Inject
+    @ConfigProperty(name = "app.trace.enabled", defaultValue = "true")
+    private Boolean enabled;
+
+    @Inject
+    @ConfigProperty(name = "app.trace.thresholdMs", defaultValue = "50")
+    private Integer thresholdMs;
+
+    @AroundInvoke
+    public Object trace(InvocationContext ctx) throws Exception {
+        if (!enabled) {
+            return ctx.proceed();
+        }
+        CallTrace trace = TRACE.get();
+        int node = trace.enter(ctx.getMethod(), System.nanoTime());
+        try {
+            return ctx.proceed();
+        } finally {
+            if (trace.exit(node, System.nanoTime())) {
+                if (trace.rootNanos() > thresholdMs * 1_000_000L) {
+                    System.out.print("  [TRACE] Langsamer Aufruf (Schwelle " + thresholdMs + "ms):"
+                            + System.lineSeparator() + trace.format());
+                }
+                trace.reset();
+            }
+        }
+    }
+}
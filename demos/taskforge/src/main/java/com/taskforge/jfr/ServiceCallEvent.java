@@ -0,0 +1,41 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.jfr;
+
+// Erweiterung: JFR-Event pro abgefangenem Service-Aufruf (TimedInterceptor).
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Ein Aufruf einer @Timed-Methode (alle @Service-Beans). Die Dauer ist die Event-Dauer
+ * (begin() vor proceed(), commit() danach) — in JDK Mission Control neben GC-Pausen
+ * und Sperren auf derselben Zeitachse.
+ *
+ * Aufzeichnen: java -XX:StartFlightRecording=filename=taskforge.jfr ... com.taskforge.TaskForgeApp
+ *
+ * Ohne laufende Aufzeichnung liefert shouldCommit() false; die Felder werden dann nicht
+ * befuellt, und das Event-Objekt faellt nach Escape-Analyse des JIT ganz weg.
+ */
+@Name("com.taskforge.ServiceCall")
+@Label("Service-Aufruf")
+@Category({"TaskForge", "Service"})
+@Description("Aufruf einer @Timed-Methode mit Dauer und Ausgang")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Klasse")
+    public String className;
+
+    @Label("Methode")
+    public String methodName;
+
+    @Label("Exception geworfen")
+    public boolean failed;
+
+    @Label("Exception-Typ")
+    public String exceptionType;
+}
@@ -0,0 +1,34 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.jfr;
+
+// Erweiterung: JFR-Event pro TaskEvent, das der TaskEventDispatcher zustellt.
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Ein TaskEvent (CREATED, COMPLETED, DELETED) aus dem TaskService. Die Dauer umfasst das
+ * Feuern an die Observer — bei SYNC also deren gesamte Laufzeit, bei ASYNC nur das Einreihen.
+ *
+ * Wie ServiceCallEvent: ohne Aufzeichnung praktisch kostenlos.
+ */
+@Name("com.taskforge.TaskLifecycle")
+@Label("Task-Ereignis")
+@Category({"TaskForge", "Tasks"})
+@Description("TaskEvent, zugestellt ueber den TaskEventDispatcher")
+@StackTrace(false)
+public class TaskLifecycleEvent extends Event {
+
+    @Label("Aktion")
+    public String action;
+
+    @Label("Task-ID")
+    public long taskId;
+
+    @Label("Titel")
+    public String title;
+}
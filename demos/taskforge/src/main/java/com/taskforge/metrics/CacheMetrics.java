@@ -0,0 +1,51 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.metrics;
+
+// Erweiterung: Treffer-/Fehlzaehler des CachingTaskRepository zum Einstellen der Cache-Groesse.
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Zaehlt Cache-Treffer und -Fehlgriffe des CachingTaskRepository.
+ * LongAdder statt AtomicLong: viele Threads zaehlen gleichzeitig, ohne sich zu blockieren.
+ *
+ * @ApplicationScoped — ein gemeinsamer Zaehlerstand fuer die ganze Anwendung.
+ */
+@ApplicationScoped
+public class CacheMetrics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Trefferquote zwischen 0.0 und 1.0 (0.0, solange noch nichts gezaehlt wurde).
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public String getSummary() {
+        return String.format("Cache: %d Treffer, %d Fehlgriffe (Trefferquote %.1f%%)",
+                getHits(), getMisses(), getHitRate() * 100);
+    }
+}
@@ -0,0 +1,120 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.metrics;
+
+// Erweiterung: Histogramm mit fester Speichergroesse fuer Perzentile von Dauern.
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-lineares Histogramm fuer nicht-negative Werte (z.B. Millisekunden oder Nanosekunden).
+ *
+ * Werte 0..15 haben je einen eigenen Bucket. Darueber wird jede Zweierpotenz in 16 gleich breite
+ * Buckets geteilt — der relative Fehler eines Perzentils liegt damit unter 1/16 (6,25 %), ueber
+ * den gesamten long-Bereich mit nur 960 Buckets (ca. 7,5 KB), unabhaengig von der Anzahl der Werte.
+ *
+ * record() ist ein einziges getAndIncrement (plus Summe und Maximum); Leser gehen ueber die Buckets,
+ * ohne Schreiber anzuhalten — ein Perzentil ist damit eine Momentaufnahme waehrend laufender Updates.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Nimmt einen Wert auf; negative Werte (z.B. durch Uhrsprung) zaehlen als 0.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.getAndIncrement(bucketOf(v));
+        total.increment();
+        sum.add(v);
+        if (v > max.get()) {
+            max.accumulateAndGet(v, Math::max);
+        }
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);           // >= SUB_BUCKET_BITS
+        int sub = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (magnitude - SUB_BUCKET_BITS) * SUB_BUCKETS + sub;
+    }
+
+    // Groesster Wert, der noch in den Bucket faellt
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int magnitude = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (magnitude - SUB_BUCKET_BITS);
+        return (1L << magnitude) + (sub + 1) * width - 1;
+    }
+
+    /**
+     * Wert, unter dem (hoechstens mit 6,25 % Abweichung) der Anteil quantile aller Werte liegt.
+     *
+     * @param quantile zwischen 0.0 und 1.0, z.B. 0.99 fuer das 99. Perzentil
+     * @return 0, solange noch kein Wert aufgenommen wurde
+     */
+    public long percentile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantil ausserhalb von 0..1: " + quantile);
+        }
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /** Summe aller aufgenommenen Werte (z.B. fuer Prometheus-Summaries). */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public double getMean() {
+        long count = total.sum();
+        return count == 0 ? 0.0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Kurzform fuer die Konsole: Anzahl, p50, p90, p99 und Maximum mit Einheit.
+     */
+    public String getSummary(String unit) {
+        return String.format("n=%d, p50=%d%s, p90=%d%s, p99=%d%s, max=%d%s",
+                getCount(), percentile(0.5), unit, percentile(0.9), unit,
+                percentile(0.99), unit, getMax(), unit);
+    }
+}
@@ -0,0 +1,99 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.metrics;
+
+// Erweiterung: Ereignisrate ueber gleitende Zeitfenster (z.B. 1, 5 und 15 Minuten).
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Zaehlt Ereignisse in Sekunden-Buckets eines Rings fester Groesse und liefert daraus
+ * Raten ueber beliebige Fenster bis zur Ringlaenge.
+ *
+ * Jeder Bucket ist ein einziger long: obere 32 Bit = Epoch-Sekunde,
+ * untere 32 Bit = Anzahl. Ein Bucket aus einer frueheren Runde wird per CAS in einem Schritt
+ * auf "diese Sekunde, 1" gesetzt; sonst genuegt ein getAndIncrement. Schreiber sperren nie,
+ * Leser summieren ohne die Schreiber aufzuhalten. Speicherbedarf: 8 Byte pro Sekunde Fenster.
+ *
+ * Ereignisse mit eigenem Zeitstempel (increment(long), z.B. beim Replay) landen in ihrer Sekunde;
+ * was schon aelter als das laengste Fenster ist, faellt dabei einfach heraus.
+ */
+public final class SlidingWindowCounter {
+
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final AtomicLongArray buckets;
+    private final LongSupplier clockMillis;
+
+    /**
+     * @param maxWindowSeconds laengstes abfragbares Fenster (z.B. 900 fuer 15 Minuten)
+     */
+    public SlidingWindowCounter(int maxWindowSeconds) {
+        this(maxWindowSeconds, System::currentTimeMillis);
+    }
+
+    public SlidingWindowCounter(int maxWindowSeconds, LongSupplier clockMillis) {
+        if (maxWindowSeconds <= 0) {
+            throw new IllegalArgumentException("Fenster muss positiv sein: " + maxWindowSeconds);
+        }
+        this.buckets = new AtomicLongArray(maxWindowSeconds);
+        this.clockMillis = clockMillis;
+    }
+
+    public void increment() {
+        increment(clockMillis.getAsLong());
+    }
+
+    /**
+     * Zaehlt ein Ereignis zum angegebenen Zeitpunkt (Epoch-Millisekunden).
+     */
+    public void increment(long timestampMillis) {
+        if (timestampMillis < 0) {
+            return;
+        }
+        long second = timestampMillis / 1000;
+        int index = (int) (second % buckets.length());
+        while (true) {
+            long bucket = buckets.get(index);
+            long bucketSecond = bucket >>> 32;
+            if (bucketSecond == second) {
+                buckets.getAndIncrement(index);
+                return;
+            }
+            if (bucketSecond > second) {
+                return; // Bucket gehoert schon einer spaeteren Runde — Ereignis liegt ausserhalb jedes Fensters
+            }
+            if (buckets.compareAndSet(index, bucket, (second << 32) | 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Anzahl der Ereignisse in den letzten windowSeconds Sekunden (inklusive der laufenden).
+     */
+    public long count(int windowSeconds) {
+        if (windowSeconds <= 0 || windowSeconds > buckets.length()) {
+            throw new IllegalArgumentException("Fenster ausserhalb von 1.." + buckets.length()
+                    + " Sekunden: " + windowSeconds);
+        }
+        long now = clockMillis.getAsLong() / 1000;
+        long sum = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            long bucket = buckets.get(i);
+            long age = now - (bucket >>> 32);
+            if (age >= 0 && age < windowSeconds) {
+                sum += bucket & COUNT_MASK;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Ereignisse pro Sekunde, gemittelt ueber das Fenster. Direkt nach dem Start wird ebenfalls
+     * durch die volle Fensterlaenge geteilt — die Rate waechst dann erst langsam an.
+     */
+    public double ratePerSecond(int windowSeconds) {
+        return (double) count(windowSeconds) / windowSeconds;
+    }
+}
@@ -2,6 +2,9 @@
 package com.taskforge.model;
 
 // Uebung 1: Domaenenobjekt Task
+// Erweiterung: IDs kommen aus dem thread-sicheren, neustartfesten IdAllocator.
+
+import com.taskforge.util.IdAllocator;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -12,7 +15,8 @@ import java.time.format.DateTimeFormatter;
  */
 public class Task {
 
-    private static long idCounter = 0;
+    // Bloecke zu 1024 IDs pro Thread; IdAllocationService bindet beim Start die Hochwassermarke an
+    private static final IdAllocator ID_ALLOCATOR = new IdAllocator(1024);
 
     private final long id;
     private final String title;
@@ -20,12 +24,30 @@ public class Task {
     private final LocalDateTime createdAt;
 
     public Task(String title) {
-        this.id = ++idCounter;
+        this.id = ID_ALLOCATOR.next();
         this.title = title;
         this.completed = false;
         this.createdAt = LocalDateTime.now();
     }
 
+    /**
+     * Stellt einen bereits gespeicherten Task wieder her (z.B. beim Einlesen des Journals).
+     * Vergibt keine neue ID.
+     */
+    public Task(long id, String title, boolean completed, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.completed = completed;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Gemeinsamer ID-Allocator aller neuen Tasks.
+     */
+    public static IdAllocator idAllocator() {
+        return ID_ALLOCATOR;
+    }
+
     // --- Getter & Setter ---
 
     public long getId() {
@@ -50,7 +72,7 @@ public class Task {
 
     @Override
     public String toString() {
-        String status = completed ? "erledigt" : "offen";
+        String status = isCompleted() ? "erledigt" : "offen";
         String time = createdAt.format(DateTimeFormatter.ofPattern("HH:mm:ss"));
         return String.format("[#%d] %s (%s, %s)", id, title, status, time);
     }
@@ -0,0 +1,205 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.observer;
+
+// Erweiterung: Nicht-blockierendes Log-Backend fuer den TaskLogger — vorab angelegter Ringpuffer,
+// ein einziger Konsument schreibt gepuffert auf die Konsole.
+// Erweiterung: Konsument schlaeft ohne Timeout und wird von publish() geweckt; nach close()
+// schreibt publish() selbst.
+
+import com.taskforge.event.TaskEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ringpuffer mit wiederverwendeten Eintraegen (Action + Titel) zwischen beliebig vielen Erzeugern
+ * und einem Konsumenten-Thread.
+ *
+ * Erzeuger: holen sich per getAndIncrement eine Sequenznummer, fuellen den Eintrag an
+ * sequence &amp; mask und veroeffentlichen ihn mit einem volatile-Schreibzugriff. Keine Sperre,
+ * keine Allokation. Ist der Ring voll, wartet der Erzeuger (erst aktiv, dann per parkNanos),
+ * bis der Konsument aufgeholt hat — es geht nichts verloren.
+ *
+ * Konsument: liest die Eintraege streng in Sequenz-Reihenfolge, formatiert sie per append()
+ * direkt in einen gepufferten Writer (kein String.format) und leert den Writer erst, wenn der
+ * Ring leer ist — viele Zeilen werden so mit einem einzigen Schreibvorgang ausgegeben.
+ * Bleibt der Ring nach kurzem aktivem Warten leer, parkt der Konsument ohne Timeout und meldet
+ * das ueber das volatile Feld parked; nur dann weckt ihn publish() per unpark. Ein leerer Ring
+ * kostet so keine periodischen Aufwachvorgaenge, ein voller keinen unpark-Aufruf pro Zeile.
+ *
+ * close() wartet, bis alle veroeffentlichten Eintraege geschrieben sind, und leert den Writer.
+ * Danach schreibt publish() die Zeile selbst (synchronisiert) — auch ein Aufruf, der sich mit
+ * close() ueberschneidet, geht nicht verloren.
+ */
+public final class TaskLogRingBuffer implements AutoCloseable {
+
+    private static final int SPINS = 100;
+    private static final long PARK_NANOS = 200_000; // nur Erzeuger bei vollem Ring
+    private static final String PREFIX = "  [LOG] ";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    // Wiederverwendeter Eintrag; published == Sequenz, sobald action/title gueltig sind
+    private static final class Entry {
+        TaskEvent.Action action;
+        String title;
+        volatile long published = -1;
+    }
+
+    private final Entry[] ring;
+    private final int mask;
+    private final Writer out;
+
+    private final AtomicLong claimed = new AtomicLong();   // naechste freie Sequenz
+    private volatile long consumed;                        // naechste zu lesende Sequenz
+    private volatile boolean running = true;
+    private volatile boolean parked;                       // Konsument schlaeft in park()
+    private volatile boolean closed;                       // Konsument beendet, Rest schreibt publish()
+    private volatile IOException failure;
+    private final Thread consumer;
+
+    /**
+     * @param capacity Anzahl Eintraege (wird auf die naechste Zweierpotenz aufgerundet)
+     * @param out      Ziel, z.B. ein BufferedWriter um System.out
+     */
+    public TaskLogRingBuffer(int capacity, Writer out) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Kapazitaet muss positiv sein: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new Entry[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Entry();
+        }
+        this.mask = size - 1;
+        this.out = out;
+        this.consumer = new Thread(this::drainLoop, "taskforge-log");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Reiht eine Log-Zeile ein. Wartet nur, wenn der Ring voll ist.
+     */
+    public void publish(TaskEvent.Action action, String title) {
+        long sequence = claimed.getAndIncrement();
+        int spins = 0;
+        while (sequence - consumed >= ring.length) {
+            if (!consumer.isAlive()) {
+                if (failure != null) {
+                    throw new IllegalStateException("Log-Konsument beendet", failure);
+                }
+                if (closed) {
+                    drainRemaining(); // nach close() macht der Erzeuger selbst Platz
+                }
+            }
+            if (++spins < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        Entry entry = ring[(int) sequence & mask];
+        entry.action = action;
+        entry.title = title;
+        entry.published = sequence;
+        // Erst veroeffentlichen, dann parked/closed lesen — der Konsument bzw. close() machen es
+        // umgekehrt, so sieht mindestens eine Seite die andere (alle Felder volatile)
+        if (parked) {
+            LockSupport.unpark(consumer);
+        }
+        if (closed) {
+            drainRemaining();
+        }
+    }
+
+    private void drainLoop() {
+        long next = 0;
+        int idle = 0;
+        boolean dirty = false;
+        try {
+            while (true) {
+                Entry entry = ring[(int) next & mask];
+                if (entry.published == next) {
+                    write(entry.action, entry.title);
+                    entry.title = null;
+                    consumed = ++next;
+                    dirty = true;
+                    idle = 0;
+                    continue;
+                }
+                if (dirty) {
+                    out.flush(); // Ring leer — gesammelte Zeilen auf einmal ausgeben
+                    dirty = false;
+                }
+                if (!running && next == claimed.get()) {
+                    return;
+                }
+                if (++idle < SPINS) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                parked = true;
+                // Nach dem Setzen von parked erneut pruefen: ein publish() davor hat nicht geweckt
+                if (entry.published != next && (running || next != claimed.get())) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+                idle = 0;
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    // Nach close(): Erzeuger schreiben selbst; synchronized vertritt den Konsumenten-Thread
+    private synchronized void drainRemaining() {
+        long next = consumed;
+        try {
+            Entry entry;
+            while ((entry = ring[(int) next & mask]).published == next) {
+                write(entry.action, entry.title);
+                entry.title = null;
+                consumed = ++next;
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Log-Ausgabe fehlgeschlagen", e);
+        }
+    }
+
+    private void write(TaskEvent.Action action, String title) throws IOException {
+        out.append(PREFIX).append(action.name()).append(": \"").append(title).append('"')
+                .append(LINE_SEPARATOR);
+    }
+
+    /** Bereits ausgegebene Zeilen. */
+    public long getWrittenCount() {
+        return consumed;
+    }
+
+    /**
+     * Schreibt alle bis jetzt eingereihten Zeilen, leert den Writer und beendet den Konsumenten.
+     * Spaetere publish()-Aufrufe schreiben synchron. Der Writer selbst bleibt offen
+     * (System.out gehoert nicht dem Ringpuffer).
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Log-Ausgabe fehlgeschlagen", failure);
+        }
+        closed = true;
+        // Eintraege, die nach dem letzten Blick des Konsumenten veroeffentlicht wurden
+        drainRemaining();
+    }
+}
@@ -3,26 +3,93 @@ package com.taskforge.observer;
 
 // Uebung 5: Observer — protokolliert alle Task-Events auf der Konsole.
 // Demonstriert lose Kopplung: TaskService kennt den TaskLogger nicht.
+// Erweiterung: zusaetzlich @ObservesAsync fuer die asynchrone Zustellung (app.events.mode=ASYNC).
+// Erweiterung: empfaengt TaskEventBatch statt einzelner Events (eine Ausgabe pro Batch).
+// Erweiterung: optional asynchrone Ausgabe ueber einen Ringpuffer (app.log.async).
 
 import com.taskforge.event.TaskEvent;
+import com.taskforge.event.TaskEventBatch;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.inject.Inject;
+import org.apache.deltaspike.core.api.config.ConfigProperty;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
 
 /**
  * Protokolliert alle Task-Ereignisse auf der Konsole.
- * Wird automatisch vom CDI-Container benachrichtigt, wenn ein TaskEvent gefeuert wird.
+ * Wird automatisch vom CDI-Container benachrichtigt, sobald der TaskEventDispatcher
+ * einen TaskEventBatch zustellt.
+ *
+ * Synchron (Standard): eine Ausgabe pro Batch — der Aufrufer wartet auf den Konsolen-Lock.
+ * Asynchron (app.log.async=true): Die Zeilen gehen in einen TaskLogRingBuffer; ein eigener
+ * Thread schreibt sie gepuffert auf System.out. Erzeuger warten nur noch bei vollem Ring.
+ * Beim Schliessen des Containers (@PreDestroy) werden alle eingereihten Zeilen noch ausgegeben.
+ *
+ * Konfiguration (apache-deltaspike.properties):
+ *   app.log.async    — Ringpuffer statt direkter Ausgabe
+ *   app.log.ringSize — Eintraege im Ringpuffer (Zweierpotenz)
  */
 @ApplicationScoped
 public class TaskLogger {
 
+    private static final int WRITER_BUFFER_CHARS = 64 * 1024;
+
+    @Inject
+    @ConfigProperty(name = "app.log.async", defaultValue = "false")
+    private Boolean async;
+
+    @Inject
+    @ConfigProperty(name = "app.log.ringSize", defaultValue = "8192")
+    private Integer ringSize;
+
+    private TaskLogRingBuffer ringBuffer;
+
+    @PostConstruct
+    void init() {
+        if (async) {
+            ringBuffer = new TaskLogRingBuffer(ringSize,
+                    new BufferedWriter(new OutputStreamWriter(System.out), WRITER_BUFFER_CHARS));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ringBuffer != null) {
+            ringBuffer.close(); // restliche Zeilen ausgeben
+        }
+    }
+
     /**
-     * Reagiert auf alle TaskEvents — synchron aufgerufen.
+     * Reagiert auf einen Batch von TaskEvents — synchron aufgerufen.
+     * Alle Zeilen eines Batches werden gesammelt und mit einem einzigen print ausgegeben.
      *
-     * @param event das empfangene Task-Ereignis
+     * @param batch die empfangenen Task-Ereignisse
+     */
+    public void onTaskEvents(@Observes TaskEventBatch batch) {
+        if (ringBuffer != null) {
+            for (TaskEvent event : batch.getEvents()) {
+                ringBuffer.publish(event.getAction(), event.getTask().getTitle());
+            }
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        for (TaskEvent event : batch.getEvents()) {
+            lines.append("  [LOG] ").append(event.getAction().name()).append(": \"")
+                    .append(event.getTask().getTitle()).append('"').append(System.lineSeparator());
+        }
+        System.out.print(lines);
+    }
+
+    /**
+     * Reagiert auf asynchron gefeuerte Batches — laeuft auf dem Event-Executor.
      */
-    public void onTaskEvent(@Observes TaskEvent event) {
-        System.out.printf("  [LOG] %s: \"%s\"%n",
-                event.getAction(), event.getTask().getTitle());
+    public void onTaskEventsAsync(@ObservesAsync TaskEventBatch batch) {
+        onTaskEvents(batch);
     }
 }
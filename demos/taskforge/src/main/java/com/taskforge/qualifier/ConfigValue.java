@@ -4,6 +4,7 @@ package com.taskforge.qualifier;
 // Uebung 4: Qualifier mit @Nonbinding-Member fuer Konfigurationswerte.
 // Wird vom ConfigProducer ausgewertet, um den richtigen Wert zu liefern.
 // Ab Uebung 9 durch DeltaSpike @ConfigProperty ersetzt — bleibt aber als Referenz erhalten.
+// Erweiterung: defaultValue() fuer die typisierten Producer (int, long, boolean, Duration).
 
 import jakarta.enterprise.util.Nonbinding;
 import jakarta.inject.Qualifier;
@@ -19,6 +20,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  * nicht fuer jeden Key eine eigene Producer-Methode braucht.
  *
  * Verwendung: @Inject @ConfigValue("app.name") String appName;
+ *             @Inject @ConfigValue(value = "app.cache.maxSize", defaultValue = "10000") int maxSize;
  */
 @Qualifier
 @Retention(RUNTIME)
@@ -31,4 +33,10 @@ public @interface ConfigValue {
      */
     @Nonbinding
     String value() default "";
+
+    /**
+     * Wert, falls der Schluessel nirgends gesetzt ist ("" = kein Standardwert).
+     */
+    @Nonbinding
+    String defaultValue() default "";
 }
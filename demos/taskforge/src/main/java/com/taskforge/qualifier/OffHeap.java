@@ -0,0 +1,26 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.qualifier;
+
+// Erweiterung: Qualifier fuer die Off-Heap-Implementierung des TaskRepository
+
+import jakarta.enterprise.util.AnnotationLiteral;
+import jakarta.inject.Qualifier;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Qualifier zur Auswahl des Off-Heap-Repositorys.
+ * Verwendung: @Inject @OffHeap TaskRepository repository;
+ */
+@Qualifier
+@Retention(RUNTIME)
+@Target({FIELD, TYPE, METHOD, PARAMETER})
+public @interface OffHeap {
+
+    /** AnnotationLiteral fuer programmatischen Lookup (Instance.select(), container.select()). */
+    final class Literal extends AnnotationLiteral<OffHeap> implements OffHeap {
+    }
+}
@@ -0,0 +1,182 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.repository;
+
+// Erweiterung: Decorator — Read-through-Cache vor dem dateibasierten Repository.
+// Erweiterung: app.cache.maxSize wirkt nach einer Konfigurationsaenderung ohne Neustart.
+// Erweiterung: Invalidierungs-Epoche — kein veralteter Eintrag nach parallelem delete().
+
+import com.taskforge.config.ConfigProducer;
+import com.taskforge.metrics.CacheMetrics;
+import com.taskforge.model.Task;
+import com.taskforge.qualifier.Persistent;
+import com.taskforge.util.SegmentedLruCache;
+
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Cachender Decorator fuer das dateibasierte TaskRepository.
+ * findByTitle() und findById() lesen zuerst aus einem begrenzten Cache (Segmented LRU);
+ * nur bei einem Fehlgriff wird das Repository gefragt und das Ergebnis aufgenommen.
+ * add()/addAll() entfernen die betroffenen Eintraege, bevor sie weiterdelegieren;
+ * delete() entfernt ID und Titel des geloeschten Tasks, nachdem das Repository ihn entfernt hat.
+ * Gecacht werden nur Treffer — ein neu angelegter Task ist daher sofort auffindbar.
+ * Ein Fehlgriff, der parallel zu einer Invalidierung geladen hat, darf sein Ergebnis nicht
+ * stehen lassen: sonst koennte ein gerade geloeschter Task nach delete() wieder im Cache landen.
+ * Jede Invalidierung erhoeht deshalb eine Epoche; hat sie sich waehrend des Ladens geaendert,
+ * wird der eigene Eintrag nach dem put() wieder entfernt.
+ *
+ * Konfiguration (apache-deltaspike.properties):
+ *   app.cache.maxSize — maximale Anzahl Cache-Eintraege; live aenderbar (ConfigProducer)
+ *
+ * @Decorator — kennzeichnet die Klasse als Decorator.
+ * @Priority(200) — nach dem ValidatingTaskRepository (100): ungueltige Tasks erreichen den Cache nicht.
+ * @Delegate @Persistent — dekoriert nur das FileTaskRepository; In-Memory braucht keinen Cache.
+ *
+ * Aufruf-Kette: ValidatingTaskRepository -> CachingTaskRepository -> FileTaskRepository
+ */
+@Decorator
+@Priority(200)
+public abstract class CachingTaskRepository implements TaskRepository {
+
+    @Inject
+    @Delegate
+    @Persistent
+    private TaskRepository delegate;
+
+    @Inject
+    private CacheMetrics metrics;
+
+    private final ConfigProducer config;
+
+    // Schluessel: normalisierter Titel (String) bzw. Task-ID (Long)
+    private final SegmentedLruCache<Object, Task> cache;
+
+    // Zaehlt Invalidierungen — vor dem Entfernen erhoeht, damit ein paralleles put() es sieht
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Stand der Konfiguration, aus dem die Cache-Groesse stammt
+    private long configVersion;
+
+    @Inject
+    CachingTaskRepository(ConfigProducer config) {
+        this.config = config;
+        this.configVersion = config.getVersion();
+        this.cache = new SegmentedLruCache<>(config.getInt("app.cache.maxSize", 10000));
+    }
+
+    @Override
+    public void add(Task task) {
+        invalidate(task);
+        delegate.add(task);
+    }
+
+    @Override
+    public void addAll(Collection<Task> tasks) {
+        tasks.forEach(this::invalidate);
+        delegate.addAll(tasks);
+    }
+
+    // Gecacht ist dasselbe Task-Objekt, das das Repository aendert — nichts zu invalidieren
+    @Override
+    public Optional<Task> complete(long id) {
+        return delegate.complete(id);
+    }
+
+    @Override
+    public Optional<Task> delete(long id) {
+        Optional<Task> removed = delegate.delete(id);
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+        removed.ifPresent(this::invalidate);
+        return removed;
+    }
+
+    private void invalidate(Task task) {
+        invalidations.incrementAndGet();
+        cache.invalidate(task.getId());
+        if (task.getTitle() != null) {
+            cache.invalidate(InMemoryTaskRepository.titleKey(task.getTitle()));
+        }
+    }
+
+    @Override
+    public Optional<Task> findByTitle(String title) {
+        if (title == null) {
+            return delegate.findByTitle(null);
+        }
+        applyConfig();
+        String key = InMemoryTaskRepository.titleKey(title);
+        Task cached = cache.get(key);
+        if (cached != null) {
+            metrics.recordHit();
+            return Optional.of(cached);
+        }
+        metrics.recordMiss();
+        long epoch = invalidations.get();
+        Optional<Task> loaded = delegate.findByTitle(title);
+        loaded.ifPresent(task -> cacheLoaded(key, task, epoch));
+        return loaded;
+    }
+
+    @Override
+    public Optional<Task> findById(long id) {
+        applyConfig();
+        Task cached = cache.get(id);
+        if (cached != null) {
+            metrics.recordHit();
+            return Optional.of(cached);
+        }
+        metrics.recordMiss();
+        long epoch = invalidations.get();
+        Optional<Task> loaded = delegate.findById(id);
+        loaded.ifPresent(task -> cacheLoaded(id, task, epoch));
+        return loaded;
+    }
+
+    // Lief waehrend des Ladens eine Invalidierung, kann der geladene Task schon geloescht sein.
+    // Entweder sieht der Vergleich die neue Epoche, oder die Invalidierung kommt erst nach dem
+    // put() und entfernt den Eintrag selbst — in beiden Faellen bleibt nichts Veraltetes stehen.
+    private void cacheLoaded(Object key, Task task, long epoch) {
+        cache.put(key, task);
+        if (invalidations.get() != epoch) {
+            cache.invalidate(key);
+        }
+    }
+
+    // Decorators duerfen keine Observer-Methoden haben — statt auf das ConfigChangedEvent zu
+    // hoeren, vergleicht der Cache die Konfigurationsversion (ein volatile-Lesen pro Abfrage).
+    // Zwei Threads koennen gleichzeitig auf dieselbe Groesse umstellen; das ist harmlos.
+    private void applyConfig() {
+        long version = config.getVersion();
+        if (version != configVersion) {
+            configVersion = version;
+            cache.resize(config.getInt("app.cache.maxSize", cache.getMaxSize()));
+        }
+    }
+
+    // Mengenabfragen gehen am Cache vorbei — sie wuerden ihn nur mit kalten Eintraegen fluten.
+
+    @Override
+    public List<Task> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Task> findPage(long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<Task> stream() {
+        return delegate.stream();
+    }
+}
@@ -4,25 +4,69 @@ package com.taskforge.repository;
 // Uebung 3: Zweite Implementierung mit @Persistent Qualifier.
 // Uebung 8: @Repository Stereotype hinzugefuegt.
 // Uebung 9: @Exclude — im UnitTest-Profil deaktiviert (DeltaSpike).
+// Erweiterung: Echte Persistenz ueber ein Append-only-Journal (TaskJournal).
+// Erweiterung: Periodische Snapshots + Journal-Kompaktierung (FileTaskStore).
+// Erweiterung: findPage und seitenweise gelesener stream().
+// Erweiterung: addAll — ein Schreibvorgang und ein fsync pro Batch.
+// Erweiterung: findById ueber einen primitiven ID-Index (LongLongHashMap).
+// Erweiterung: ID-Vergabe setzt nach dem Einlesen hinter der hoechsten gespeicherten ID fort.
+// Erweiterung: delete — Grabstein im Journal, Luecke im Speicher bis zur naechsten Kompaktierung.
+// Erweiterung: complete — Aenderungs-Datensatz im Journal, erledigt ueberlebt den Neustart.
 
 import com.taskforge.model.Task;
 import com.taskforge.qualifier.Persistent;
+import com.taskforge.storage.FileTaskStore;
+import com.taskforge.storage.SyncMode;
 import com.taskforge.stereotype.Repository;
+import com.taskforge.util.LongLongHashMap;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import org.apache.deltaspike.core.api.config.ConfigProperty;
 import org.apache.deltaspike.core.api.exclude.Exclude;
 import org.apache.deltaspike.core.api.projectstage.ProjectStage;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
- * Vereinfachte dateibasierte Implementierung des TaskRepository.
- * In einer echten Anwendung wuerden die Tasks in einer Datei persistiert;
- * hier wird der Dateizugriff simuliert und die Daten im Speicher gehalten.
+ * Dateibasierte Implementierung des TaskRepository.
+ * Jeder add() haengt einen binaeren Datensatz an ein Journal an (NIO FileChannel).
+ * Alle app.snapshot.everyRecords Datensaetze wird im Hintergrund ein Snapshot geschrieben
+ * und das Journal kompaktiert; beim Beenden folgt ein letzter Snapshot.
+ * Beim Start (@PostConstruct) werden Snapshot und Journal-Rest wieder eingelesen.
+ * Die Tasks werden zusaetzlich im Speicher gehalten, Lesezugriffe gehen nicht auf die Platte.
+ *
+ * Erledigen: complete() schreibt einen Aenderungs-Datensatz mit dem neuen Zustand ins Journal;
+ * beim Einlesen wird er auf den bereits geladenen Task angewendet.
+ *
+ * Loeschen: delete() schreibt einen Grabstein ins Journal und hinterlaesst in der Liste eine
+ * Luecke (null) — beides O(1). Der ID-Index zeigt bis zur Kompaktierung weiter auf die Luecke,
+ * damit findPage() an der Position eines geloeschten Cursor-Tasks weiterblaettern kann. Beim Snapshot werden die Luecken
+ * entfernt, sobald sie ein Viertel der Liste ausmachen; der Snapshot selbst enthaelt nur lebende
+ * Tasks, die Grabsteine verschwinden mit den alten Journal-Segmenten.
+ *
+ * Konfiguration (apache-deltaspike.properties):
+ *   app.storage.dir          — Verzeichnis fuer Journal und Snapshots
+ *   app.journal.sync         — ALWAYS, BATCH (Group Commit) oder INTERVAL
+ *   app.journal.syncIntervalMs — fsync-Intervall fuer INTERVAL
+ *   app.snapshot.everyRecords — Journal-Datensaetze bis zum naechsten Snapshot
  *
  * @Persistent — Qualifier fuer die typbasierte Auswahl.
  * @Repository — Stereotype (beinhaltet @ApplicationScoped).
@@ -33,34 +77,364 @@ import java.util.Optional;
 @Exclude(ifProjectStage = ProjectStage.UnitTest.class)
 public class FileTaskRepository implements TaskRepository {
 
-    private final List<Task> tasks = new ArrayList<>();
+    // stream() kopiert jeweils nur so viele Tasks auf einmal
+    private static final int STREAM_PAGE_SIZE = 1024;
+
+    // Einfuegereihenfolge; geloeschte Tasks hinterlassen null bis zur Kompaktierung
+    private List<Task> tasks = new ArrayList<>();
+    private int holes;
+
+    // Task-ID -> Position in tasks (findById, Cursor fuer findPage) — ohne Boxing.
+    // Geloeschte Tasks bleiben bis zur Kompaktierung eingetragen und zeigen auf ihre Luecke.
+    private LongLongHashMap positions = new LongLongHashMap();
+
+    // Schreiben: Journal-Reihenfolge und Speicher-Reihenfolge bleiben identisch
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Inject
+    @ConfigProperty(name = "app.storage.dir", defaultValue = "data")
+    private String storageDir;
+
+    @Inject
+    @ConfigProperty(name = "app.journal.sync", defaultValue = "BATCH")
+    private String syncMode;
+
+    @Inject
+    @ConfigProperty(name = "app.journal.syncIntervalMs", defaultValue = "100")
+    private Integer syncIntervalMs;
+
+    @Inject
+    @ConfigProperty(name = "app.snapshot.everyRecords", defaultValue = "10000")
+    private Integer snapshotEveryRecords;
+
+    private FileTaskStore store;
+
+    // Snapshots laufen im Hintergrund, jeweils hoechstens einer
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "taskforge-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean snapshotPending = new AtomicBoolean();
 
     @PostConstruct
     void init() {
-        System.out.println("[FileTaskRepository] Initialisiert — simulierter Dateizugriff (@PostConstruct)");
+        try {
+            long start = System.nanoTime();
+            store = new FileTaskStore(Path.of(storageDir),
+                    SyncMode.valueOf(syncMode.trim().toUpperCase(Locale.ROOT)), syncIntervalMs);
+            store.recover(this::addToMemory, this::updateInMemory, this::deleteFromMemory);
+            if (holes > 0) {
+                compact();
+            }
+            // Falls die Hochwassermarke fehlt: keine bereits gespeicherte ID erneut vergeben
+            tasks.stream().mapToLong(Task::getId).max()
+                    .ifPresent(Task.idAllocator()::advancePast);
+            System.out.printf("[FileTaskRepository] Initialisiert — %d Tasks aus Snapshot, "
+                            + "%d aus Journal geladen in %dms (@PostConstruct)%n",
+                    store.getSnapshotRecordsLoaded(), store.getJournalRecordsReplayed(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal konnte nicht geoeffnet werden", e);
+        }
     }
 
     @PreDestroy
     void cleanup() {
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(30, TimeUnit.SECONDS);
+            // Letzter Snapshot: der naechste Start muss kein Journal nachspielen
+            snapshot();
+        } catch (IOException e) {
+            System.out.println("[FileTaskRepository] Snapshot beim Beenden fehlgeschlagen: "
+                    + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                store.close();
+            } catch (IOException e) {
+                System.out.println("[FileTaskRepository] Fehler beim Schliessen: " + e.getMessage());
+            }
+        }
         System.out.println("[FileTaskRepository] Wird zerstoert — "
-                + tasks.size() + " Tasks wuerden in Datei geschrieben (@PreDestroy)");
+                + (tasks.size() - holes) + " Tasks im Snapshot gesichert (@PreDestroy)");
+    }
+
+    /**
+     * Schreibt einen Snapshot des aktuellen Bestands und kompaktiert das Journal.
+     * Nur das Umschalten des Journal-Segments und das Kopieren der Liste (ggf. mit Kompaktierung)
+     * laufen unter der Sperre.
+     */
+    void snapshot() throws IOException {
+        long generation;
+        List<Task> state;
+        lock.writeLock().lock();
+        try {
+            generation = store.rollJournal();
+            if (holes > 0 && holes * 4L >= tasks.size()) {
+                compact();
+            }
+            state = live(tasks, 0, tasks.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        store.writeSnapshot(generation, state);
+    }
+
+    private void scheduleSnapshotIfDue() {
+        if (store.getRecordsSinceSnapshot() >= snapshotEveryRecords
+                && snapshotPending.compareAndSet(false, true)) {
+            snapshotExecutor.execute(() -> {
+                try {
+                    snapshot();
+                } catch (IOException e) {
+                    System.out.println("[FileTaskRepository] Snapshot fehlgeschlagen: " + e.getMessage());
+                } finally {
+                    snapshotPending.set(false);
+                }
+            });
+        }
     }
 
     @Override
     public void add(Task task) {
         System.out.println("[FileTaskRepository] Speichere Task in Datei: " + task.getTitle());
+        try {
+            long position;
+            lock.writeLock().lock();
+            try {
+                position = store.write(task);
+                addToMemory(task);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Ausserhalb der Sperre warten — so koennen sich Schreiber einen fsync teilen
+            store.sync(position);
+            scheduleSnapshotIfDue();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Task konnte nicht gespeichert werden", e);
+        }
+    }
+
+    @Override
+    public void addAll(Collection<Task> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        System.out.println("[FileTaskRepository] Speichere " + batch.size() + " Tasks in Datei");
+        try {
+            long position;
+            lock.writeLock().lock();
+            try {
+                position = store.writeAll(batch);
+                batch.forEach(this::addToMemory);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            store.sync(position);
+            scheduleSnapshotIfDue();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Tasks konnten nicht gespeichert werden", e);
+        }
+    }
+
+    @Override
+    public Optional<Task> complete(long id) {
+        try {
+            Task task;
+            long position;
+            lock.writeLock().lock();
+            try {
+                long index = positions.get(id);
+                task = index == LongLongHashMap.MISSING ? null : tasks.get((int) index);
+                if (task == null) {
+                    return Optional.empty();
+                }
+                if (task.isCompleted()) {
+                    return Optional.of(task);
+                }
+                // Erst den Datensatz schreiben, dann das Flag setzen: scheitert das Schreiben,
+                // bleiben Speicher und Journal gleich und ein erneuter Aufruf versucht es wieder
+                position = store.writeUpdate(new Task(id, task.getTitle(), true, task.getCreatedAt()));
+                task.setCompleted(true);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            store.sync(position);
+            scheduleSnapshotIfDue();
+            return Optional.of(task);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Aenderung konnte nicht gespeichert werden", e);
+        }
+    }
+
+    @Override
+    public Optional<Task> delete(long id) {
+        try {
+            Task task;
+            long position;
+            lock.writeLock().lock();
+            try {
+                long index = positions.get(id);
+                task = index == LongLongHashMap.MISSING ? null : tasks.get((int) index);
+                if (task == null) {
+                    return Optional.empty();
+                }
+                position = store.writeDelete(task);
+                deleteFromMemory(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            System.out.println("[FileTaskRepository] Grabstein geschrieben: " + task.getTitle());
+            store.sync(position);
+            scheduleSnapshotIfDue();
+            return Optional.of(task);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Task konnte nicht geloescht werden", e);
+        }
+    }
+
+    // Aufruf nur unter der Schreibsperre (bzw. waehrend @PostConstruct)
+    private void addToMemory(Task task) {
+        long existing = positions.putIfAbsent(task.getId(), tasks.size());
+        // Erster Task mit dieser ID bleibt der Treffer — es sei denn, er ist schon geloescht
+        if (existing != LongLongHashMap.MISSING && tasks.get((int) existing) == null) {
+            positions.replace(task.getId(), existing, tasks.size());
+        }
         tasks.add(task);
     }
 
+    // Nur waehrend @PostConstruct: Zustand aus einem Aenderungs-Datensatz uebernehmen
+    private void updateInMemory(Task updated) {
+        long index = positions.get(updated.getId());
+        Task task = index == LongLongHashMap.MISSING ? null : tasks.get((int) index);
+        if (task != null) {
+            task.setCompleted(updated.isCompleted());
+        }
+    }
+
+    // Aufruf nur unter der Schreibsperre (bzw. waehrend @PostConstruct)
+    private void deleteFromMemory(long id) {
+        long index = positions.get(id);
+        if (index != LongLongHashMap.MISSING && tasks.get((int) index) != null) {
+            tasks.set((int) index, null);
+            holes++;
+        }
+    }
+
+    // Entfernt die Luecken und baut den Positions-Index ohne Geloeschte neu auf — unter der Schreibsperre
+    private void compact() {
+        List<Task> compacted = new ArrayList<>(tasks.size() - holes);
+        LongLongHashMap rebuilt = new LongLongHashMap();
+        for (Task task : tasks) {
+            if (task != null) {
+                rebuilt.putIfAbsent(task.getId(), compacted.size());
+                compacted.add(task);
+            }
+        }
+        tasks = compacted;
+        positions = rebuilt;
+        holes = 0;
+    }
+
+    // Lebende Tasks aus list[from, to) — unter einer der beiden Sperren
+    private static List<Task> live(List<Task> list, int from, int to) {
+        List<Task> result = new ArrayList<>(to - from);
+        for (Task task : list.subList(from, to)) {
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
     @Override
     public List<Task> findAll() {
-        return Collections.unmodifiableList(tasks);
+        lock.readLock().lock();
+        try {
+            return live(tasks, 0, tasks.size());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public Optional<Task> findByTitle(String title) {
-        return tasks.stream()
-                .filter(t -> t.getTitle().equalsIgnoreCase(title))
-                .findFirst();
+        lock.readLock().lock();
+        try {
+            return tasks.stream()
+                    .filter(t -> t != null && t.getTitle().equalsIgnoreCase(title))
+                    .findFirst();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(long id) {
+        lock.readLock().lock();
+        try {
+            long position = positions.get(id);
+            return position == LongLongHashMap.MISSING
+                    ? Optional.empty() : Optional.ofNullable(tasks.get((int) position));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findPage(long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            // Auch ein geloeschter Cursor-Task hat bis zur Kompaktierung noch seine Position;
+            // unbekannt: von vorn (MISSING + 1 = 0)
+            long position = afterId > 0 ? positions.get(afterId) : LongLongHashMap.MISSING;
+            List<Task> page = new ArrayList<>(Math.min(limit, 1024));
+            for (int i = (int) position + 1; i < tasks.size() && page.size() < limit; i++) {
+                Task task = tasks.get(i);
+                if (task != null) {
+                    page.add(task);
+                }
+            }
+            return List.copyOf(page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Liest den Bestand beim Aufruf seitenweise (je STREAM_PAGE_SIZE Tasks unter der Lesesperre),
+     * statt ihn vollstaendig zu kopieren. Der Stream bleibt bei der Liste vom Aufruf: compact()
+     * ersetzt sie durch eine neue, statt sie umzubauen — die Positionen verschieben sich also
+     * nicht, kein Task wird ausgelassen oder doppelt geliefert. Nach einer Kompaktierung
+     * geloeschte Tasks liefert der Stream allerdings noch.
+     */
+    @Override
+    public Stream<Task> stream() {
+        List<Task> list;
+        int end;
+        lock.readLock().lock();
+        try {
+            list = tasks;
+            end = list.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+        int pages = (end + STREAM_PAGE_SIZE - 1) / STREAM_PAGE_SIZE;
+        return IntStream.range(0, pages)
+                .mapToObj(page -> copyRange(list, page * STREAM_PAGE_SIZE,
+                        Math.min(end, (page + 1) * STREAM_PAGE_SIZE)))
+                .flatMap(List::stream);
+    }
+
+    private List<Task> copyRange(List<Task> list, int from, int to) {
+        lock.readLock().lock();
+        try {
+            return live(list, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 }
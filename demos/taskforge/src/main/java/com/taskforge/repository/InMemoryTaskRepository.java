@@ -5,21 +5,52 @@ package com.taskforge.repository;
 // Uebung 2: @ApplicationScoped + @PostConstruct/@PreDestroy hinzugefuegt.
 // Uebung 3: @InMemory Qualifier hinzugefuegt, Interface extrahiert.
 // Uebung 8: @Repository Stereotype ersetzt direkte @ApplicationScoped-Annotation.
+// Erweiterung: Titel-Index (HashMap) fuer findByTitle in konstanter Zeit.
+// Erweiterung: Thread-sicher ohne globale Sperre (TaskLog + ConcurrentHashMap).
+// Erweiterung: findPage (Cursor ueber ID -> Slot) und lazy stream().
+// Erweiterung: addAll reserviert alle Slots eines Batches auf einmal.
+// Erweiterung: findById ueber einen primitiven ID-Index (LongLongHashMap).
+// Erweiterung: delete — Indizes in O(1) nachgefuehrt, Speicher geloeschter Tasks wird frei.
+// Erweiterung: size() fuer den Metrik-Endpunkt.
+// Erweiterung: Geloeschte IDs bleiben bis zur Freigabe ihres Chunks als Cursor im ID-Index.
 
 import com.taskforge.model.Task;
 import com.taskforge.qualifier.InMemory;
 import com.taskforge.stereotype.Repository;
+import com.taskforge.util.LongLongHashMap;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * In-Memory-Implementierung des TaskRepository.
- * Speichert Tasks in einer ArrayList — Daten gehen beim Beenden verloren.
+ * Speichert Tasks in einem lock-freien Append-Log (TaskLog) — Daten gehen beim Beenden verloren.
+ * Ein Index ueber den normalisierten Titel (Kleinschreibung) beantwortet
+ * findByTitle in O(1) statt per linearer Suche ueber alle Tasks.
+ *
+ * Thread-Sicherheit: Als @ApplicationScoped-Bean wird das Repository von vielen Threads
+ * gleichzeitig genutzt. add() kommt ohne Sperre aus, findAll() liefert einen
+ * unveraenderlichen Snapshot, der von spaeteren Aenderungen nicht beeinflusst wird.
+ *
+ * Loeschen: delete() ersetzt den Slot im TaskLog durch einen Grabstein und entfernt den Titel
+ * aus dem Titel-Index — jeweils in O(1). Der ID-Index zeigt weiter auf den Slot, damit findPage()
+ * an der Position eines geloeschten Cursor-Tasks weiterblaettern kann; der Eintrag verschwindet,
+ * wenn das TaskLog den Chunk freigibt. Da geloeschte Slots den Snapshot nicht mehr positional
+ * abbilden koennen, kopiert findAll() die lebenden Tasks (tote Chunks werden uebersprungen).
+ * Mehrere Tasks mit gleichem Titel stehen im Titel-Index als TitleGroup in Einfuegereihenfolge;
+ * wird der erste geloescht, ist der naechste der Treffer von findByTitle.
  *
  * @InMemory — Qualifier fuer die typbasierte Auswahl.
  * @Repository — Stereotype (beinhaltet @ApplicationScoped).
@@ -28,7 +59,14 @@ import java.util.Optional;
 @Repository
 public class InMemoryTaskRepository implements TaskRepository {
 
-    private final List<Task> tasks = new ArrayList<>();
+    private final TaskLog tasks = new TaskLog(this::released);
+
+    // Normalisierter Titel -> Task oder (bei gleichen Titeln) TitleGroup; Treffer ist der erste
+    private final ConcurrentHashMap<String, Object> titleIndex = new ConcurrentHashMap<>();
+
+    // Task-ID -> Slot im TaskLog (findById, Cursor fuer findPage) — ohne Boxing.
+    // Geloeschte Tasks bleiben eingetragen, bis ihr Chunk freigegeben ist.
+    private final LongLongHashMap slotIndex = new LongLongHashMap();
 
     @PostConstruct
     void init() {
@@ -41,20 +79,187 @@ public class InMemoryTaskRepository implements TaskRepository {
                 + tasks.size() + " Tasks verworfen");
     }
 
+    /**
+     * Anzahl der gespeicherten Tasks in O(1) — ohne Kopie wie bei findAll().
+     */
+    public long size() {
+        return tasks.size();
+    }
+
     @Override
     public void add(Task task) {
-        tasks.add(task);
+        long slot = tasks.claim();
+        // Index vor dem Veroeffentlichen: jeder sichtbare Task taugt sofort als Cursor
+        indexSlot(task.getId(), slot);
+        tasks.store(slot, task);
+        indexTitle(slot, task);
+    }
+
+    @Override
+    public void addAll(Collection<Task> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Task> ordered = List.copyOf(batch);
+        long first = tasks.claim(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            indexSlot(ordered.get(i).getId(), first + i);
+        }
+        tasks.storeAll(first, ordered);
+        for (int i = 0; i < ordered.size(); i++) {
+            indexTitle(first + i, ordered.get(i));
+        }
+    }
+
+    @Override
+    public Optional<Task> complete(long id) {
+        return findById(id).map(task -> {
+            task.setCompleted(true);
+            return task;
+        });
+    }
+
+    @Override
+    public Optional<Task> delete(long id) {
+        long slot = slotIndex.get(id);
+        Task task = tasks.get(slot);
+        // Nur ein Loescher gewinnt das CAS im TaskLog und raeumt die Indizes auf
+        if (task == null || !tasks.delete(slot, task)) {
+            return Optional.empty();
+        }
+        unindexTitle(task);
+        return Optional.of(task);
+    }
+
+    // Erster Task mit dieser ID bleibt der Treffer — es sei denn, er ist schon geloescht
+    private void indexSlot(long id, long slot) {
+        long existing;
+        while ((existing = slotIndex.putIfAbsent(id, slot)) != LongLongHashMap.MISSING
+                && tasks.isDeleted(existing) && !slotIndex.replace(id, existing, slot)) {
+            // Grabstein wurde gerade freigegeben oder ersetzt: erneut eintragen
+        }
+    }
+
+    // Vom TaskLog fuer jeden Grabstein eines freigegebenen Chunks — nur den eigenen Eintrag entfernen
+    private void released(long id, long slot) {
+        slotIndex.remove(id, slot);
+    }
+
+    // --- Titel-Index: Task oder TitleGroup; Aenderungen atomar per compute() ---
+
+    // Der Task ist schon veroeffentlicht: ein paralleles delete() kann ihn austragen, bevor er
+    // eingetragen ist. Danach den Slot erneut pruefen — ist er geloescht, selbst wieder austragen.
+    // Loescht delete() erst nach dieser Pruefung, sieht sein unindexTitle() den Eintrag.
+    private void indexTitle(long slot, Task task) {
+        indexTitle(task);
+        if (tasks.get(slot) != task) {
+            unindexTitle(task);
+        }
+    }
+
+    private void indexTitle(Task task) {
+        titleIndex.compute(titleKey(task.getTitle()), (key, current) -> {
+            if (current == null) {
+                return task;
+            }
+            TitleGroup group = current instanceof TitleGroup g ? g : new TitleGroup((Task) current);
+            group.add(task);
+            return group;
+        });
+    }
+
+    private void unindexTitle(Task task) {
+        titleIndex.computeIfPresent(titleKey(task.getTitle()), (key, current) -> {
+            if (current == task) {
+                return null;
+            }
+            if (current instanceof TitleGroup group) {
+                Task remaining = group.remove(task);
+                return remaining != null ? remaining : group;
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Alle Tasks mit gleichem normalisiertem Titel in Einfuegereihenfolge.
+     * Geaendert wird nur innerhalb von compute() des Titel-Index, gelesen ohne dessen Sperre —
+     * deshalb zusaetzlich synchronized.
+     */
+    private static final class TitleGroup {
+        private final LinkedHashSet<Task> tasks = new LinkedHashSet<>();
+
+        TitleGroup(Task first) {
+            tasks.add(first);
+        }
+
+        synchronized void add(Task task) {
+            tasks.add(task);
+        }
+
+        /** Entfernt den Task; bleibt nur noch einer uebrig, wird dieser geliefert. */
+        synchronized Task remove(Task task) {
+            tasks.remove(task);
+            return tasks.size() == 1 ? tasks.iterator().next() : null;
+        }
+
+        synchronized Task first() {
+            return tasks.isEmpty() ? null : tasks.iterator().next();
+        }
     }
 
     @Override
     public List<Task> findAll() {
-        return Collections.unmodifiableList(tasks);
+        return Collections.unmodifiableList(tasks.snapshot());
     }
 
     @Override
     public Optional<Task> findByTitle(String title) {
-        return tasks.stream()
-                .filter(t -> t.getTitle().equalsIgnoreCase(title))
-                .findFirst();
+        if (title == null) {
+            return Optional.empty();
+        }
+        Object entry = titleIndex.get(titleKey(title));
+        return Optional.ofNullable(entry instanceof TitleGroup group ? group.first() : (Task) entry);
+    }
+
+    @Override
+    public Optional<Task> findById(long id) {
+        // null, solange der Slot zwar reserviert, der Task aber noch nicht gespeichert ist
+        return Optional.ofNullable(tasks.get(slotIndex.get(id)));
+    }
+
+    @Override
+    public List<Task> findPage(long afterId, int limit) {
+        // Auch ein geloeschter Cursor-Task hat noch seinen Slot; unbekannt: von vorn (MISSING + 1 = 0)
+        long slot = afterId > 0 ? slotIndex.get(afterId) : LongLongHashMap.MISSING;
+        List<Task> page = new ArrayList<>(Math.min(limit, 1024));
+        Iterator<Task> cursor = tasks.cursor(slot + 1);
+        while (page.size() < limit && cursor.hasNext()) {
+            page.add(cursor.next());
+        }
+        return List.copyOf(page);
+    }
+
+    /**
+     * Lazy Stream ueber die beim Aufruf veroeffentlichten Tasks — inzwischen geloeschte
+     * werden uebersprungen.
+     */
+    @Override
+    public Stream<Task> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(tasks.cursor(0),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Normalisiert einen Titel fuer den Index.
+     * Faltet zeichenweise wie String.equalsIgnoreCase (erst gross, dann klein),
+     * damit der Index genau dieselben Treffer liefert wie die fruehere Suche.
+     */
+    static String titleKey(String title) {
+        char[] chars = title.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
     }
 }
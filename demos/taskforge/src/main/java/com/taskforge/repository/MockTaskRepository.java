@@ -11,9 +11,13 @@ import jakarta.annotation.Priority;
 import jakarta.enterprise.inject.Alternative;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Mock-Implementierung fuer Tests.
@@ -29,7 +33,9 @@ import java.util.Optional;
 @ApplicationScoped
 public class MockTaskRepository implements TaskRepository {
 
+    // Geloeschte Tasks hinterlassen eine Luecke (null), ihre ID bleibt als Cursor fuer findPage
     private final List<Task> tasks = new ArrayList<>();
+    private final Map<Long, Integer> deletedAt = new HashMap<>();
 
     @Override
     public void add(Task task) {
@@ -37,15 +43,77 @@ public class MockTaskRepository implements TaskRepository {
         tasks.add(task);
     }
 
+    @Override
+    public void addAll(Collection<Task> batch) {
+        System.out.println("[MockTaskRepository] " + batch.size() + " Tasks hinzugefuegt (Mock)");
+        tasks.addAll(batch);
+    }
+
     @Override
     public List<Task> findAll() {
-        return Collections.unmodifiableList(tasks);
+        return tasks.stream().filter(Objects::nonNull).toList();
     }
 
     @Override
     public Optional<Task> findByTitle(String title) {
         return tasks.stream()
-                .filter(t -> t.getTitle().equalsIgnoreCase(title))
+                .filter(t -> t != null && t.getTitle().equalsIgnoreCase(title))
                 .findFirst();
     }
+
+    @Override
+    public Optional<Task> findById(long id) {
+        int index = indexOf(id);
+        return index < 0 ? Optional.empty() : Optional.of(tasks.get(index));
+    }
+
+    @Override
+    public Optional<Task> complete(long id) {
+        return findById(id).map(task -> {
+            task.setCompleted(true);
+            return task;
+        });
+    }
+
+    @Override
+    public Optional<Task> delete(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        System.out.println("[MockTaskRepository] Task geloescht (Mock): " + tasks.get(index).getTitle());
+        deletedAt.put(id, index);
+        return Optional.of(tasks.set(index, null));
+    }
+
+    @Override
+    public List<Task> findPage(long afterId, int limit) {
+        int from = 0;
+        if (afterId > 0) {
+            // Cursor-Task geloescht: an seiner Luecke weiter
+            int index = indexOf(afterId);
+            from = (index >= 0 ? index : deletedAt.getOrDefault(afterId, -1)) + 1;
+        }
+        List<Task> page = new ArrayList<>();
+        for (int i = from; i < tasks.size() && page.size() < limit; i++) {
+            if (tasks.get(i) != null) {
+                page.add(tasks.get(i));
+            }
+        }
+        return List.copyOf(page);
+    }
+
+    @Override
+    public Stream<Task> stream() {
+        return tasks.stream().filter(Objects::nonNull);
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i) != null && tasks.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
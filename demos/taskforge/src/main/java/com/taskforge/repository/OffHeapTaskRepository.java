@@ -0,0 +1,575 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.repository;
+
+// Erweiterung: Off-Heap-Implementierung — Task-Daten liegen spaltenweise in Direct-ByteBuffern,
+// Task-Objekte entstehen erst beim Lesen als Sicht.
+// Erweiterung: findById ueber den gemeinsamen primitiven ID-Index (LongLongHashMap).
+// Erweiterung: delete — Zeilen werden markiert, vollstaendig geloeschte Slabs freigegeben.
+// Erweiterung: Kompaktierung in eine neue Generation — Zeilen und Titel-Arena bleiben begrenzt.
+
+import com.taskforge.model.Task;
+import com.taskforge.qualifier.OffHeap;
+import com.taskforge.stereotype.Repository;
+import com.taskforge.util.LongLongHashMap;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Off-Heap-Implementierung des TaskRepository fuer sehr grosse Bestaende.
+ *
+ * Ein Task belegt auf dem Heap keinen eigenen Speicher: Je 65536 Zeilen liegen in einem
+ * Direct-ByteBuffer mit festen Spalten (ID, Erstellzeitpunkt als Epoch-Millisekunden UTC,
+ * Titel-Adresse, Erledigt-Flag). Titel stehen dedupliziert als UTF-8 in der TitleArena.
+ * Die Indizes (ID -> Zeile, normalisierter Titel -> Kette der Zeilen) bestehen nur aus primitiven
+ * Arrays. Der Garbage Collector muss damit pro Task kein Objekt mehr verfolgen.
+ *
+ * Loeschen: Die Zeile wird im Erledigt-Feld als geloescht markiert (DELETED) und in O(1) aus der
+ * doppelt verketteten Titel-Kette ausgehaengt (Spalten PREV/NEXT). Der ID-Index zeigt bis zur
+ * Kompaktierung weiter auf die Zeile — findPage() blaettert so auch nach dem Loeschen des
+ * Cursor-Tasks an dessen Position weiter.
+ * Sind alle Zeilen eines Slabs geloescht, wird der Slab freigegeben (der Direct-Buffer faellt an
+ * den Garbage Collector).
+ *
+ * Kompaktierung: Zeilen, Arena und Indizes bilden zusammen eine Generation (Table). Gibt es mehr
+ * geloeschte als lebende Zeilen (und mindestens einen Slab voll), kopiert delete() die lebenden
+ * Zeilen in Einfuegereihenfolge in eine neue Generation und ersetzt die alte. Zeilennummern
+ * beginnen dort wieder bei 0, Titel geloeschter Tasks fehlen in der neuen Arena — unter stetigem
+ * Anlegen und Loeschen bleibt der Speicher bei etwa dem Doppelten des lebenden Bestands.
+ * Die Kosten verteilen sich auf mindestens ebenso viele vorangegangene Loeschungen.
+ *
+ * Gelesene Tasks sind Sichten auf eine Zeile. Sie werden bei jedem Zugriff neu erzeugt
+ * (kein assertSame wie beim InMemoryTaskRepository); setCompleted() schreibt in die Zeile zurueck.
+ * Wurde die Zeile inzwischen kompaktiert (MOVED), lesen und schreiben isCompleted() und
+ * setCompleted() das Flag in der aktuellen Generation.
+ * Der Erstellzeitpunkt wird wie im Journal auf Millisekunden gekuerzt.
+ *
+ * Thread-Sicherheit: Schreiber serialisieren sich ueber eine Sperre und veroeffentlichen neue
+ * Zeilen ueber das volatile Feld size, eine neue Generation ueber das volatile Feld table.
+ * findAll(), stream(), findById() und Zeilenzugriffe lesen ohne Sperre in der Generation, die beim
+ * Aufruf aktuell war, und ueberspringen geloeschte Zeilen; nur die Titelsuche nimmt die Lesesperre.
+ * Eine alte Generation bleibt fuer solche Leser vollstaendig lesbar, bis sie sie loslassen.
+ *
+ * @OffHeap — Qualifier fuer die typbasierte Auswahl.
+ * @Repository — Stereotype (beinhaltet @ApplicationScoped).
+ */
+@OffHeap
+@Repository
+public class OffHeapTaskRepository implements TaskRepository {
+
+    private static final int ROW_BITS = 16;
+    private static final int ROWS_PER_SLAB = 1 << ROW_BITS;
+    private static final int ROW_MASK = ROWS_PER_SLAB - 1;
+
+    // Spalten-Offsets innerhalb eines Slabs
+    private static final int ID_COLUMN = 0;
+    private static final int CREATED_COLUMN = ID_COLUMN + Long.BYTES * ROWS_PER_SLAB;
+    private static final int TITLE_COLUMN = CREATED_COLUMN + Long.BYTES * ROWS_PER_SLAB;
+    private static final int COMPLETED_COLUMN = TITLE_COLUMN + Long.BYTES * ROWS_PER_SLAB;
+    private static final int PREV_COLUMN = COMPLETED_COLUMN + Integer.BYTES * ROWS_PER_SLAB;
+    private static final int NEXT_COLUMN = PREV_COLUMN + Integer.BYTES * ROWS_PER_SLAB;
+    private static final int SLAB_BYTES = NEXT_COLUMN + Integer.BYTES * ROWS_PER_SLAB;
+
+    // Werte der Erledigt-Spalte
+    private static final int OPEN = 0;
+    private static final int COMPLETED = 1;
+    private static final int DELETED = 2;
+    private static final int MOVED = 3; // in eine neuere Generation kopiert
+
+    // Erledigt-Flag als int, damit es ohne Sperre volatile gelesen und geschrieben werden kann
+    private static final VarHandle INT_COLUMN =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Aktuelle Generation — ersetzt nur unter der Schreibsperre (Kompaktierung)
+    private volatile Table table = new Table();
+
+    @PostConstruct
+    void init() {
+        System.out.println("[OffHeapTaskRepository] Initialisiert (@PostConstruct)");
+    }
+
+    @PreDestroy
+    void cleanup() {
+        Table t = table;
+        System.out.println("[OffHeapTaskRepository] Wird zerstoert (@PreDestroy) — "
+                + (t.size - t.deletedRows) + " Tasks, " + getOffHeapBytes() / 1024 + " KB Off-Heap freigegeben");
+    }
+
+    @Override
+    public void add(Task task) {
+        lock.writeLock().lock();
+        try {
+            Table t = table;
+            int row = t.size;
+            t.write(row, task, task.isCompleted() ? COMPLETED : OPEN);
+            t.size = row + 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addAll(Collection<Task> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Table t = table;
+            int row = t.size;
+            for (Task task : batch) {
+                t.write(row++, task, task.isCompleted() ? COMPLETED : OPEN);
+            }
+            t.size = row;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Task> complete(long id) {
+        return findById(id).map(task -> {
+            task.setCompleted(true);
+            return task;
+        });
+    }
+
+    @Override
+    public Optional<Task> delete(long id) {
+        lock.writeLock().lock();
+        try {
+            Table t = table;
+            long found = t.idIndex.get(id);
+            Task task = found == LongLongHashMap.MISSING || found >= t.size
+                    ? null : t.liveView(t.slabs, (int) found);
+            if (task == null) {
+                return Optional.empty();
+            }
+            int row = (int) found;
+            t.remove(row, task);
+            if (t.deletedRows >= ROWS_PER_SLAB && t.deletedRows > t.size - t.deletedRows) {
+                compact(t);
+            }
+            return Optional.of(task);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Unter der Schreibsperre: lebende Zeilen in Einfuegereihenfolge in eine neue Generation kopieren
+    private void compact(Table old) {
+        Table fresh = new Table();
+        ByteBuffer[] slabs = old.slabs;
+        int row = 0;
+        for (int source = 0; source < old.size; source++) {
+            ByteBuffer slab = slabs[source >>> ROW_BITS];
+            if (slab == null) {
+                source |= ROW_MASK; // ganzer Slab freigegeben
+                continue;
+            }
+            int offset = COMPLETED_COLUMN + (source & ROW_MASK) * Integer.BYTES;
+            if ((int) INT_COLUMN.getVolatile(slab, offset) == DELETED) {
+                continue;
+            }
+            // Ab hier leiten Sichten auf die alte Zeile an die neue Generation weiter;
+            // ein gleichzeitiges setCompleted() landet entweder im kopierten Wert oder dort
+            int state = (int) INT_COLUMN.getAndSet(slab, offset, MOVED);
+            fresh.write(row++, old.view(slabs, source), state);
+        }
+        fresh.size = row;
+        table = fresh;
+    }
+
+    /**
+     * Bei geloeschten Zeilen werden die Nummern der lebenden Zeilen in ein int-Array kopiert
+     * (4 Bytes pro Task); ohne Loeschungen bleibt findAll() eine reine Sicht.
+     */
+    @Override
+    public List<Task> findAll() {
+        Table t = table;
+        ByteBuffer[] slabs = t.slabs;
+        int end = t.size;
+        if (t.deletedRows == 0) {
+            return new Snapshot(t, slabs, null, end);
+        }
+        int[] rows = new int[end];
+        int live = 0;
+        for (int row = 0; row < end; row++) {
+            if (slabs[row >>> ROW_BITS] == null) {
+                row |= ROW_MASK; // ganzer Slab freigegeben
+            } else if (!isDeleted(slabs, row)) {
+                rows[live++] = row;
+            }
+        }
+        return new Snapshot(t, slabs, Arrays.copyOf(rows, live), live);
+    }
+
+    @Override
+    public Optional<Task> findByTitle(String title) {
+        if (title == null) {
+            return Optional.empty();
+        }
+        String key = InMemoryTaskRepository.titleKey(title);
+        lock.readLock().lock();
+        try {
+            Table t = table;
+            int i = t.titleSlot(key);
+            return t.titleRows[i] == 0 ? Optional.empty() : Optional.of(t.view(t.slabs, t.titleRows[i] - 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(long id) {
+        Table t = table;
+        long row = t.idIndex.get(id);
+        // Zeilen ab size sind zwar indiziert, aber noch nicht veroeffentlicht
+        return row == LongLongHashMap.MISSING || row >= t.size
+                ? Optional.empty() : Optional.ofNullable(t.liveView(t.slabs, (int) row));
+    }
+
+    @Override
+    public List<Task> findPage(long afterId, int limit) {
+        Table t = table;
+        int end = t.size;
+        // Auch ein geloeschter Cursor-Task hat bis zur Kompaktierung noch seine Zeile;
+        // unbekannt: von vorn (MISSING + 1 = 0)
+        long cursor = afterId > 0 ? t.idIndex.get(afterId) : LongLongHashMap.MISSING;
+        int from = (int) Math.min(cursor + 1, end);
+        ByteBuffer[] slabs = t.slabs;
+        List<Task> page = new ArrayList<>(Math.min(limit, end - from));
+        for (int row = from; row < end && page.size() < limit; row++) {
+            if (slabs[row >>> ROW_BITS] == null) {
+                row |= ROW_MASK; // ganzer Slab freigegeben
+            } else if (!isDeleted(slabs, row)) {
+                page.add(t.view(slabs, row));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Erzeugt die Task-Sichten erst beim Durchlaufen — auch grosse Bestaende belasten
+     * den Heap nur mit den gerade verarbeiteten Tasks. Laeuft auf der Generation vom Aufruf;
+     * nach einer Kompaktierung geloeschte Tasks sieht er daher noch.
+     */
+    @Override
+    public Stream<Task> stream() {
+        Table t = table;
+        return IntStream.range(0, t.size)
+                .mapToObj(row -> t.liveView(t.slabs, row))
+                .filter(Objects::nonNull);
+    }
+
+    /** Reservierter Off-Heap-Speicher (belegte Zeilen-Slabs und Titel-Arena) in Bytes. */
+    public long getOffHeapBytes() {
+        Table t = table;
+        long slabs = Arrays.stream(t.slabs).filter(Objects::nonNull).count();
+        return slabs * SLAB_BYTES + t.titles.offHeapBytes();
+    }
+
+    private static boolean isDeleted(ByteBuffer[] slabs, int row) {
+        return (int) INT_COLUMN.getVolatile(slabs[row >>> ROW_BITS],
+                COMPLETED_COLUMN + (row & ROW_MASK) * Integer.BYTES) == DELETED;
+    }
+
+    /**
+     * Eine Generation: Zeilen-Slabs, Titel-Arena, ID- und Titel-Index.
+     * Geschrieben nur unter der Schreibsperre des Repositorys; Zeilen lesen auch ohne Sperre.
+     */
+    private final class Table {
+
+        final TitleArena titles = new TitleArena();
+        // Freigegebene Slabs sind null; das Array wird bei jeder Aenderung kopiert (Copy-on-Write)
+        volatile ByteBuffer[] slabs = new ByteBuffer[0];
+        volatile int size;
+        volatile int deletedRows;
+
+        // Geloeschte Zeilen je Slab — nur unter der Schreibsperre
+        int[] deadPerSlab = new int[0];
+
+        // Task-ID -> Zeile; geloeschte Zeilen bleiben eingetragen (Cursor fuer findPage)
+        final LongLongHashMap idIndex = new LongLongHashMap();
+
+        // Hash des normalisierten Titels -> erste/letzte Zeile der Kette + 1 (0 = frei), Open Addressing
+        int[] titleHashes = new int[1024];
+        int[] titleRows = new int[1024];
+        int[] titleTails = new int[1024];
+        int distinctTitleKeys;
+
+        // Sichtbar wird die Zeile erst mit dem Schreiben von size (bzw. table)
+        void write(int row, Task task, int state) {
+            if (row == Integer.MAX_VALUE) {
+                throw new IllegalStateException("OffHeapTaskRepository ist voll");
+            }
+            ByteBuffer[] current = slabs;
+            if ((row >>> ROW_BITS) == current.length) {
+                current = Arrays.copyOf(current, current.length + 1);
+                current[current.length - 1] = ByteBuffer.allocateDirect(SLAB_BYTES + Long.BYTES)
+                        .alignedSlice(Long.BYTES).order(ByteOrder.nativeOrder());
+                slabs = current;
+                deadPerSlab = Arrays.copyOf(deadPerSlab, current.length);
+            }
+            ByteBuffer slab = current[row >>> ROW_BITS];
+            int r = row & ROW_MASK;
+            slab.putLong(ID_COLUMN + r * Long.BYTES, task.getId());
+            slab.putLong(CREATED_COLUMN + r * Long.BYTES,
+                    task.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+            slab.putLong(TITLE_COLUMN + r * Long.BYTES, titles.intern(task.getTitle()));
+            slab.putInt(COMPLETED_COLUMN + r * Integer.BYTES, state);
+            // Erster Task mit dieser ID bleibt der Treffer — es sei denn, er ist schon geloescht
+            long existing = idIndex.putIfAbsent(task.getId(), row);
+            if (existing != LongLongHashMap.MISSING && liveView(current, (int) existing) == null) {
+                idIndex.replace(task.getId(), existing, row);
+            }
+            indexTitle(InMemoryTaskRepository.titleKey(task.getTitle()), row);
+        }
+
+        void remove(int row, Task task) {
+            unindexTitle(InMemoryTaskRepository.titleKey(task.getTitle()), row);
+            ByteBuffer[] current = slabs;
+            INT_COLUMN.setVolatile(current[row >>> ROW_BITS],
+                    COMPLETED_COLUMN + (row & ROW_MASK) * Integer.BYTES, DELETED);
+            deletedRows = deletedRows + 1;
+            if (++deadPerSlab[row >>> ROW_BITS] == ROWS_PER_SLAB) {
+                // Keine lebende Zeile mehr: Slab freigeben, laufende Snapshots behalten ihre Kopie
+                current = current.clone();
+                current[row >>> ROW_BITS] = null;
+                slabs = current;
+            }
+        }
+
+        // Sicht auf die Zeile oder null, wenn sie geloescht bzw. ihr Slab freigegeben ist
+        Task liveView(ByteBuffer[] slabs, int row) {
+            if (slabs[row >>> ROW_BITS] == null || isDeleted(slabs, row)) {
+                return null;
+            }
+            return view(slabs, row);
+        }
+
+        Task view(ByteBuffer[] slabs, int row) {
+            ByteBuffer slab = slabs[row >>> ROW_BITS];
+            int r = row & ROW_MASK;
+            return new OffHeapTask(slab, COMPLETED_COLUMN + r * Integer.BYTES,
+                    slab.getLong(ID_COLUMN + r * Long.BYTES),
+                    titles.read(slab.getLong(TITLE_COLUMN + r * Long.BYTES)),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(
+                            slab.getLong(CREATED_COLUMN + r * Long.BYTES)), ZoneOffset.UTC));
+        }
+
+        private String titleKeyOf(int row) {
+            ByteBuffer slab = slabs[row >>> ROW_BITS];
+            return InMemoryTaskRepository.titleKey(
+                    titles.read(slab.getLong(TITLE_COLUMN + (row & ROW_MASK) * Long.BYTES)));
+        }
+
+        // --- Titel-Index (Schreiben unter der Schreibsperre, Lesen unter der Lesesperre) ---
+
+        // Erster Task mit diesem Titel bleibt der Treffer (wie InMemory), weitere werden hinten angehaengt
+        private void indexTitle(String key, int row) {
+            setLink(row, PREV_COLUMN, 0);
+            setLink(row, NEXT_COLUMN, 0);
+            int i = titleSlot(key);
+            if (titleRows[i] != 0) {
+                int tail = titleTails[i] - 1;
+                setLink(tail, NEXT_COLUMN, row + 1);
+                setLink(row, PREV_COLUMN, tail + 1);
+                titleTails[i] = row + 1;
+                return;
+            }
+            titleHashes[i] = key.hashCode();
+            titleRows[i] = row + 1;
+            titleTails[i] = row + 1;
+            if (++distinctTitleKeys * 2 > titleRows.length) {
+                growTitleIndex();
+            }
+        }
+
+        // Haengt die Zeile in O(1) aus ihrer Kette aus; eine leere Kette verlaesst den Index
+        private void unindexTitle(String key, int row) {
+            int i = titleSlot(key);
+            int prev = link(row, PREV_COLUMN);
+            int next = link(row, NEXT_COLUMN);
+            if (prev != 0) {
+                setLink(prev - 1, NEXT_COLUMN, next);
+            } else {
+                titleRows[i] = next;
+            }
+            if (next != 0) {
+                setLink(next - 1, PREV_COLUMN, prev);
+            } else {
+                titleTails[i] = prev;
+            }
+            if (titleRows[i] == 0) {
+                removeTitleSlot(i);
+            }
+        }
+
+        // Eintrag zum Titel oder freier Platz fuer ihn
+        int titleSlot(String key) {
+            int hash = key.hashCode();
+            int mask = titleRows.length - 1;
+            int i = TitleArena.mix(hash) & mask;
+            while (titleRows[i] != 0
+                    && !(titleHashes[i] == hash && key.equals(titleKeyOf(titleRows[i] - 1)))) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        // Lineares Sondieren ohne Grabsteine: nachfolgende Eintraege der Sondierkette rutschen auf
+        private void removeTitleSlot(int gap) {
+            int mask = titleRows.length - 1;
+            titleRows[gap] = 0;
+            distinctTitleKeys--;
+            for (int i = (gap + 1) & mask; titleRows[i] != 0; i = (i + 1) & mask) {
+                int home = TitleArena.mix(titleHashes[i]) & mask;
+                // Darf der Eintrag in die Luecke? Nur wenn sein Heimatplatz nicht zwischen Luecke und ihm liegt
+                if (((i - home) & mask) >= ((i - gap) & mask)) {
+                    titleHashes[gap] = titleHashes[i];
+                    titleRows[gap] = titleRows[i];
+                    titleTails[gap] = titleTails[i];
+                    titleRows[i] = 0;
+                    gap = i;
+                }
+            }
+        }
+
+        private int link(int row, int column) {
+            return slabs[row >>> ROW_BITS].getInt(column + (row & ROW_MASK) * Integer.BYTES);
+        }
+
+        private void setLink(int row, int column, int target) {
+            slabs[row >>> ROW_BITS].putInt(column + (row & ROW_MASK) * Integer.BYTES, target);
+        }
+
+        private void growTitleIndex() {
+            int[] oldHashes = titleHashes;
+            int[] oldRows = titleRows;
+            int[] oldTails = titleTails;
+            titleHashes = new int[oldHashes.length * 2];
+            titleRows = new int[oldRows.length * 2];
+            titleTails = new int[oldTails.length * 2];
+            int mask = titleRows.length - 1;
+            for (int j = 0; j < oldRows.length; j++) {
+                if (oldRows[j] != 0) {
+                    int i = TitleArena.mix(oldHashes[j]) & mask;
+                    while (titleRows[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    titleHashes[i] = oldHashes[j];
+                    titleRows[i] = oldRows[j];
+                    titleTails[i] = oldTails[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Task-Sicht auf eine Zeile. Das Erledigt-Flag wird immer aus der Zeile gelesen,
+     * damit alle Sichten auf denselben Task denselben Stand zeigen. Eine geloeschte Zeile
+     * bleibt geloescht — setCompleted() aendert sie nicht mehr. Eine kompaktierte Zeile (MOVED)
+     * leitet an den Task in der aktuellen Generation weiter.
+     */
+    private final class OffHeapTask extends Task {
+
+        private final ByteBuffer slab;
+        private final int completedOffset;
+
+        OffHeapTask(ByteBuffer slab, int completedOffset, long id, String title, LocalDateTime createdAt) {
+            super(id, title, (int) INT_COLUMN.getVolatile(slab, completedOffset) == COMPLETED, createdAt);
+            this.slab = slab;
+            this.completedOffset = completedOffset;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            int state = (int) INT_COLUMN.getVolatile(slab, completedOffset);
+            if (state == MOVED) {
+                return current().map(Task::isCompleted).orElse(false);
+            }
+            return state == COMPLETED;
+        }
+
+        @Override
+        public void setCompleted(boolean completed) {
+            int current;
+            do {
+                current = (int) INT_COLUMN.getVolatile(slab, completedOffset);
+                if (current == DELETED) {
+                    return;
+                }
+                if (current == MOVED) {
+                    current().ifPresent(task -> task.setCompleted(completed));
+                    return;
+                }
+            } while (!INT_COLUMN.compareAndSet(slab, completedOffset, current, completed ? COMPLETED : OPEN));
+        }
+
+        // Die Lesesperre wartet eine laufende Kompaktierung ab — danach steht die Zeile in table
+        private Optional<Task> current() {
+            lock.readLock().lock();
+            try {
+                return findById(getId());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Sicht auf alle beim Aufruf vorhandenen Zeilen; Tasks entstehen erst in get().
+     * Haelt Generation und Slabs vom Aufrufzeitpunkt fest, damit spaeter freigegebene oder
+     * kompaktierte Zeilen lesbar bleiben.
+     * rows == null: Zeile = Index (keine Loeschungen), sonst die Nummern der lebenden Zeilen.
+     */
+    private final class Snapshot extends AbstractList<Task> implements RandomAccess {
+
+        private final Table table;
+        private final ByteBuffer[] slabs;
+        private final int[] rows;
+        private final int size;
+
+        Snapshot(Table table, ByteBuffer[] slabs, int[] rows, int size) {
+            this.table = table;
+            this.slabs = slabs;
+            this.rows = rows;
+            this.size = size;
+        }
+
+        @Override
+        public Task get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + ", Groesse " + size);
+            }
+            return table.view(slabs, rows == null ? index : rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,369 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.repository;
+
+// Erweiterung: Lock-freies Append-Log fuer das InMemoryTaskRepository.
+// Erweiterung: Loeschen per Sentinel; vollstaendig geloeschte Chunks und Bloecke werden freigegeben.
+// Erweiterung: Verzeichnis als Ring — Slot-Nummern laufen weiter, tote Bloecke werden wiederbelegt.
+// Erweiterung: Grabsteine behalten die ID, bis ihr Chunk freigegeben wird (Cursor fuer findPage).
+
+import com.taskforge.model.Task;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-freies Append-Log von Tasks mit Loeschen und Speicherfreigabe.
+ * Angehaengt wird nur am Ende, Slot-Nummern wachsen und werden nie wiederverwendet; geloeschte
+ * Slots werden zu Grabsteinen, vollstaendig geloeschte Chunks und Bloecke werden freigegeben
+ * (Details unten).
+ *
+ * Schreiben: Jeder Schreiber reserviert per getAndIncrement einen eigenen Slot und
+ * beschreibt ihn ohne Sperre. Danach schiebt er die "published"-Grenze so weit vor,
+ * wie alle Slots davor belegt sind — auch fuer langsamere Schreiber (Helping).
+ *
+ * Lesen: Alle Slots vor der published-Grenze sind belegt. Ein Cursor laeuft in Slot-Reihenfolge
+ * darueber und ueberspringt geloeschte Slots.
+ *
+ * Loeschen: Der Slot wird per CAS durch einen Grabstein ersetzt, der nur noch die ID kennt — der
+ * Task selbst ist damit fuer den GC frei, die Position des geloeschten Tasks bleibt auffindbar.
+ *
+ * Freigabe: Jeder Block zaehlt die geloeschten Slots je Chunk. Ist ein Chunk komplett geloescht,
+ * ersetzt ihn der gemeinsame DEAD_CHUNK, und das Log meldet jeden seiner Grabsteine einmal an den
+ * ReleaseListener (z.B. um den ID-Index nachzufuehren). Ist ein ganzer Block tot, ersetzt ihn ein
+ * toter Block, der nur noch seine Nummer kennt. Slot-Nummern werden nie wiederverwendet, die
+ * Einfuegereihenfolge bleibt erhalten — unter stetigem Anlegen und Loeschen bleibt trotzdem nur
+ * der Speicher der Chunks mit lebenden Tasks belegt.
+ *
+ * Speicher: drei Ebenen (Verzeichnis -> Block -> Chunk), die nur bei Bedarf angelegt
+ * und nie verschoben werden. Dadurch gibt es kein gleichzeitiges Umkopieren beim Wachsen.
+ *
+ * Das Verzeichnis ist ein Ring: Block n liegt auf Platz n % DIRECTORY_SIZE, Slot-Nummern (long)
+ * wachsen unbegrenzt weiter. Jeder Block kennt seine Nummer; ein toter Block macht seinen Platz
+ * fuer den Block eine Runde spaeter frei. Leser erkennen an der Nummer, ob der Platz noch ihren
+ * Block enthaelt — steht dort schon ein spaeterer, war ihr Slot geloescht. Begrenzt ist damit
+ * nur die Spanne zwischen dem aeltesten lebenden und dem neuesten Slot (CAPACITY), nicht die
+ * Zahl der Einfuegungen insgesamt.
+ */
+final class TaskLog {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int BLOCK_BITS = 10;
+    private static final int DIRECTORY_SIZE = 4096;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    /** Maximaler Abstand zwischen aeltestem lebendem und neuestem Slot (ca. 4 Mrd.). */
+    static final long CAPACITY = (long) DIRECTORY_SIZE << (BLOCK_BITS + CHUNK_BITS);
+
+    /** Inhalt eines geloeschten Slots: nur noch die ID — wird nie nach aussen gegeben. */
+    private static final class Tombstone extends Task {
+        Tombstone(long id) {
+            super(id, "", false, null);
+        }
+    }
+
+    /** Inhalt der Slots toter Chunks und Bloecke, deren Grabsteine schon gemeldet sind. */
+    private static final Task DELETED = new Tombstone(-1);
+
+    /**
+     * Empfaengt die Grabsteine eines freigegebenen Chunks — aufgerufen vom letzten Loescher.
+     */
+    @FunctionalInterface
+    interface ReleaseListener {
+        void released(long id, long slot);
+    }
+
+    private static final VarHandle TASKS = MethodHandles.arrayElementVarHandle(Task[].class);
+    private static final VarHandle CHUNKS = MethodHandles.arrayElementVarHandle(Task[][].class);
+    private static final VarHandle BLOCKS = MethodHandles.arrayElementVarHandle(Block[].class);
+
+    // Ein Block: Nummer + Chunks + Anzahl geloeschter Slots je Chunk + Anzahl toter Chunks.
+    // Ein toter Block behaelt nur seine Nummer (chunks == null).
+    private static final class Block {
+        final long number;
+        final Task[][] chunks;
+        final AtomicIntegerArray removed;
+        final AtomicInteger deadChunks;
+
+        Block(long number, boolean dead) {
+            this.number = number;
+            this.chunks = dead ? null : new Task[BLOCK_SIZE][];
+            this.removed = dead ? null : new AtomicIntegerArray(BLOCK_SIZE);
+            this.deadChunks = dead ? null : new AtomicInteger();
+        }
+
+        boolean isDead() {
+            return chunks == null;
+        }
+    }
+
+    private static final Task[] DEAD_CHUNK = new Task[CHUNK_SIZE];
+
+    static {
+        Arrays.fill(DEAD_CHUNK, DELETED);
+    }
+
+    private final Block[] directory = new Block[DIRECTORY_SIZE];
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final ReleaseListener releaseListener;
+
+    TaskLog(ReleaseListener releaseListener) {
+        this.releaseListener = releaseListener;
+    }
+
+    /**
+     * Haengt einen Task an.
+     *
+     * @return Slot-Nummer (Position in Einfuegereihenfolge)
+     */
+    long append(Task task) {
+        long slot = claim();
+        store(slot, task);
+        return slot;
+    }
+
+    /**
+     * Reserviert den naechsten Slot. Er wird erst mit store() sichtbar — dazwischen kann der
+     * Aufrufer z.B. einen Index auf die Slot-Nummer anlegen, bevor Leser den Task sehen.
+     */
+    long claim() {
+        checkRoom(claimed.get() + 1);
+        return claimed.getAndIncrement();
+    }
+
+    /**
+     * Reserviert count aufeinanderfolgende Slots mit einer einzigen atomaren Operation.
+     *
+     * @return erster reservierter Slot
+     */
+    long claim(int count) {
+        checkRoom(claimed.get() + count);
+        return claimed.getAndAdd(count);
+    }
+
+    /**
+     * Wirft, wenn der Ring bis zum Slot end (exklusiv) auf einen noch lebenden Block einer
+     * frueheren Runde treffen wuerde. Die Pruefung vor dem Reservieren haelt das Log benutzbar:
+     * eine reservierte, nie belegte Luecke wuerde die published-Grenze fuer immer anhalten.
+     */
+    private void checkRoom(long end) {
+        long last = (end - 1) >>> (BLOCK_BITS + CHUNK_BITS);
+        Block block = (Block) BLOCKS.getAcquire(directory, (int) (last % DIRECTORY_SIZE));
+        if (block != null && block.number < last && !block.isDead()) {
+            throw new IllegalStateException("TaskLog ist voll (" + CAPACITY + " Slots zwischen aeltestem und neuestem Task)");
+        }
+    }
+
+    /**
+     * Belegt mit claim(int) reservierte Slots ab firstSlot und veroeffentlicht sie gemeinsam.
+     */
+    void storeAll(long firstSlot, List<Task> batch) {
+        long slot = firstSlot;
+        for (Task task : batch) {
+            TASKS.setRelease(chunk(slot), (int) slot & CHUNK_MASK, task);
+            slot++;
+        }
+        publish();
+    }
+
+    /**
+     * Belegt einen mit claim() reservierten Slot und veroeffentlicht ihn.
+     */
+    void store(long slot, Task task) {
+        TASKS.setRelease(chunk(slot), (int) slot & CHUNK_MASK, task);
+        publish();
+    }
+
+    /**
+     * Loescht den Task aus seinem Slot, sofern dort noch genau dieser Task steht.
+     *
+     * @return false, wenn der Slot leer, bereits geloescht oder anders belegt ist
+     */
+    boolean delete(long slot, Task expected) {
+        if (slot < 0 || expected == null) {
+            return false;
+        }
+        long number = slot >>> (BLOCK_BITS + CHUNK_BITS);
+        int d = (int) (number % DIRECTORY_SIZE);
+        int b = (int) (slot >>> CHUNK_BITS) & BLOCK_MASK;
+        Block block = (Block) BLOCKS.getAcquire(directory, d);
+        if (block == null || block.number != number || block.isDead()) {
+            return false;
+        }
+        Task[] chunk = (Task[]) CHUNKS.getAcquire(block.chunks, b);
+        if (chunk == null || !TASKS.compareAndSet(chunk, (int) slot & CHUNK_MASK, expected, new Tombstone(expected.getId()))) {
+            return false;
+        }
+        deleted.incrementAndGet();
+        // Der letzte Loescher eines Chunks gibt ihn frei — jeder Slot wird genau einmal geloescht
+        if (block.removed.incrementAndGet(b) == CHUNK_SIZE) {
+            CHUNKS.setRelease(block.chunks, b, DEAD_CHUNK);
+            if (block.deadChunks.incrementAndGet() == BLOCK_SIZE) {
+                BLOCKS.setRelease(directory, d, new Block(number, true));
+            }
+            long first = slot & ~(long) CHUNK_MASK;
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                releaseListener.released(((Task) TASKS.getAcquire(chunk, i)).getId(), first + i);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Schiebt die published-Grenze ueber alle lueckenlos belegten Slots.
+     * Trifft sie auf einen noch leeren Slot, uebernimmt dessen Schreiber das Weiterschieben.
+     */
+    private void publish() {
+        long p = published.get();
+        while (p < claimed.get() && read(p) != null) {
+            if (published.compareAndSet(p, p + 1)) {
+                p++;
+            } else {
+                p = published.get();
+            }
+        }
+    }
+
+    /**
+     * Liefert den Chunk fuer einen Slot und legt fehlende Ebenen per CAS an. Ein toter Block
+     * einer frueheren Runde wird dabei ersetzt.
+     * Tote Chunks/Bloecke werden nie beschrieben: alle ihre Slots sind bereits belegt gewesen.
+     */
+    private Task[] chunk(long slot) {
+        long number = slot >>> (BLOCK_BITS + CHUNK_BITS);
+        int d = (int) (number % DIRECTORY_SIZE);
+        int b = (int) (slot >>> CHUNK_BITS) & BLOCK_MASK;
+
+        Block block = (Block) BLOCKS.getAcquire(directory, d);
+        while (block == null || block.number != number) {
+            if (block != null && !block.isDead()) {
+                // checkRoom() hat das verhindert, solange nicht zwei Schreiber gleichzeitig ans Limit stossen
+                throw new IllegalStateException("TaskLog ist voll (" + CAPACITY + " Slots zwischen aeltestem und neuestem Task)");
+            }
+            Block created = new Block(number, false);
+            Block witness = (Block) BLOCKS.compareAndExchange(directory, d, block, created);
+            block = witness == block ? created : witness;
+        }
+        Task[] chunk = (Task[]) CHUNKS.getAcquire(block.chunks, b);
+        if (chunk == null) {
+            Task[] created = new Task[CHUNK_SIZE];
+            Task[] witness = (Task[]) CHUNKS.compareAndExchange(block.chunks, b, null, created);
+            chunk = witness == null ? created : witness;
+        }
+        return chunk;
+    }
+
+    // Roher Slot-Inhalt: null (noch leer), ein Grabstein oder der Task
+    private Task read(long slot) {
+        long number = slot >>> (BLOCK_BITS + CHUNK_BITS);
+        Block block = (Block) BLOCKS.getAcquire(directory, (int) (number % DIRECTORY_SIZE));
+        if (block == null || block.number < number) {
+            return null; // Block dieser Runde noch nicht angelegt
+        }
+        if (block.number > number || block.isDead()) {
+            return DELETED; // Platz schon fuer eine spaetere Runde wiederbelegt
+        }
+        Task[] chunk = (Task[]) CHUNKS.getAcquire(block.chunks, (int) (slot >>> CHUNK_BITS) & BLOCK_MASK);
+        return chunk == null ? null : (Task) TASKS.getAcquire(chunk, (int) slot & CHUNK_MASK);
+    }
+
+    /**
+     * Liefert den Task in einem Slot oder null, solange der Slot noch nicht belegt ist
+     * oder der Task geloescht wurde.
+     */
+    Task get(long slot) {
+        if (slot < 0) {
+            return null;
+        }
+        Task task = read(slot);
+        return task instanceof Tombstone ? null : task;
+    }
+
+    /**
+     * true, wenn der Task im Slot geloescht wurde (auch wenn sein Chunk schon freigegeben ist).
+     */
+    boolean isDeleted(long slot) {
+        return slot >= 0 && read(slot) instanceof Tombstone;
+    }
+
+    /** Anzahl der veroeffentlichten, nicht geloeschten Tasks. */
+    long size() {
+        return published.get() - deleted.get();
+    }
+
+    /**
+     * Kopie aller bis jetzt veroeffentlichten, nicht geloeschten Tasks.
+     * Spaeter angehaengte oder geloeschte Tasks aendern sie nicht mehr.
+     */
+    List<Task> snapshot() {
+        List<Task> live = new ArrayList<>((int) Math.min(Math.max(size(), 0), Integer.MAX_VALUE - 8));
+        cursor(0).forEachRemaining(live::add);
+        return live;
+    }
+
+    /**
+     * Durchlaeuft die lebenden Tasks ab Slot from bis zur beim Aufruf gueltigen published-Grenze.
+     * Tote Chunks und Bloecke werden am Stueck uebersprungen.
+     */
+    Iterator<Task> cursor(long from) {
+        return new Cursor(Math.max(0, from), published.get());
+    }
+
+    private final class Cursor implements Iterator<Task> {
+
+        private long slot;
+        private final long end;
+        private Task next;
+
+        Cursor(long from, long end) {
+            this.slot = from;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && slot < end) {
+                long number = slot >>> (BLOCK_BITS + CHUNK_BITS);
+                Block block = (Block) BLOCKS.getAcquire(directory, (int) (number % DIRECTORY_SIZE));
+                // Vor end ist jeder Slot belegt: ein fremder Block hier ist eine spaetere Runde
+                if (block.number != number || block.isDead()) {
+                    slot = (number + 1) << (BLOCK_BITS + CHUNK_BITS);
+                    continue;
+                }
+                Task[] chunk = (Task[]) CHUNKS.getAcquire(block.chunks, (int) (slot >>> CHUNK_BITS) & BLOCK_MASK);
+                if (chunk == DEAD_CHUNK) {
+                    slot = ((slot >>> CHUNK_BITS) + 1) << CHUNK_BITS;
+                    continue;
+                }
+                Task task = (Task) TASKS.getAcquire(chunk, (int) slot & CHUNK_MASK);
+                slot++;
+                if (!(task instanceof Tombstone)) {
+                    next = task;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Task task = next;
+            next = null;
+            return task;
+        }
+    }
+}
@@ -3,11 +3,18 @@ package com.taskforge.repository;
 
 // Uebung 3: Interface — extrahiert aus der urspruenglichen TaskRepository-Klasse.
 // Ermoeglicht Qualifier-basierte Auswahl und ist Voraussetzung fuer den Decorator (Uebung 7).
+// Erweiterung: Cursor-basiertes Blaettern (findPage) und lazy Stream fuer grosse Bestaende.
+// Erweiterung: Batch-Einfuegen (addAll).
+// Erweiterung: Direkter Zugriff ueber die Task-ID (findById).
+// Erweiterung: Loeschen (delete).
+// Erweiterung: Erledigen ueber das Repository (complete), damit die Aenderung gespeichert wird.
 
 import com.taskforge.model.Task;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Definiert die Schnittstelle fuer Task-Persistenz.
@@ -17,7 +24,51 @@ public interface TaskRepository {
 
     void add(Task task);
 
+    /**
+     * Fuegt mehrere Tasks in einem Schritt hinzu (Reihenfolge wie in der Collection).
+     * Implementierungen zahlen Synchronisations- und I/O-Kosten einmal pro Batch.
+     */
+    void addAll(Collection<Task> tasks);
+
     List<Task> findAll();
 
     Optional<Task> findByTitle(String title);
+
+    /**
+     * Sucht einen Task ueber seine ID. Bei mehrfach vergebener ID gilt der zuerst gespeicherte Task.
+     */
+    Optional<Task> findById(long id);
+
+    /**
+     * Markiert den Task mit der ID als erledigt. Persistente Implementierungen sichern die
+     * Aenderung (FileTaskRepository: Datensatz im Journal) — Task.setCompleted allein tut das nicht.
+     *
+     * @return der erledigte Task oder leer, wenn es keinen Task mit dieser ID (mehr) gibt
+     */
+    Optional<Task> complete(long id);
+
+    /**
+     * Entfernt den Task mit der ID aus dem Bestand und aus allen Indizes.
+     *
+     * @return der entfernte Task oder leer, wenn es keinen Task mit dieser ID (mehr) gibt
+     */
+    Optional<Task> delete(long id);
+
+    /**
+     * Liefert bis zu limit Tasks, die in Einfuegereihenfolge auf den Task mit der ID afterId folgen.
+     * Cursor fuer die naechste Seite ist die ID des letzten Tasks der aktuellen Seite;
+     * afterId &lt;= 0 beginnt beim ersten Task.
+     * Wurde der Task mit afterId inzwischen geloescht, geht es an seiner bisherigen Position in der
+     * Einfuegereihenfolge weiter — Loeschen waehrend des Blaetterns bricht es nicht ab. Dazu merkt
+     * sich das Repository die Position geloeschter Tasks, bis es ihren Speicher kompaktiert bzw.
+     * freigibt. Ist afterId danach (oder ueberhaupt) unbekannt, beginnt die Seite wie bei
+     * afterId &lt;= 0 beim ersten Task: Tasks koennen dann doppelt kommen, aber keiner fehlt.
+     */
+    List<Task> findPage(long afterId, int limit);
+
+    /**
+     * Lazy Stream ueber alle Tasks in Einfuegereihenfolge — verarbeitet grosse Bestaende,
+     * ohne sie vorab vollstaendig zu kopieren.
+     */
+    Stream<Task> stream();
 }
@@ -0,0 +1,147 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.repository;
+
+// Erweiterung: Deduplizierte UTF-8-Titel ausserhalb des Java-Heaps (OffHeapTaskRepository).
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Ablage fuer Task-Titel in Direct-ByteBuffer-Slabs zu je 1 MB.
+ * Jeder unterschiedliche Titel liegt genau einmal als [int Laenge][UTF-8-Bytes] im Arena-Speicher;
+ * gleiche Titel teilen sich dieselbe Adresse (Slab-Nummer * 1 MB + Offset).
+ *
+ * Der Deduplizierungs-Index besteht nur aus zwei primitiven Arrays (Hash, Adresse) —
+ * pro Titel entsteht kein einziges Objekt auf dem Heap.
+ *
+ * Schreiben (intern) nur unter der Schreibsperre des Repositorys. Lesen (read) ist ohne Sperre
+ * moeglich fuer alle Adressen, die vor einem volatile-Schreibzugriff des Repositorys vergeben wurden.
+ */
+final class TitleArena {
+
+    private static final int SLAB_BITS = 20;
+    private static final int SLAB_BYTES = 1 << SLAB_BITS;
+    private static final int SLAB_MASK = SLAB_BYTES - 1;
+
+    /** Laengster speicherbarer Titel in UTF-8-Bytes. */
+    static final int MAX_TITLE_BYTES = SLAB_BYTES - Integer.BYTES;
+
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+    private int writeOffset = SLAB_BYTES; // erzwingt beim ersten intern() einen neuen Slab
+
+    // Open Addressing: hashes[i] / addresses[i], Adresse -1 = frei
+    private int[] hashes = new int[1024];
+    private long[] addresses = newTable(1024);
+    private int distinct;
+
+    /**
+     * Liefert die Adresse des Titels und legt ihn nur an, wenn er noch nicht vorhanden ist.
+     */
+    long intern(String title) {
+        byte[] bytes = title.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_TITLE_BYTES) {
+            throw new IllegalArgumentException("Titel ist zu lang fuer die Off-Heap-Ablage: "
+                    + bytes.length + " Bytes");
+        }
+        int hash = Arrays.hashCode(bytes);
+        int mask = addresses.length - 1;
+        int i = mix(hash) & mask;
+        while (addresses[i] != -1) {
+            if (hashes[i] == hash && matches(addresses[i], bytes)) {
+                return addresses[i];
+            }
+            i = (i + 1) & mask;
+        }
+        long address = append(bytes);
+        hashes[i] = hash;
+        addresses[i] = address;
+        if (++distinct * 2 > addresses.length) {
+            grow();
+        }
+        return address;
+    }
+
+    /**
+     * Erzeugt den Titel-String zu einer Adresse (nur bei Bedarf, z.B. fuer eine Task-Sicht).
+     */
+    String read(long address) {
+        ByteBuffer slab = slabs[(int) (address >>> SLAB_BITS)];
+        int offset = (int) address & SLAB_MASK;
+        byte[] bytes = new byte[slab.getInt(offset)];
+        slab.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean matches(long address, byte[] bytes) {
+        ByteBuffer slab = slabs[(int) (address >>> SLAB_BITS)];
+        int offset = (int) address & SLAB_MASK;
+        if (slab.getInt(offset) != bytes.length) {
+            return false;
+        }
+        offset += Integer.BYTES;
+        for (int i = 0; i < bytes.length; i++) {
+            if (slab.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long append(byte[] bytes) {
+        int needed = Integer.BYTES + bytes.length;
+        ByteBuffer[] current = slabs;
+        if (writeOffset + needed > SLAB_BYTES) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = ByteBuffer.allocateDirect(SLAB_BYTES);
+            writeOffset = 0;
+        }
+        ByteBuffer slab = current[current.length - 1];
+        slab.putInt(writeOffset, bytes.length);
+        slab.put(writeOffset + Integer.BYTES, bytes);
+        long address = ((long) (current.length - 1) << SLAB_BITS) | writeOffset;
+        writeOffset += needed;
+        slabs = current;
+        return address;
+    }
+
+    private void grow() {
+        int[] oldHashes = hashes;
+        long[] oldAddresses = addresses;
+        hashes = new int[oldAddresses.length * 2];
+        addresses = newTable(oldAddresses.length * 2);
+        int mask = addresses.length - 1;
+        for (int j = 0; j < oldAddresses.length; j++) {
+            if (oldAddresses[j] != -1) {
+                int i = mix(oldHashes[j]) & mask;
+                while (addresses[i] != -1) {
+                    i = (i + 1) & mask;
+                }
+                hashes[i] = oldHashes[j];
+                addresses[i] = oldAddresses[j];
+            }
+        }
+    }
+
+    private static long[] newTable(int capacity) {
+        long[] table = new long[capacity];
+        Arrays.fill(table, -1);
+        return table;
+    }
+
+    // Verteilt auch schwache hashCode-Werte gleichmaessig ueber die Tabelle
+    static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** Anzahl unterschiedlicher Titel. */
+    int distinctTitles() {
+        return distinct;
+    }
+
+    /** Reservierter Off-Heap-Speicher in Bytes. */
+    long offHeapBytes() {
+        return (long) slabs.length * SLAB_BYTES;
+    }
+}
@@ -11,8 +11,10 @@ import jakarta.decorator.Decorator;
 import jakarta.decorator.Delegate;
 import jakarta.enterprise.inject.Any;
 import jakarta.inject.Inject;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Validierender Decorator fuer das TaskRepository.
@@ -35,6 +37,22 @@ public abstract class ValidatingTaskRepository implements TaskRepository {
 
     @Override
     public void add(Task task) {
+        validate(task);
+        System.out.println("[Validator] Task-Titel validiert: \"" + task.getTitle() + "\"");
+        delegate.add(task);
+    }
+
+    @Override
+    public void addAll(Collection<Task> tasks) {
+        // Ein Durchlauf ueber den ganzen Batch — ein ungueltiger Titel verwirft alle
+        for (Task task : tasks) {
+            validate(task);
+        }
+        System.out.println("[Validator] " + tasks.size() + " Task-Titel validiert (Batch)");
+        delegate.addAll(tasks);
+    }
+
+    private void validate(Task task) {
         // Validierung: Titel darf nicht null oder leer sein
         if (task.getTitle() == null || task.getTitle().isBlank()) {
             throw new IllegalArgumentException(
@@ -47,9 +65,6 @@ public abstract class ValidatingTaskRepository implements TaskRepository {
                     "Titel darf maximal 100 Zeichen lang sein! (aktuell: "
                             + task.getTitle().length() + ")");
         }
-
-        System.out.println("[Validator] Task-Titel validiert: \"" + task.getTitle() + "\"");
-        delegate.add(task);
     }
 
     // findAll() und findByTitle() werden automatisch an delegate weitergeleitet,
@@ -64,4 +79,44 @@ public abstract class ValidatingTaskRepository implements TaskRepository {
     public Optional<Task> findByTitle(String title) {
         return delegate.findByTitle(title);
     }
+
+    @Override
+    public Optional<Task> findById(long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<Task> complete(long id) {
+        // Validierung: IDs werden ab 1 vergeben
+        if (id <= 0) {
+            throw new IllegalArgumentException(
+                    "Task-ID muss positiv sein! (aktuell: " + id + ")");
+        }
+        return delegate.complete(id);
+    }
+
+    @Override
+    public Optional<Task> delete(long id) {
+        // Validierung: IDs werden ab 1 vergeben
+        if (id <= 0) {
+            throw new IllegalArgumentException(
+                    "Task-ID muss positiv sein! (aktuell: " + id + ")");
+        }
+        return delegate.delete(id);
+    }
+
+    @Override
+    public List<Task> findPage(long afterId, int limit) {
+        // Validierung: Seitengroesse muss positiv sein
+        if (limit <= 0) {
+            throw new IllegalArgumentException(
+                    "Seitengroesse muss positiv sein! (aktuell: " + limit + ")");
+        }
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<Task> stream() {
+        return delegate.stream();
+    }
 }
@@ -0,0 +1,50 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.service;
+
+// Erweiterung: Bindet die ID-Vergabe (IdAllocator) beim Start an eine dauerhafte Hochwassermarke.
+
+import com.taskforge.model.Task;
+import com.taskforge.util.IdAllocator;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.apache.deltaspike.core.api.config.ConfigProperty;
+
+import java.nio.file.Path;
+
+/**
+ * Sorgt dafuer, dass Task-IDs ueber Neustarts hinweg eindeutig bleiben.
+ * Beim Start des ApplicationScope wird die Hochwassermarke aus app.storage.dir/task-ids.hwm
+ * gelesen; die Vergabe setzt dahinter fort.
+ *
+ * Konfiguration (apache-deltaspike.properties):
+ *   app.storage.dir   — Verzeichnis der Markendatei (wie beim FileTaskRepository)
+ *   app.ids.blockSize — IDs, die ein Thread ohne Synchronisation vergibt (hoechstens; jeder
+ *                       Thread beginnt mit 16 und verdoppelt). Die Marke wird alle 64 * blockSize
+ *                       reservierten IDs mit fsync neu geschrieben, im Thread, der sie ueberschreitet.
+ *
+ * @ApplicationScoped + @Observes @Initialized — wird beim Container-Start aktiv,
+ * noch bevor der erste Task erzeugt wird.
+ */
+@ApplicationScoped
+public class IdAllocationService {
+
+    static final String MARK_FILE = "task-ids.hwm";
+
+    @Inject
+    @ConfigProperty(name = "app.storage.dir", defaultValue = "data")
+    private String storageDir;
+
+    @Inject
+    @ConfigProperty(name = "app.ids.blockSize", defaultValue = "1024")
+    private Integer blockSize;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        IdAllocator allocator = Task.idAllocator();
+        allocator.attach(IdAllocator.HighWaterMark.file(Path.of(storageDir, MARK_FILE)), blockSize);
+        System.out.println("[IdAllocationService] Task-IDs ab " + allocator.getNextBlockStart()
+                + " (Bloecke zu " + blockSize + ")");
+    }
+}
@@ -0,0 +1,281 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.service;
+
+// Erweiterung: Baut ein TaskRepository und die TaskStatistics aus dem Event-Log neu auf —
+// partitioniert nach Task-ID und parallel auf allen Kernen.
+// Erweiterung: Ins Repository wird erst geschrieben, wenn Lesen und alle Partitionen gelungen sind.
+
+import com.taskforge.event.TaskEvent;
+import com.taskforge.event.TaskEventBatch;
+import com.taskforge.model.Task;
+import com.taskforge.repository.TaskRepository;
+import com.taskforge.storage.TaskEventCodec;
+import com.taskforge.storage.TaskEventLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Spielt ein TaskEventLog nach.
+ *
+ * Ablauf:
+ *   1. Ein Leser prueft Rahmen und Pruefsumme jedes Datensatzes und kopiert ihn unveraendert
+ *      in den Puffer der Partition id % partitions. Volle Puffer (256 KB) gehen ueber eine
+ *      kurze Queue an den Worker der Partition — der Speicherbedarf bleibt begrenzt.
+ *   2. Jeder Worker dekodiert seine Datensaetze, faltet sie zum Endzustand je Task
+ *      (erstellt, erledigt, geloescht) und meldet sie je Puffer als TaskEventBatch an die
+ *      TaskStatistics (thread-sicher, zaehlt zum Original-Zeitstempel).
+ *   3. Erst wenn das Log fehlerfrei gelesen ist und jede Partition erfolgreich gefaltet hat,
+ *      uebergeben die Worker ihre nicht geloeschten Tasks mit addAll() an das Ziel-Repository —
+ *      parallel, die Repositories sind fuer parallele Schreiber ausgelegt. Scheitert vorher etwas,
+ *      bleibt das Repository unveraendert (die TaskStatistics haben die bis dahin gefalteten
+ *      Events dann schon gezaehlt).
+ *
+ * Da alle Events einer Task-ID in derselben Partition landen, bleibt deren Reihenfolge erhalten
+ * und die Worker brauchen keinerlei Abstimmung untereinander.
+ *
+ * Der Erstellzeitpunkt eines Tasks ist der Zeitstempel seines CREATED-Events. Fehlt dieses
+ * (Log erst spaeter eingeschaltet), gilt das erste Event des Tasks als Erstellung.
+ * Danach wird die ID-Vergabe hinter die groesste nachgespielte ID gesetzt.
+ */
+public final class TaskEventReplay {
+
+    private static final int CHUNK_BYTES = 256 * 1024;
+    private static final int QUEUE_CHUNKS = 4;
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    /**
+     * Ergebnis eines Replays.
+     */
+    public static final class Result {
+        private final long events;
+        private final long tasks;
+        private final int partitions;
+        private final long elapsedMillis;
+
+        Result(long events, long tasks, int partitions, long elapsedMillis) {
+            this.events = events;
+            this.tasks = tasks;
+            this.partitions = partitions;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /** Nachgespielte Events. */
+        public long getEvents() {
+            return events;
+        }
+
+        /** Ins Repository uebernommene (nicht geloeschte) Tasks. */
+        public long getTasks() {
+            return tasks;
+        }
+
+        public int getPartitions() {
+            return partitions;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d Events -> %d Tasks in %dms (%d Partitionen)",
+                    events, tasks, elapsedMillis, partitions);
+        }
+    }
+
+    private TaskEventReplay() {
+    }
+
+    /**
+     * Baut target (und, falls nicht null, statistics) aus dem Log auf.
+     *
+     * @param partitions Anzahl paralleler Worker; &lt;= 0 = Anzahl der Prozessoren
+     */
+    public static Result replay(Path logFile, TaskRepository target, TaskStatistics statistics,
+                                int partitions) throws IOException {
+        int p = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        long start = System.nanoTime();
+
+        List<BlockingQueue<ByteBuffer>> queues = new ArrayList<>(p);
+        ExecutorService workers = Executors.newFixedThreadPool(p, r -> {
+            Thread thread = new Thread(r, "taskforge-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<Partition>> results = new ArrayList<>(p);
+        try {
+            for (int i = 0; i < p; i++) {
+                BlockingQueue<ByteBuffer> queue = new ArrayBlockingQueue<>(QUEUE_CHUNKS);
+                queues.add(queue);
+                results.add(workers.submit(() -> new Partition().run(queue, statistics)));
+            }
+
+            ByteBuffer[] chunks = new ByteBuffer[p];
+            try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+                TaskEventLog.read(channel, (buffer, recordStart, recordBytes) -> {
+                    int partition = (int) Math.floorMod(TaskEventCodec.id(buffer, recordStart), (long) p);
+                    ByteBuffer chunk = chunks[partition];
+                    if (chunk == null || chunk.remaining() < recordBytes) {
+                        if (chunk != null) {
+                            hand(queues.get(partition), chunk.flip());
+                        }
+                        chunk = ByteBuffer.allocate(Math.max(CHUNK_BYTES, recordBytes));
+                        chunks[partition] = chunk;
+                    }
+                    chunk.put(buffer.slice(recordStart, recordBytes));
+                });
+            } finally {
+                for (int i = 0; i < p; i++) {
+                    if (chunks[i] != null) {
+                        hand(queues.get(i), chunks[i].flip());
+                    }
+                    hand(queues.get(i), END);
+                }
+            }
+
+            long events = 0;
+            long tasks = 0;
+            long maxId = 0;
+            List<Partition> partitionResults = new ArrayList<>(p);
+            for (Future<Partition> result : results) {
+                Partition partition = result.get();
+                partitionResults.add(partition);
+                events += partition.events;
+                tasks += partition.alive.size();
+                maxId = Math.max(maxId, partition.maxId);
+            }
+            // Alle Partitionen fertig: erst jetzt das Repository fuellen
+            List<Future<?>> adds = new ArrayList<>(p);
+            for (Partition partition : partitionResults) {
+                adds.add(workers.submit(() -> target.addAll(partition.alive)));
+            }
+            for (Future<?> add : adds) {
+                add.get();
+            }
+            if (maxId > 0) {
+                Task.idAllocator().advancePast(maxId);
+            }
+            return new Result(events, tasks, p, (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Replay von " + logFile + " unterbrochen", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Replay von " + logFile + " fehlgeschlagen", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static void hand(BlockingQueue<ByteBuffer> queue, ByteBuffer chunk) {
+        try {
+            queue.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay unterbrochen", e);
+        }
+    }
+
+    // Endzustand eines Tasks innerhalb einer Partition
+    private static final class State {
+        Task task;
+        boolean created;
+        boolean deleted;
+    }
+
+    // Zustand eines Workers — wird nur von dessen Thread benutzt
+    private static final class Partition {
+        private final Map<Long, State> states = new HashMap<>();
+        long events;
+        long maxId;
+        List<Task> alive = List.of();
+        private Throwable failure;
+
+        Partition run(BlockingQueue<ByteBuffer> queue, TaskStatistics statistics) throws Exception {
+            ByteBuffer chunk;
+            while ((chunk = queue.take()) != END) {
+                if (failure != null) {
+                    continue; // weiter leeren, damit der Leser nicht blockiert
+                }
+                try {
+                    fold(chunk, statistics);
+                } catch (RuntimeException | Error e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Partition fehlgeschlagen", failure);
+            }
+            alive = new ArrayList<>(states.size());
+            for (State state : states.values()) {
+                if (!state.deleted) {
+                    alive.add(state.task);
+                }
+            }
+            states.clear();
+            return this;
+        }
+
+        private void fold(ByteBuffer chunk, TaskStatistics statistics) {
+            List<TaskEvent> batch = statistics != null ? new ArrayList<>() : null;
+            while (chunk.hasRemaining()) {
+                int recordStart = chunk.position();
+                long id = TaskEventCodec.id(chunk, recordStart);
+                long timestamp = TaskEventCodec.timestamp(chunk, recordStart);
+                TaskEvent.Action action = TaskEventCodec.action(chunk, recordStart);
+
+                State state = states.get(id);
+                if (state == null) {
+                    state = new State();
+                    state.task = new Task(id, TaskEventCodec.title(chunk, recordStart),
+                            action == TaskEvent.Action.COMPLETED, toLocal(timestamp));
+                    states.put(id, state);
+                    maxId = Math.max(maxId, id);
+                }
+                switch (action) {
+                    case CREATED -> {
+                        // Ein Aenderungs-Event eines anderen Threads kann vor CREATED im Log
+                        // stehen — Erstellzeit trotzdem vom CREATED-Record
+                        if (!state.created && !state.task.getCreatedAt().equals(toLocal(timestamp))) {
+                            state.task = new Task(id, state.task.getTitle(), state.task.isCompleted(),
+                                    toLocal(timestamp));
+                        }
+                        state.created = true;
+                    }
+                    case COMPLETED -> state.task.setCompleted(true);
+                    case DELETED -> state.deleted = true;
+                }
+                if (batch != null) {
+                    batch.add(new TaskEvent(state.task, action, timestamp));
+                }
+                events++;
+                chunk.position(recordStart + TaskEventCodec.HEADER_BYTES + chunk.getInt(recordStart));
+            }
+            if (batch != null && !batch.isEmpty()) {
+                statistics.onTaskEvents(new TaskEventBatch(batch));
+            }
+        }
+
+        // Gleiche Zeitzone wie LocalDateTime.now() beim Erstellen eines Tasks
+        private static LocalDateTime toLocal(long epochMillis) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+        }
+    }
+}
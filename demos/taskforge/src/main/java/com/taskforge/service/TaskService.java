@@ -7,24 +7,31 @@ package com.taskforge.service;
 // Uebung 5: Event<TaskEvent> fuer lose gekoppelte Kommunikation.
 // Uebung 8: @Service Stereotype ersetzt direkte Annotationen.
 // Uebung 9: @ConfigProperty (DeltaSpike) ersetzt eigenen ConfigProducer.
+// Erweiterung: createTasks — Batch-Erzeugung ueber TaskRepository.addAll.
+// Erweiterung: Events gehen ueber den TaskEventDispatcher (synchron oder asynchron).
+// Erweiterung: deleteTask — Loeschen per ID mit DELETED-Event.
+// Erweiterung: completeTask erledigt ueber TaskRepository.complete (persistente Repositories sichern das).
 
 import com.taskforge.event.TaskEvent;
+import com.taskforge.event.TaskEventDispatcher;
 import com.taskforge.model.Task;
 import com.taskforge.qualifier.InMemory;
 import com.taskforge.repository.TaskRepository;
 import com.taskforge.stereotype.Service;
 
-import jakarta.enterprise.event.Event;
 import jakarta.enterprise.inject.Any;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import org.apache.deltaspike.core.api.config.ConfigProperty;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 /**
  * Zentrale Geschaeftslogik der TaskForge-Anwendung.
- * Orchestriert Task-Erzeugung, -Abschluss und -Auflistung.
+ * Orchestriert Task-Erzeugung, -Abschluss, -Loeschung und -Auflistung.
  *
  * @Service — Stereotype (beinhaltet @Dependent, @Logged, @Timed).
  */
@@ -36,9 +43,10 @@ public class TaskService {
     @InMemory
     private TaskRepository repository;
 
-    // Uebung 5: Event-Injection fuer lose Kopplung
+    // Uebung 5: Event-Injection fuer lose Kopplung —
+    // der Dispatcher feuert per Event<TaskEvent>, je nach app.events.mode synchron oder asynchron
     @Inject
-    private Event<TaskEvent> taskEvent;
+    private TaskEventDispatcher taskEvent;
 
     // Uebung 9: DeltaSpike @ConfigProperty statt eigenem ConfigProducer
     @Inject
@@ -56,30 +64,59 @@ public class TaskService {
     public Task createTask(String title) {
         Task task = new Task(title);
         repository.add(task);
-        taskEvent.fire(new TaskEvent(task, TaskEvent.Action.CREATED));
+        taskEvent.dispatch(new TaskEvent(task, TaskEvent.Action.CREATED));
         return task;
     }
 
+    /**
+     * Erstellt mehrere Tasks in einem Aufruf und feuert je Task ein CREATED-Event.
+     * Interceptors, Decorator-Validierung und Repository-I/O laufen nur einmal pro Batch.
+     */
+    public List<Task> createTasks(Collection<String> titles) {
+        List<Task> tasks = new ArrayList<>(titles.size());
+        for (String title : titles) {
+            tasks.add(new Task(title));
+        }
+        repository.addAll(tasks);
+        for (Task task : tasks) {
+            taskEvent.dispatch(new TaskEvent(task, TaskEvent.Action.CREATED));
+        }
+        return tasks;
+    }
+
     /**
      * Markiert einen Task als erledigt und feuert ein COMPLETED-Event.
+     * Das Erledigen laeuft ueber das Repository, damit persistente Implementierungen es speichern.
      */
     public boolean completeTask(String title) {
-        return repository.findByTitle(title).map(task -> {
-            task.setCompleted(true);
-            taskEvent.fire(new TaskEvent(task, TaskEvent.Action.COMPLETED));
+        return repository.findByTitle(title).flatMap(found -> repository.complete(found.getId())).map(task -> {
+            taskEvent.dispatch(new TaskEvent(task, TaskEvent.Action.COMPLETED));
+            return true;
+        }).orElse(false);
+    }
+
+    /**
+     * Loescht einen Task per ID und feuert ein DELETED-Event.
+     *
+     * @return false, wenn es keinen Task mit dieser ID gibt
+     */
+    public boolean deleteTask(long id) {
+        return repository.delete(id).map(task -> {
+            taskEvent.dispatch(new TaskEvent(task, TaskEvent.Action.DELETED));
             return true;
         }).orElse(false);
     }
 
     /**
      * Listet alle Tasks auf der Konsole auf.
+     * Liest per stream() — auch grosse Bestaende werden nicht vorab kopiert.
      */
     public void listTasks() {
-        List<Task> tasks = repository.findAll();
-        if (tasks.isEmpty()) {
+        Iterator<Task> tasks = repository.stream().iterator();
+        if (!tasks.hasNext()) {
             System.out.println("  Keine Tasks vorhanden.");
         } else {
-            tasks.forEach(t -> System.out.println("  " + t));
+            tasks.forEachRemaining(t -> System.out.println("  " + t));
         }
     }
 
@@ -3,47 +3,163 @@ package com.taskforge.service;
 
 // Uebung 5: Observer — zaehlt erstellte und erledigte Tasks per @Observes.
 // Uebung 8: @Service Stereotype hinzugefuegt.
+// Erweiterung: zusaetzlich @ObservesAsync fuer die asynchrone Zustellung (app.events.mode=ASYNC).
+// Erweiterung: empfaengt TaskEventBatch statt einzelner Events.
+// Erweiterung: @ApplicationScoped mit LongAdder je Action — ein gemeinsamer, thread-sicherer Zaehlerstand.
+// Erweiterung: Raten ueber 1/5/15 Minuten und Latenz-Histogramm Erstellung -> Erledigung.
 
 import com.taskforge.event.TaskEvent;
-import com.taskforge.stereotype.Service;
+import com.taskforge.event.TaskEventBatch;
+import com.taskforge.metrics.LatencyHistogram;
+import com.taskforge.metrics.SlidingWindowCounter;
 
+import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Zaehlt die erstellten und erledigten Tasks.
+ * Zaehlt die Task-Ereignisse je Action (CREATED, COMPLETED, DELETED).
  * Wird automatisch per CDI-Events benachrichtigt — kein direkter Aufruf noetig.
  *
- * @Service — Stereotype (beinhaltet @Dependent, @Logged, @Timed).
+ * @ApplicationScoped statt @Service (@Dependent): Mit @Dependent bekam jeder Injection-Point
+ * und jedes container.select() eigene Zaehler; jetzt gibt es genau einen Stand.
+ * Ohne @Logged/@Timed — der Observer laeuft bei jedem Event und soll nichts ausgeben.
+ *
+ * Thread-Sicherheit: Ein LongAdder je Action. Parallele Observer-Aufrufe (asynchrone Zustellung)
+ * zaehlen in getrennten Zellen und blockieren sich nicht; die EnumMap wird nach dem Aufbau
+ * nur noch gelesen.
+ *
+ * Durchsatz: Erstellte und erledigte Tasks laufen zusaetzlich in je einen SlidingWindowCounter
+ * (Sekunden-Buckets fuer 15 Minuten) — getCreatedPerSecond()/getCompletedPerSecond() liefern
+ * die Rate ueber 1, 5 oder 15 Minuten.
+ * Gezaehlt wird zum Zeitstempel des Events — auch nachgespielte Events landen in ihrer Sekunde.
+ * Latenz: Bei COMPLETED wird die Zeit von Task.getCreatedAt() bis zum Event in ein LatencyHistogram
+ * (Millisekunden) eingetragen. Beide haben feste Groesse, werden mit einzelnen atomaren
+ * Operationen aktualisiert und sind lesbar, ohne die Observer anzuhalten.
  */
-@Service
+@ApplicationScoped
 public class TaskStatistics {
 
-    private int createdCount = 0;
-    private int completedCount = 0;
+    /** Laengstes Ratenfenster in Minuten. */
+    public static final int MAX_WINDOW_MINUTES = 15;
+
+    private final Map<TaskEvent.Action, LongAdder> counters = new EnumMap<>(TaskEvent.Action.class);
+    private final SlidingWindowCounter createdWindow = new SlidingWindowCounter(MAX_WINDOW_MINUTES * 60);
+    private final SlidingWindowCounter completedWindow = new SlidingWindowCounter(MAX_WINDOW_MINUTES * 60);
+    private final LatencyHistogram completionLatency = new LatencyHistogram();
+
+    public TaskStatistics() {
+        for (TaskEvent.Action action : TaskEvent.Action.values()) {
+            counters.put(action, new LongAdder());
+        }
+    }
 
     /**
-     * Reagiert auf TaskEvents und aktualisiert die Statistik.
+     * Reagiert auf einen Batch von TaskEvents und aktualisiert die Statistik.
      */
-    public void onTaskEvent(@Observes TaskEvent event) {
-        switch (event.getAction()) {
-            case CREATED -> createdCount++;
-            case COMPLETED -> completedCount++;
-            default -> { /* DELETED etc. — hier nicht gezaehlt */ }
+    public void onTaskEvents(@Observes TaskEventBatch batch) {
+        for (TaskEvent event : batch.getEvents()) {
+            counters.get(event.getAction()).increment();
+            switch (event.getAction()) {
+                case CREATED -> createdWindow.increment(event.getTimestamp());
+                case COMPLETED -> {
+                    completedWindow.increment(event.getTimestamp());
+                    recordCompletionLatency(event.getTask().getCreatedAt(), event.getTimestamp());
+                }
+                default -> { }
+            }
+        }
+    }
+
+    // createdAt ist lokale Zeit (LocalDateTime.now()), der Event-Zeitstempel ein Instant
+    private void recordCompletionLatency(LocalDateTime createdAt, long completedAtMillis) {
+        if (createdAt != null) {
+            LocalDateTime completedAt = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(completedAtMillis), ZoneId.systemDefault());
+            completionLatency.record(Duration.between(createdAt, completedAt).toMillis());
         }
     }
 
-    public int getCreatedCount() {
-        return createdCount;
+    /**
+     * Reagiert auf asynchron gefeuerte Batches — laeuft auf dem Event-Executor.
+     */
+    public void onTaskEventsAsync(@ObservesAsync TaskEventBatch batch) {
+        onTaskEvents(batch);
+    }
+
+    /**
+     * Anzahl der Events mit der angegebenen Action.
+     */
+    public long getCount(TaskEvent.Action action) {
+        return counters.get(action).sum();
+    }
+
+    public long getCreatedCount() {
+        return getCount(TaskEvent.Action.CREATED);
+    }
+
+    public long getCompletedCount() {
+        return getCount(TaskEvent.Action.COMPLETED);
     }
 
-    public int getCompletedCount() {
-        return completedCount;
+    public long getDeletedCount() {
+        return getCount(TaskEvent.Action.DELETED);
+    }
+
+    /**
+     * Erstellte Tasks pro Sekunde, gemittelt ueber die letzten windowMinutes Minuten (1..15).
+     */
+    public double getCreatedPerSecond(int windowMinutes) {
+        return createdWindow.ratePerSecond(windowSeconds(windowMinutes));
+    }
+
+    /**
+     * Erledigte Tasks pro Sekunde, gemittelt ueber die letzten windowMinutes Minuten (1..15).
+     */
+    public double getCompletedPerSecond(int windowMinutes) {
+        return completedWindow.ratePerSecond(windowSeconds(windowMinutes));
+    }
+
+    private static int windowSeconds(int windowMinutes) {
+        if (windowMinutes < 1 || windowMinutes > MAX_WINDOW_MINUTES) {
+            throw new IllegalArgumentException("Fenster ausserhalb von 1.." + MAX_WINDOW_MINUTES
+                    + " Minuten: " + windowMinutes);
+        }
+        return windowMinutes * 60;
+    }
+
+    /**
+     * Zeit von der Erstellung bis zur Erledigung in Millisekunden, z.B. getCompletionLatency().percentile(0.99).
+     */
+    public LatencyHistogram getCompletionLatency() {
+        return completionLatency;
+    }
+
+    /**
+     * Raten (1/5/15 Minuten) und Erledigungs-Latenz fuer die Konsole.
+     */
+    public String getRateSummary() {
+        return String.format(Locale.ROOT,
+                "Erstellt/s: %.2f | %.2f | %.2f, Erledigt/s: %.2f | %.2f | %.2f (1/5/15 min), Latenz: %s",
+                getCreatedPerSecond(1), getCreatedPerSecond(5), getCreatedPerSecond(15),
+                getCompletedPerSecond(1), getCompletedPerSecond(5), getCompletedPerSecond(15),
+                completionLatency.getSummary("ms"));
     }
 
     /**
      * Gibt eine Zusammenfassung der Statistik zurueck.
      */
     public String getSummary() {
-        return String.format("Erstellt: %d, Erledigt: %d", createdCount, completedCount);
+        return String.format("Erstellt: %d, Erledigt: %d, Geloescht: %d",
+                getCreatedCount(), getCompletedCount(), getDeletedCount());
     }
 }
@@ -3,6 +3,9 @@ package com.taskforge.stereotype;
 
 // Uebung 8: Stereotype fuer Repository-Klassen.
 // Buendelt @ApplicationScoped in einer einzigen, sprechenden Annotation.
+// Erweiterung: @Traced — Repository-Aufrufe erscheinen im Aufrufbaum langsamer Service-Aufrufe.
+
+import com.taskforge.interceptor.Traced;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Stereotype;
@@ -16,11 +19,16 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  * Stereotype fuer Repository-Beans.
  * Klassen mit @Repository erhalten automatisch @ApplicationScoped,
  * d.h. es existiert genau eine Instanz pro Anwendung.
+ * Dazu @Traced: ihre Aufrufe erscheinen als Knoten im Aufrufbaum langsamer Aufrufe.
+ * Das gilt fuer jeden Repository-Aufruf, auch ausserhalb eines Services (z.B. size() beim
+ * Abruf des Metrik-Endpunkts) — pro Aufruf zwei nanoTime() und ein ThreadLocal-Zugriff.
+ * Mit app.trace.enabled=false bleibt davon nur proceed().
  *
- * Verwendung: Ersetzt @ApplicationScoped auf Repository-Klassen.
+ * Verwendung: Ersetzt @ApplicationScoped @Traced auf Repository-Klassen.
  */
 @Stereotype
 @ApplicationScoped
+@Traced
 @Retention(RUNTIME)
 @Target(TYPE)
 public @interface Repository {
@@ -4,9 +4,11 @@ package com.taskforge.stereotype;
 // Uebung 8: Stereotype fuer Service-Klassen.
 // Buendelt @Dependent, @Logged und @Timed in einer einzigen Annotation.
 // Ist selbst eine Bean-Defining Annotation (wichtig fuer bean-discovery-mode="annotated").
+// Erweiterung: @Traced fuer das Tracing langsamer Aufrufe.
 
 import com.taskforge.interceptor.Logged;
 import com.taskforge.interceptor.Timed;
+import com.taskforge.interceptor.Traced;
 
 import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.Stereotype;
@@ -22,13 +24,15 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  * - @Dependent Scope (neues Objekt pro Injection-Point)
  * - @Logged (Method-Entry/Exit-Logging per Interceptor)
  * - @Timed (Ausfuehrungszeit-Messung per Interceptor)
+ * - @Traced (Aufrufbaum, ausgegeben nur fuer langsame Aufrufe)
  *
- * Verwendung: Ersetzt @Dependent @Logged @Timed auf der Klasse.
+ * Verwendung: Ersetzt @Dependent @Logged @Timed @Traced auf der Klasse.
  */
 @Stereotype
 @Dependent
 @Logged
 @Timed
+@Traced
 @Retention(RUNTIME)
 @Target(TYPE)
 public @interface Service {
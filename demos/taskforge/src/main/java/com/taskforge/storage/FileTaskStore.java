@@ -0,0 +1,316 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.storage;
+
+// Erweiterung: Snapshots + Journal-Kompaktierung — die Startzeit haengt nur noch
+// vom aktuellen Bestand ab, nicht von der gesamten Historie.
+// Erweiterung: Grabsteine fuer geloeschte Tasks — der naechste Snapshot laesst sie weg.
+// Erweiterung: Aenderungs-Datensaetze (z.B. erledigt) — der naechste Snapshot enthaelt den neuen Zustand.
+
+import com.taskforge.model.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Dateiablage aus Snapshots und Journal-Segmenten, jeweils nach Generation nummeriert:
+ *
+ *   snapshot-&lt;g&gt;.bin — vollstaendiger Bestand vor Beginn von journal-&lt;g&gt;.log
+ *   journal-&lt;g&gt;.log  — alle Aenderungen ab diesem Snapshot
+ *
+ * Ablauf eines Snapshots:
+ *   1. rollJournal() — unter der Sperre des Aufrufers: neues Segment beginnen und
+ *      gleichzeitig den Bestand kopieren (beides passt damit exakt zusammen)
+ *   2. writeSnapshot() — ohne Sperre: Bestand in eine temporaere Datei schreiben,
+ *      fsync, atomar umbenennen, danach aeltere Segmente und Snapshots loeschen
+ *
+ * Beim Start wird der neueste Snapshot per Memory-Mapping gelesen und nur der
+ * Journal-Rest ab dessen Generation eingelesen.
+ *
+ * Loeschen schreibt einen Grabstein ins Journal. Ein Snapshot enthaelt nur noch lebende Tasks;
+ * mit dem Entfernen der aelteren Segmente verschwinden auch deren Grabsteine.
+ */
+public class FileTaskStore implements AutoCloseable {
+
+    private static final Pattern JOURNAL_NAME = Pattern.compile("journal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d+)\\.bin");
+
+    private static final int SNAPSHOT_MAGIC = 0x54465331; // "TFS1"
+    private static final int SNAPSHOT_HEADER_BYTES = 4 + 8;
+    private static final long MAP_WINDOW_BYTES = 256L * 1024 * 1024;
+    private static final int WRITE_BUFFER_BYTES = 256 * 1024;
+
+    private final Path dir;
+    private final SyncMode syncMode;
+    private final long syncIntervalMs;
+
+    private volatile TaskJournal journal;
+    private long generation;
+    private final AtomicLong recordsSinceSnapshot = new AtomicLong();
+
+    private long snapshotRecordsLoaded;
+    private long journalRecordsReplayed;
+
+    public FileTaskStore(Path dir, SyncMode syncMode, long syncIntervalMs) throws IOException {
+        this.dir = dir;
+        this.syncMode = syncMode;
+        this.syncIntervalMs = syncIntervalMs;
+        Files.createDirectories(dir);
+    }
+
+    /**
+     * Wie recover(Consumer, Consumer, LongConsumer), ignoriert aber Aenderungen und Grabsteine.
+     */
+    public long recover(Consumer<Task> consumer) throws IOException {
+        return recover(consumer, task -> { }, id -> { });
+    }
+
+    /**
+     * Stellt den Bestand wieder her: neuester gueltiger Snapshot, dann alle Journal-Segmente ab
+     * dessen Generation. Aenderungen gehen an updated, Grabsteine als ID an deleted.
+     * Muss vor dem ersten write() aufgerufen werden.
+     *
+     * @return Anzahl der gelesenen Datensaetze (Snapshot + Journal, inklusive Aenderungen und Grabsteine)
+     */
+    public long recover(Consumer<Task> consumer, Consumer<Task> updated, LongConsumer deleted) throws IOException {
+        List<Long> snapshots = generations(SNAPSHOT_NAME);
+        long base = snapshots.isEmpty() ? 0 : snapshots.get(snapshots.size() - 1);
+        snapshotRecordsLoaded = snapshots.isEmpty() ? 0 : readSnapshot(snapshotFile(base), consumer);
+
+        journalRecordsReplayed = 0;
+        generation = base;
+        TaskJournal active = null;
+        for (long g : generations(JOURNAL_NAME)) {
+            if (g < base) {
+                continue; // bereits im Snapshot enthalten, Loeschen wurde unterbrochen
+            }
+            if (active != null) {
+                active.close();
+            }
+            active = new TaskJournal(journalFile(g), syncMode, syncIntervalMs);
+            journalRecordsReplayed += active.replay(consumer, updated, deleted);
+            generation = g;
+        }
+        if (active == null) {
+            active = new TaskJournal(journalFile(generation), syncMode, syncIntervalMs);
+            active.replay(task -> { });
+        }
+        journal = active;
+        recordsSinceSnapshot.set(journalRecordsReplayed);
+        return snapshotRecordsLoaded + journalRecordsReplayed;
+    }
+
+    /**
+     * Haengt einen Task an das aktuelle Journal-Segment an (siehe TaskJournal.write).
+     */
+    public long write(Task task) throws IOException {
+        long position = journal.write(task);
+        recordsSinceSnapshot.incrementAndGet();
+        return position;
+    }
+
+    /**
+     * Haengt den neuen Zustand eines Tasks an (siehe TaskJournal.writeUpdate).
+     */
+    public long writeUpdate(Task task) throws IOException {
+        long position = journal.writeUpdate(task);
+        recordsSinceSnapshot.incrementAndGet();
+        return position;
+    }
+
+    /**
+     * Haengt einen Grabstein fuer den Task an (siehe TaskJournal.writeDelete).
+     */
+    public long writeDelete(Task task) throws IOException {
+        long position = journal.writeDelete(task);
+        recordsSinceSnapshot.incrementAndGet();
+        return position;
+    }
+
+    /**
+     * Haengt mehrere Tasks mit einem Schreibvorgang an (siehe TaskJournal.writeAll).
+     */
+    public long writeAll(Collection<Task> tasks) throws IOException {
+        long position = journal.writeAll(tasks);
+        recordsSinceSnapshot.addAndGet(tasks.size());
+        return position;
+    }
+
+    /**
+     * Wartet gemaess SyncMode auf die Dauerhaftigkeit (siehe TaskJournal.sync).
+     * Nach einem rollJournal() ist das alte Segment bereits vollstaendig gesichert.
+     */
+    public void sync(long position) throws IOException {
+        journal.sync(position);
+    }
+
+    /**
+     * Beginnt ein neues Journal-Segment. Der Aufrufer muss dabei dieselbe Sperre halten wie
+     * beim Schreiben und im selben Moment den Bestand fuer writeSnapshot() kopieren.
+     *
+     * @return Generation des neuen Segments — Kennung fuer den passenden Snapshot
+     */
+    public long rollJournal() throws IOException {
+        TaskJournal previous = journal;
+        long next = generation + 1;
+        TaskJournal rolled = new TaskJournal(journalFile(next), syncMode, syncIntervalMs,
+                previous.getLogicalEnd());
+        journal = rolled;
+        generation = next;
+        recordsSinceSnapshot.set(0);
+        previous.close(); // fsync: Schreiber, die noch auf das alte Segment warten, sind gesichert
+        return next;
+    }
+
+    /**
+     * Schreibt den Bestand als Snapshot der angegebenen Generation und entfernt danach
+     * alle aelteren Snapshots und Journal-Segmente (Kompaktierung).
+     */
+    public void writeSnapshot(long snapshotGeneration, Collection<Task> tasks) throws IOException {
+        Path target = snapshotFile(snapshotGeneration);
+        Path temp = dir.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+            buffer.putInt(SNAPSHOT_MAGIC).putLong(tasks.size());
+            for (Task task : tasks) {
+                byte[] title = task.getTitle().getBytes(StandardCharsets.UTF_8);
+                int needed = TaskRecordCodec.encodedSize(title);
+                if (buffer.remaining() < needed) {
+                    drain(channel, buffer);
+                    if (buffer.remaining() < needed) {
+                        buffer = ByteBuffer.allocate(needed);
+                    }
+                }
+                TaskRecordCodec.encode(buffer, TaskRecordCodec.TYPE_ADD, task, title);
+            }
+            drain(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (long g : generations(SNAPSHOT_NAME)) {
+            if (g < snapshotGeneration) {
+                Files.deleteIfExists(snapshotFile(g));
+            }
+        }
+        for (long g : generations(JOURNAL_NAME)) {
+            if (g < snapshotGeneration) {
+                Files.deleteIfExists(journalFile(g));
+            }
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Liest einen Snapshot per Memory-Mapping (in Fenstern von max. 256 MB).
+     * Snapshots entstehen per atomarem Umbenennen — ein beschaedigter Snapshot ist daher
+     * ein echter Fehler und wird nicht stillschweigend uebergangen.
+     *
+     * @return Anzahl der gelesenen Tasks
+     */
+    private long readSnapshot(Path file, Consumer<Task> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SNAPSHOT_HEADER_BYTES) {
+                throw new IOException("Snapshot " + file + " ist unvollstaendig");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SNAPSHOT_HEADER_BYTES);
+            if (header.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Snapshot " + file + " hat ein unbekanntes Format");
+            }
+            long expected = header.getLong();
+            long count = 0;
+            long windowStart = SNAPSHOT_HEADER_BYTES;
+            while (windowStart < size) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        windowStart, Math.min(MAP_WINDOW_BYTES, size - windowStart));
+                int payloadLength;
+                while ((payloadLength = TaskRecordCodec.check(window)) >= 0) {
+                    consumer.accept(TaskRecordCodec.decode(window, payloadLength));
+                    count++;
+                }
+                if (payloadLength == -2 || window.position() == 0) {
+                    throw new IOException("Snapshot " + file + " ist beschaedigt (nach "
+                            + count + " Tasks)");
+                }
+                windowStart += window.position();
+            }
+            if (count != expected) {
+                throw new IOException("Snapshot " + file + " enthaelt " + count
+                        + " statt " + expected + " Tasks");
+            }
+            return count;
+        }
+    }
+
+    private List<Long> generations(Pattern pattern) throws IOException {
+        List<Long> result = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                Matcher matcher = pattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    result.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        result.sort(null);
+        return result;
+    }
+
+    private Path journalFile(long g) {
+        return dir.resolve("journal-" + g + ".log");
+    }
+
+    private Path snapshotFile(long g) {
+        return dir.resolve("snapshot-" + g + ".bin");
+    }
+
+    /** Anzahl der Journal-Datensaetze seit dem letzten Snapshot — Ausloeser fuer den naechsten. */
+    public long getRecordsSinceSnapshot() {
+        return recordsSinceSnapshot.get();
+    }
+
+    /** Beim letzten recover() aus dem Snapshot geladene Tasks. */
+    public long getSnapshotRecordsLoaded() {
+        return snapshotRecordsLoaded;
+    }
+
+    /** Beim letzten recover() aus dem Journal nachgespielte Datensaetze. */
+    public long getJournalRecordsReplayed() {
+        return journalRecordsReplayed;
+    }
+
+    public Path getDirectory() {
+        return dir;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+}
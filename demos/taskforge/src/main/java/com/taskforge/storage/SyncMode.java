@@ -0,0 +1,20 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.storage;
+
+// Erweiterung: Dauerhaftigkeit des Task-Journals, konfigurierbar per DeltaSpike (app.journal.sync).
+
+/**
+ * Legt fest, wann das Journal per fsync auf die Platte gezwungen wird.
+ * Abwaegung: Dauerhaftigkeit gegen Schreiblatenz.
+ */
+public enum SyncMode {
+
+    /** fsync nach jedem einzelnen Schreibvorgang — maximal dauerhaft, am langsamsten. */
+    ALWAYS,
+
+    /** Group Commit: gleichzeitige Schreiber teilen sich einen fsync. */
+    BATCH,
+
+    /** fsync im festen Intervall — schnell, verliert im Crash-Fall das letzte Intervall. */
+    INTERVAL
+}
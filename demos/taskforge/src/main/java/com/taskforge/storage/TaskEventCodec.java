@@ -0,0 +1,126 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.storage;
+
+// Erweiterung: Kompaktes Binaerformat fuer TaskEvents im Event-Log.
+
+import com.taskforge.event.TaskEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+/**
+ * Kodiert TaskEvents als binaere Datensaetze — gleicher Rahmen wie TaskRecordCodec.
+ *
+ * Aufbau eines Datensatzes:
+ *   int   Laenge der Nutzdaten
+ *   int   CRC32 der Nutzdaten
+ *   byte  Action (Ordinalzahl von TaskEvent.Action)
+ *   long  Task-ID
+ *   long  Zeitpunkt des Ereignisses (Epoch-Millisekunden)
+ *   ...   Titel (UTF-8, Rest der Nutzdaten)
+ *
+ * Gelesen wird in zwei Schritten: check() prueft Rahmen und Pruefsumme, die Zugriffsmethoden
+ * (action, id, timestamp, title) lesen die Felder an einer absoluten Position — so kann ein
+ * Datensatz ohne Dekodieren weitergereicht werden (siehe TaskEventReplay).
+ */
+public final class TaskEventCodec {
+
+    /** Laengenfeld + Pruefsumme vor den Nutzdaten. */
+    public static final int HEADER_BYTES = 8;
+
+    /** Obergrenze fuer die Nutzdaten — alles darueber gilt als beschaedigt. */
+    public static final int MAX_PAYLOAD_BYTES = 1 << 20;
+
+    private static final int FIXED_PAYLOAD_BYTES = 1 + 8 + 8;
+    private static final TaskEvent.Action[] ACTIONS = TaskEvent.Action.values();
+
+    private TaskEventCodec() {
+    }
+
+    /**
+     * Kodiert mehrere Events hintereinander in einen gemeinsamen Puffer, bereit zum Schreiben.
+     */
+    public static ByteBuffer encodeAll(Collection<TaskEvent> events) {
+        byte[][] titles = new byte[events.size()][];
+        int size = 0;
+        int i = 0;
+        for (TaskEvent event : events) {
+            titles[i] = event.getTask().getTitle().getBytes(StandardCharsets.UTF_8);
+            size += HEADER_BYTES + FIXED_PAYLOAD_BYTES + titles[i++].length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        i = 0;
+        for (TaskEvent event : events) {
+            encode(buffer, event, titles[i++]);
+        }
+        return buffer.flip();
+    }
+
+    private static void encode(ByteBuffer target, TaskEvent event, byte[] titleUtf8) {
+        int payloadLength = FIXED_PAYLOAD_BYTES + titleUtf8.length;
+        int start = target.position();
+        target.putInt(payloadLength);
+        target.putInt(0); // Platzhalter fuer die Pruefsumme
+        int payloadStart = target.position();
+        target.put((byte) event.getAction().ordinal());
+        target.putLong(event.getTask().getId());
+        target.putLong(event.getTimestamp());
+        target.put(titleUtf8);
+        target.putInt(start + 4, checksum(target, payloadStart, payloadLength));
+    }
+
+    /**
+     * Prueft den Datensatz an der aktuellen Position.
+     *
+     * @return Laenge der Nutzdaten; -1, wenn der Datensatz unvollstaendig im Puffer liegt;
+     *         -2, wenn er beschaedigt ist
+     */
+    public static int check(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return -1;
+        }
+        int start = buffer.position();
+        int payloadLength = buffer.getInt(start);
+        if (payloadLength < FIXED_PAYLOAD_BYTES || payloadLength > MAX_PAYLOAD_BYTES) {
+            return -2;
+        }
+        if (buffer.remaining() < HEADER_BYTES + payloadLength) {
+            return -1;
+        }
+        int expected = buffer.getInt(start + 4);
+        if (checksum(buffer, start + HEADER_BYTES, payloadLength) != expected
+                || (buffer.get(start + HEADER_BYTES) & 0xFF) >= ACTIONS.length) {
+            return -2;
+        }
+        return payloadLength;
+    }
+
+    // --- Felder eines geprueften Datensatzes, der an recordStart beginnt ---
+
+    public static TaskEvent.Action action(ByteBuffer buffer, int recordStart) {
+        return ACTIONS[buffer.get(recordStart + HEADER_BYTES)];
+    }
+
+    public static long id(ByteBuffer buffer, int recordStart) {
+        return buffer.getLong(recordStart + HEADER_BYTES + 1);
+    }
+
+    public static long timestamp(ByteBuffer buffer, int recordStart) {
+        return buffer.getLong(recordStart + HEADER_BYTES + 9);
+    }
+
+    public static String title(ByteBuffer buffer, int recordStart) {
+        int payloadLength = buffer.getInt(recordStart);
+        byte[] title = new byte[payloadLength - FIXED_PAYLOAD_BYTES];
+        buffer.get(recordStart + HEADER_BYTES + FIXED_PAYLOAD_BYTES, title);
+        return new String(title, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(offset + length).position(offset));
+        return (int) crc.getValue();
+    }
+}
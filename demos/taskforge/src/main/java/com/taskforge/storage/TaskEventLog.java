@@ -0,0 +1,143 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.storage;
+
+// Erweiterung: Persistentes, append-only Log aller TaskEvents (Grundlage fuer TaskEventReplay).
+
+import com.taskforge.event.TaskEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Haengt TaskEvents als binaere Datensaetze (TaskEventCodec) an eine Datei an.
+ *
+ * Ein Batch wird mit einem einzigen Schreibvorgang angehaengt. Ein fsync erfolgt nur beim
+ * Schliessen — das Log ist eine Zusatzaufzeichnung, kein Ersatz fuer das Task-Journal; nach
+ * einem Absturz fehlen hoechstens die letzten, noch nicht geschriebenen Events.
+ * Ein halb geschriebener Rest wird beim Oeffnen abgeschnitten.
+ */
+public class TaskEventLog implements AutoCloseable {
+
+    private static final int READ_BUFFER_BYTES = 1024 * 1024;
+
+    /**
+     * Empfaenger fuer die Datensaetze beim Lesen.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+
+        /**
+         * @param buffer      Puffer mit dem geprueften Datensatz — nur waehrend des Aufrufs gueltig
+         * @param recordStart absolute Position des Datensatzes im Puffer
+         * @param recordBytes Laenge des Datensatzes (Header + Nutzdaten)
+         */
+        void visit(ByteBuffer buffer, int recordStart, int recordBytes);
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private long position;
+    private final LongAdder written = new LongAdder();
+
+    public TaskEventLog(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long validEnd = read(channel, (buffer, start, length) -> { });
+        if (validEnd < channel.size()) {
+            System.out.println("[TaskEventLog] " + (channel.size() - validEnd)
+                    + " Bytes unvollstaendiger Daten am Ende von " + file + " verworfen");
+            channel.truncate(validEnd);
+            channel.force(false);
+        }
+        this.position = validEnd;
+    }
+
+    /**
+     * Haengt alle Events des Batches in ihrer Reihenfolge an.
+     */
+    public void append(Collection<TaskEvent> events) throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+        ByteBuffer records = TaskEventCodec.encodeAll(events);
+        writeLock.lock();
+        try {
+            long pos = position;
+            while (records.hasRemaining()) {
+                pos += channel.write(records, pos);
+            }
+            position = pos;
+        } finally {
+            writeLock.unlock();
+        }
+        written.add(events.size());
+    }
+
+    /**
+     * Liest alle gueltigen Datensaetze von vorne, bis zum Ende oder zum ersten beschaedigten.
+     *
+     * @return Byte-Position hinter dem letzten gueltigen Datensatz
+     */
+    public static long read(FileChannel channel, RecordVisitor visitor) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        long validEnd = 0;
+        long readPosition = 0;
+        while (true) {
+            int read = channel.read(buffer, readPosition);
+            if (read > 0) {
+                readPosition += read;
+            }
+            buffer.flip();
+            int payloadLength;
+            while ((payloadLength = TaskEventCodec.check(buffer)) >= 0) {
+                int start = buffer.position();
+                int recordBytes = TaskEventCodec.HEADER_BYTES + payloadLength;
+                visitor.visit(buffer, start, recordBytes);
+                buffer.position(start + recordBytes);
+                validEnd += recordBytes;
+            }
+            if (payloadLength == -2 || read <= 0) {
+                return validEnd;
+            }
+            if (buffer.position() == 0 && buffer.remaining() == buffer.capacity()) {
+                // Datensatz groesser als der Puffer — Puffer vergroessern
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer);
+            } else {
+                buffer.compact();
+            }
+        }
+    }
+
+    /** Seit dem Oeffnen angehaengte Events. */
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            channel.force(false);
+        } finally {
+            writeLock.unlock();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,337 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.storage;
+
+// Erweiterung: Append-only-Journal fuer das FileTaskRepository (NIO FileChannel + Group Commit).
+// Erweiterung: Grabsteine fuer geloeschte Tasks (TYPE_DELETE).
+// Erweiterung: Aenderungen bestehender Tasks (TYPE_UPDATE).
+
+import com.taskforge.model.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Append-only-Journal: jeder Task wird als binaerer Datensatz (TaskRecordCodec) angehaengt.
+ *
+ * Schreiben ist zweigeteilt, damit Aufrufer die Reihenfolge unter ihrer eigenen Sperre
+ * festlegen und erst danach (ohne Sperre) auf die Dauerhaftigkeit warten koennen:
+ *   long position = journal.write(task);   // reiht den Datensatz ein
+ *   journal.sync(position);                // wartet je nach SyncMode auf fsync
+ *
+ * Group Commit (SyncMode.BATCH): Der erste wartende Schreiber fuehrt den fsync aus und
+ * deckt damit alles ab, was bis dahin geschrieben wurde; alle anderen warten nur darauf.
+ *
+ * Positionen sind logisch: Sie beginnen bei logicalBase, damit sie ueber mehrere
+ * aufeinanderfolgende Journal-Segmente hinweg eindeutig und aufsteigend bleiben.
+ */
+public class TaskJournal implements AutoCloseable {
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final SyncMode syncMode;
+    private final long logicalBase;
+
+    // Serialisiert die Schreiber — die Position im Journal ist eindeutig
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile long writtenPosition;
+
+    // Group Commit: bis hierhin ist das Journal sicher auf der Platte
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+    private long durablePosition;
+    private boolean syncInProgress;
+    private volatile boolean closed;
+    private final AtomicLong syncCount = new AtomicLong();
+
+    private final ScheduledExecutorService intervalSyncer;
+
+    public TaskJournal(Path file, SyncMode syncMode, long syncIntervalMs) throws IOException {
+        this(file, syncMode, syncIntervalMs, 0);
+    }
+
+    public TaskJournal(Path file, SyncMode syncMode, long syncIntervalMs, long logicalBase)
+            throws IOException {
+        this.file = file;
+        this.syncMode = syncMode;
+        this.logicalBase = logicalBase;
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.writtenPosition = channel.size();
+        this.durablePosition = writtenPosition;
+
+        if (syncMode == SyncMode.INTERVAL) {
+            intervalSyncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "taskforge-journal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            intervalSyncer.scheduleWithFixedDelay(this::syncQuietly,
+                    syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            intervalSyncer = null;
+        }
+    }
+
+    /**
+     * Wie replay(Consumer, Consumer, LongConsumer), ignoriert aber Aenderungen und Grabsteine.
+     */
+    public long replay(Consumer<Task> consumer) throws IOException {
+        return replay(consumer, task -> { }, id -> { });
+    }
+
+    /**
+     * Liest alle gueltigen Datensaetze von vorne und uebergibt die Tasks dem Consumer,
+     * Aenderungen an updated und die IDs von Grabsteinen an deleted — in Journal-Reihenfolge.
+     * Ein unvollstaendiger oder beschaedigter Rest (Absturz waehrend des Schreibens)
+     * wird abgeschnitten, damit neue Datensaetze wieder an einer gueltigen Stelle beginnen.
+     *
+     * @return Anzahl der gelesenen Datensaetze
+     */
+    public long replay(Consumer<Task> consumer, Consumer<Task> updated, LongConsumer deleted) throws IOException {
+        writeLock.lock();
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+            long validEnd = 0;
+            long records = 0;
+            long readPosition = 0;
+            boolean corrupt = false;
+            while (!corrupt) {
+                int read = channel.read(buffer, readPosition);
+                if (read > 0) {
+                    readPosition += read;
+                }
+                buffer.flip();
+                while (true) {
+                    int payloadLength = TaskRecordCodec.check(buffer);
+                    if (payloadLength == -2) {
+                        corrupt = true;
+                        break;
+                    }
+                    if (payloadLength == -1) {
+                        break;
+                    }
+                    int recordLength = TaskRecordCodec.HEADER_BYTES + payloadLength;
+                    byte type = TaskRecordCodec.type(buffer);
+                    if (type == TaskRecordCodec.TYPE_ADD) {
+                        consumer.accept(TaskRecordCodec.decode(buffer, payloadLength));
+                    } else if (type == TaskRecordCodec.TYPE_UPDATE) {
+                        updated.accept(TaskRecordCodec.decode(buffer, payloadLength));
+                    } else if (type == TaskRecordCodec.TYPE_DELETE) {
+                        deleted.accept(TaskRecordCodec.decode(buffer, payloadLength).getId());
+                    } else {
+                        buffer.position(buffer.position() + recordLength);
+                    }
+                    validEnd += recordLength;
+                    records++;
+                }
+                if (read <= 0) {
+                    break;
+                }
+                if (buffer.position() == 0 && buffer.remaining() == buffer.capacity()) {
+                    // Datensatz groesser als der Puffer — Puffer vergroessern
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer);
+                } else {
+                    buffer.compact();
+                }
+            }
+            if (validEnd < channel.size()) {
+                System.out.println("[TaskJournal] " + (channel.size() - validEnd)
+                        + " Bytes unvollstaendiger Daten am Ende von " + file + " verworfen");
+                channel.truncate(validEnd);
+                channel.force(false);
+            }
+            writtenPosition = validEnd;
+            syncLock.lock();
+            try {
+                durablePosition = validEnd;
+            } finally {
+                syncLock.unlock();
+            }
+            return records;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Haengt einen Task an das Journal an (noch ohne fsync).
+     *
+     * @return logische Endposition des Datensatzes — fuer sync(long)
+     */
+    public long write(Task task) throws IOException {
+        return append(TaskRecordCodec.encode(TaskRecordCodec.TYPE_ADD, task));
+    }
+
+    /**
+     * Haengt den aktuellen Zustand eines bereits gespeicherten Tasks an (noch ohne fsync).
+     *
+     * @return logische Endposition des Datensatzes — fuer sync(long)
+     */
+    public long writeUpdate(Task task) throws IOException {
+        return append(TaskRecordCodec.encode(TaskRecordCodec.TYPE_UPDATE, task));
+    }
+
+    /**
+     * Haengt einen Grabstein fuer den Task an (noch ohne fsync).
+     *
+     * @return logische Endposition des Datensatzes — fuer sync(long)
+     */
+    public long writeDelete(Task task) throws IOException {
+        return append(TaskRecordCodec.encode(TaskRecordCodec.TYPE_DELETE, task));
+    }
+
+    /**
+     * Haengt mehrere Tasks mit einem einzigen Schreibvorgang an (noch ohne fsync).
+     *
+     * @return logische Endposition des letzten Datensatzes — fuer sync(long)
+     */
+    public long writeAll(Collection<Task> tasks) throws IOException {
+        return append(TaskRecordCodec.encodeAll(TaskRecordCodec.TYPE_ADD, tasks));
+    }
+
+    private long append(ByteBuffer records) throws IOException {
+        writeLock.lock();
+        try {
+            long position = writtenPosition;
+            while (records.hasRemaining()) {
+                position += channel.write(records, position);
+            }
+            writtenPosition = position;
+            return logicalBase + position;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Wartet entsprechend dem SyncMode, bis das Journal bis zur angegebenen Position dauerhaft ist.
+     * Positionen vor logicalBase gehoeren zu einem frueheren, bereits geschlossenen Segment.
+     */
+    public void sync(long logicalPosition) throws IOException {
+        long position = logicalPosition - logicalBase;
+        if (position <= 0) {
+            return;
+        }
+        switch (syncMode) {
+            case ALWAYS -> force();
+            case BATCH -> groupCommit(position);
+            case INTERVAL -> { /* erledigt der Hintergrund-Thread */ }
+        }
+    }
+
+    /**
+     * fsync — ein parallel geschlossenes Journal gilt als gesichert, da close() selbst forciert.
+     *
+     * @return false, wenn das Journal inzwischen geschlossen wurde
+     */
+    private boolean force() throws IOException {
+        try {
+            channel.force(false);
+            syncCount.incrementAndGet();
+            return true;
+        } catch (ClosedChannelException e) {
+            if (closed) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private void groupCommit(long position) throws IOException {
+        syncLock.lock();
+        try {
+            while (durablePosition < position) {
+                if (syncInProgress) {
+                    // Ein anderer Schreiber fuehrt gerade den fsync aus — auf ihn warten
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+                syncInProgress = true;
+                long target = writtenPosition;
+                boolean forced = false;
+                syncLock.unlock();
+                try {
+                    forced = force();
+                } finally {
+                    syncLock.lock();
+                    syncInProgress = false;
+                    if (forced && target > durablePosition) {
+                        durablePosition = target;
+                    }
+                    synced.signalAll();
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            if (writtenPosition > durablePosition) {
+                groupCommit(writtenPosition);
+            }
+        } catch (IOException e) {
+            System.out.println("[TaskJournal] fsync fehlgeschlagen: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Anzahl der bisher ausgefuehrten fsync-Aufrufe (zeigt die Wirkung von Group Commit).
+     */
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+
+    /**
+     * Logische Position hinter dem letzten geschriebenen Datensatz — Basis fuer das Folgesegment.
+     */
+    public long getLogicalEnd() {
+        return logicalBase + writtenPosition;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Erzwingt einen letzten fsync und schliesst die Datei.
+     * Schreiber, die noch auf ihren fsync warten, gelten danach als gesichert.
+     */
+    @Override
+    public void close() throws IOException {
+        if (intervalSyncer != null) {
+            intervalSyncer.shutdownNow();
+        }
+        writeLock.lock();
+        try {
+            channel.force(false);
+            syncLock.lock();
+            try {
+                durablePosition = writtenPosition;
+                closed = true;
+                synced.signalAll();
+            } finally {
+                syncLock.unlock();
+            }
+        } finally {
+            writeLock.unlock();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.storage;
+
+// Erweiterung: Kompaktes Binaerformat fuer Task-Datensaetze im Journal.
+// Erweiterung: Grabstein-Datensaetze (TYPE_DELETE) fuer geloeschte Tasks.
+// Erweiterung: Aenderungs-Datensaetze (TYPE_UPDATE), z.B. fuer erledigte Tasks.
+
+import com.taskforge.model.Task;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+/**
+ * Kodiert Tasks als binaere Datensaetze.
+ *
+ * Aufbau eines Datensatzes:
+ *   int   Laenge der Nutzdaten
+ *   int   CRC32 der Nutzdaten (erkennt halb geschriebene Datensaetze nach einem Absturz)
+ *   byte  Typ (TYPE_ADD, TYPE_UPDATE oder TYPE_DELETE)
+ *   long  Task-ID
+ *   long  Erstellzeitpunkt (Epoch-Millisekunden, UTC)
+ *   byte  erledigt (0/1)
+ *   ...   Titel (UTF-8, Rest der Nutzdaten)
+ */
+public final class TaskRecordCodec {
+
+    public static final byte TYPE_ADD = 1;
+
+    /** Grabstein: der Task mit dieser ID wurde geloescht. Snapshots enthalten keine Grabsteine. */
+    public static final byte TYPE_DELETE = 2;
+
+    /**
+     * Aenderung: der Task mit dieser ID hat jetzt den gespeicherten Zustand (z.B. erledigt).
+     * Snapshots enthalten keine Aenderungen — dort steht der Task bereits im neuen Zustand.
+     */
+    public static final byte TYPE_UPDATE = 3;
+
+    /** Laengenfeld + Pruefsumme vor den Nutzdaten. */
+    public static final int HEADER_BYTES = 8;
+
+    /** Obergrenze fuer die Nutzdaten — alles darueber gilt als beschaedigt. */
+    public static final int MAX_PAYLOAD_BYTES = 1 << 20;
+
+    private static final int FIXED_PAYLOAD_BYTES = 1 + 8 + 8 + 1;
+
+    private TaskRecordCodec() {
+    }
+
+    /**
+     * Groesse eines vollstaendigen Datensatzes (Header + Nutzdaten) fuer den angegebenen Titel.
+     */
+    public static int encodedSize(byte[] titleUtf8) {
+        return HEADER_BYTES + FIXED_PAYLOAD_BYTES + titleUtf8.length;
+    }
+
+    /**
+     * Kodiert einen Task als vollstaendigen Datensatz (Header + Nutzdaten), bereit zum Schreiben.
+     */
+    public static ByteBuffer encode(byte type, Task task) {
+        byte[] title = task.getTitle().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(title));
+        encode(buffer, type, task, title);
+        return buffer.flip();
+    }
+
+    /**
+     * Kodiert mehrere Tasks hintereinander in einen gemeinsamen Puffer, bereit zum Schreiben.
+     */
+    public static ByteBuffer encodeAll(byte type, Collection<Task> tasks) {
+        byte[][] titles = new byte[tasks.size()][];
+        int size = 0;
+        int i = 0;
+        for (Task task : tasks) {
+            titles[i] = task.getTitle().getBytes(StandardCharsets.UTF_8);
+            size += encodedSize(titles[i++]);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        i = 0;
+        for (Task task : tasks) {
+            encode(buffer, type, task, titles[i++]);
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Schreibt einen Datensatz an die aktuelle Position des Puffers.
+     */
+    public static void encode(ByteBuffer target, byte type, Task task, byte[] titleUtf8) {
+        int payloadLength = FIXED_PAYLOAD_BYTES + titleUtf8.length;
+        int start = target.position();
+        target.putInt(payloadLength);
+        target.putInt(0); // Platzhalter fuer die Pruefsumme
+        int payloadStart = target.position();
+        target.put(type);
+        target.putLong(task.getId());
+        target.putLong(task.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        target.put(task.isCompleted() ? (byte) 1 : (byte) 0);
+        target.put(titleUtf8);
+        target.putInt(start + 4, checksum(target, payloadStart, payloadLength));
+    }
+
+    /**
+     * Prueft den Datensatz an der aktuellen Position.
+     *
+     * @return Laenge der Nutzdaten; -1, wenn der Datensatz unvollstaendig im Puffer liegt;
+     *         -2, wenn er beschaedigt ist
+     */
+    public static int check(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return -1;
+        }
+        int start = buffer.position();
+        int payloadLength = buffer.getInt(start);
+        if (payloadLength < FIXED_PAYLOAD_BYTES || payloadLength > MAX_PAYLOAD_BYTES) {
+            return -2;
+        }
+        if (buffer.remaining() < HEADER_BYTES + payloadLength) {
+            return -1;
+        }
+        int expected = buffer.getInt(start + 4);
+        return checksum(buffer, start + HEADER_BYTES, payloadLength) == expected ? payloadLength : -2;
+    }
+
+    /**
+     * Liest den Typ des (zuvor mit check() geprueften) Datensatzes an der aktuellen Position.
+     */
+    public static byte type(ByteBuffer buffer) {
+        return buffer.get(buffer.position() + HEADER_BYTES);
+    }
+
+    /**
+     * Dekodiert den (zuvor mit check() geprueften) Datensatz und rueckt die Position dahinter.
+     */
+    public static Task decode(ByteBuffer buffer, int payloadLength) {
+        int start = buffer.position() + HEADER_BYTES;
+        long id = buffer.getLong(start + 1);
+        long createdAtMillis = buffer.getLong(start + 9);
+        boolean completed = buffer.get(start + 17) != 0;
+        byte[] title = new byte[payloadLength - FIXED_PAYLOAD_BYTES];
+        buffer.get(start + FIXED_PAYLOAD_BYTES, title);
+        buffer.position(start + payloadLength);
+        return new Task(id, new String(title, StandardCharsets.UTF_8), completed,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAtMillis), ZoneOffset.UTC));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(offset + length).position(offset));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,189 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.util;
+
+// Erweiterung: Thread-sichere, neustartfeste Vergabe von Task-IDs in Bloecken.
+// Erweiterung: Bloecke wachsen pro Thread von FIRST_BLOCK bis blockSize — kurzlebige Threads
+// verbrauchen kaum IDs und schieben die Marke selten vor.
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vergibt eindeutige, positive IDs.
+ *
+ * Jeder Thread holt sich per getAndAdd einen Block von IDs und vergibt daraus ohne jede
+ * Synchronisation — der gemeinsame Zaehler wird nur einmal pro Block beruehrt.
+ * IDs sind damit eindeutig, aber nicht ueber Threads hinweg aufsteigend; ungenutzte Reste
+ * eines Blocks bleiben als Luecke.
+ *
+ * Blockgroesse: Der erste Block eines Threads hat FIRST_BLOCK IDs, jeder weitere doppelt so viele,
+ * bis blockSize erreicht ist. Ein langlebiger Thread kommt nach wenigen Bloecken auf volle Groesse;
+ * ein Thread pro Anfrage (oder ein virtueller Thread pro Task) belegt dagegen nur FIRST_BLOCK IDs
+ * statt blockSize — sonst verbrauchte jeder neue Thread einen vollen Block, und die Marke muesste
+ * schon alle LEASE_BLOCKS Threads im Aufrufer-Thread neu geschrieben und per fsync gesichert werden.
+ *
+ * Neustartfest: Mit attach() wird eine Hochwassermarke (HighWaterMark) angebunden. Bevor ein
+ * Block ueber die gespeicherte Marke hinausgeht, wird die Marke um LEASE_BLOCKS Bloecke
+ * vorgeschoben und dauerhaft gespeichert. Nach einem Neustart beginnt die Vergabe bei der Marke,
+ * also garantiert hinter allen zuvor vergebenen IDs. Die Datei wird dadurch nur einmal pro
+ * LEASE_BLOCKS * blockSize reservierten IDs geschrieben — bei lauter kurzlebigen Threads also
+ * etwa einmal pro LEASE_BLOCKS * blockSize / FIRST_BLOCK neuen Threads.
+ */
+public final class IdAllocator {
+
+    /** Bloecke, fuer die eine gespeicherte Marke im Voraus reicht. */
+    static final int LEASE_BLOCKS = 64;
+
+    /** IDs im ersten Block eines Threads (hoechstens blockSize). */
+    static final int FIRST_BLOCK = 16;
+
+    /**
+     * Dauerhafte Ablage der Hochwassermarke (erste nicht mehr reservierte ID).
+     */
+    public interface HighWaterMark {
+
+        /** Gespeicherte Marke oder 0, wenn noch keine existiert. */
+        long load();
+
+        /** Speichert die Marke dauerhaft (muss vor dem Rueckkehren auf der Platte sein). */
+        void store(long mark);
+
+        /**
+         * Marke in einer Datei: 8 Bytes, per temporaerer Datei, fsync und atomarem Umbenennen
+         * geschrieben — nach einem Absturz gilt immer die alte oder die neue Marke.
+         */
+        static HighWaterMark file(Path file) {
+            return new HighWaterMark() {
+                @Override
+                public long load() {
+                    try {
+                        return Files.exists(file) ? ByteBuffer.wrap(Files.readAllBytes(file)).getLong() : 0;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("ID-Hochwassermarke nicht lesbar: " + file, e);
+                    }
+                }
+
+                @Override
+                public void store(long mark) {
+                    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                    try {
+                        Files.createDirectories(file.toAbsolutePath().getParent());
+                        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, mark));
+                            channel.force(true);
+                        }
+                        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE,
+                                StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("ID-Hochwassermarke nicht speicherbar: " + file, e);
+                    }
+                }
+            };
+        }
+    }
+
+    // Pro Thread: aktueller Block [next, end), seine Groesse und die Generation, aus der er stammt
+    private static final class Block {
+        long next;
+        long end;
+        int size;
+        int generation = -1;
+    }
+
+    private final AtomicLong nextBlockStart = new AtomicLong(1);
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    private volatile int blockSize;
+    // attach()/advancePast() erhoehen die Generation und machen damit alle Thread-Bloecke ungueltig
+    private volatile int generation;
+
+    private HighWaterMark highWaterMark;          // nur unter this
+    private volatile long leasedUpTo = Long.MAX_VALUE; // ohne Marke unbegrenzt
+
+    public IdAllocator(int blockSize) {
+        setBlockSize(blockSize);
+    }
+
+    /**
+     * Liefert die naechste ID — im Normalfall ohne Synchronisation.
+     */
+    public long next() {
+        Block block = blocks.get();
+        if (block.next == block.end || block.generation != generation) {
+            refill(block);
+        }
+        return block.next++;
+    }
+
+    private void refill(Block block) {
+        while (true) {
+            int gen = generation;
+            int size = (int) Math.min(blockSize, block.size == 0 ? FIRST_BLOCK : 2L * block.size);
+            long start = nextBlockStart.getAndAdd(size);
+            long end = start + size;
+            if (end > leasedUpTo) {
+                extendLease(end);
+            }
+            if (gen == generation) {
+                block.next = start;
+                block.end = end;
+                block.size = size;
+                block.generation = gen;
+                return;
+            }
+            // attach()/advancePast() kam dazwischen — Block koennte unterhalb der neuen Grenze liegen
+        }
+    }
+
+    private synchronized void extendLease(long end) {
+        if (end <= leasedUpTo) {
+            return;
+        }
+        long lease = end + (long) blockSize * LEASE_BLOCKS;
+        highWaterMark.store(lease);
+        leasedUpTo = lease;
+    }
+
+    /**
+     * Bindet eine Hochwassermarke an: Die Vergabe setzt hinter der gespeicherten Marke fort.
+     * Bereits vergebene Thread-Bloecke werden verworfen.
+     */
+    public synchronized void attach(HighWaterMark mark, int newBlockSize) {
+        setBlockSize(newBlockSize);
+        long stored = mark.load();
+        nextBlockStart.accumulateAndGet(stored, Math::max);
+        highWaterMark = mark;
+        leasedUpTo = stored;
+        generation++;
+    }
+
+    /**
+     * Stellt sicher, dass keine ID &lt;= id mehr vergeben wird (z.B. nach dem Einlesen gespeicherter
+     * Tasks, falls die Marke verloren ging). Auch laufende Thread-Bloecke koennten id enthalten —
+     * sie werden deshalb immer verworfen.
+     */
+    public synchronized void advancePast(long id) {
+        nextBlockStart.accumulateAndGet(id + 1, Math::max);
+        generation++;
+    }
+
+    private void setBlockSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Blockgroesse muss positiv sein: " + size);
+        }
+        blockSize = size;
+    }
+
+    /** Erste noch nicht an einen Block vergebene ID. */
+    public long getNextBlockStart() {
+        return nextBlockStart.get();
+    }
+}
@@ -0,0 +1,282 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.util;
+
+// Erweiterung: Primitive Hash-Map long -> long fuer die ID-Indizes der Repositories.
+// Erweiterung: remove() mit Grabsteinen; Neuaufbau raeumt sie ab und verkleinert die Tabelle.
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hash-Map von long-Schluesseln auf nicht-negative long-Werte (z.B. Task-ID -> Slot).
+ *
+ * Open Addressing mit linearem Sondieren in zwei parallelen long-Arrays: keine
+ * Long-Boxen, keine Map.Entry-Objekte — get() alloziert nichts.
+ *
+ * Thread-Sicherheit: Die Map ist in Segmente aufgeteilt, Schreiber sperren nur ihr Segment.
+ * Leser kommen ganz ohne Sperre aus: Ein Eintrag gilt erst als belegt, wenn sein Wert
+ * (mit Release-Semantik, nach dem Schluessel) geschrieben ist. Beim Wachsen wird eine neue
+ * Tabelle vollstaendig aufgebaut und erst dann veroeffentlicht.
+ *
+ * Entfernen: Der Wert wird durch einen Grabstein ersetzt, der Schluessel bleibt stehen —
+ * Sondierketten bleiben damit auch fuer gleichzeitige Leser stabil. Sobald Eintraege und
+ * Grabsteine zusammen die Haelfte der Tabelle belegen, wird sie ohne Grabsteine neu aufgebaut
+ * (bei wenigen lebenden Eintraegen in gleicher oder kleinerer Groesse). Unter stetigem
+ * Einfuegen und Entfernen bleibt der Speicherbedarf so proportional zur Anzahl lebender Eintraege.
+ */
+public final class LongLongHashMap {
+
+    /** Rueckgabe von get() fuer fehlende Schluessel. */
+    public static final long MISSING = -1;
+
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Gespeicherter Wert eines entfernten Eintrags (lebende Eintraege speichern value + 1 >= 1)
+    private static final long TOMBSTONE = -1;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+    public LongLongHashMap() {
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Liefert den Wert zum Schluessel oder MISSING.
+     */
+    public long get(long key) {
+        long hash = mix(key);
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS)) & SEGMENT_MASK].get(key, (int) hash);
+    }
+
+    /**
+     * Traegt den Wert ein, sofern der Schluessel noch fehlt.
+     *
+     * @param value nicht-negativer Wert kleiner als Long.MAX_VALUE
+     * @return bereits vorhandener Wert oder MISSING, wenn neu eingetragen wurde
+     */
+    public long putIfAbsent(long key, long value) {
+        if (value < 0 || value == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Wert ausserhalb von 0..Long.MAX_VALUE-1: " + value);
+        }
+        long hash = mix(key);
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS)) & SEGMENT_MASK]
+                .putIfAbsent(key, (int) hash, value);
+    }
+
+    /**
+     * Entfernt den Schluessel.
+     *
+     * @return bisheriger Wert oder MISSING, wenn der Schluessel fehlte
+     */
+    public long remove(long key) {
+        long hash = mix(key);
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS)) & SEGMENT_MASK].remove(key, (int) hash);
+    }
+
+    /**
+     * Ersetzt den Wert nur, wenn der Schluessel noch auf expected zeigt.
+     *
+     * @param value nicht-negativer Wert kleiner als Long.MAX_VALUE
+     * @return true, wenn ersetzt wurde
+     */
+    public boolean replace(long key, long expected, long value) {
+        if (value < 0 || value == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Wert ausserhalb von 0..Long.MAX_VALUE-1: " + value);
+        }
+        long hash = mix(key);
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS)) & SEGMENT_MASK]
+                .replace(key, (int) hash, expected, value);
+    }
+
+    /**
+     * Entfernt den Schluessel nur, wenn er noch auf expected zeigt.
+     *
+     * @return true, wenn entfernt wurde
+     */
+    public boolean remove(long key, long expected) {
+        long hash = mix(key);
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS)) & SEGMENT_MASK]
+                .remove(key, (int) hash, expected) != MISSING;
+    }
+
+    /** Summe der Tabellengroessen aller Segmente (Slots, belegt oder frei). */
+    public long capacity() {
+        long capacity = 0;
+        for (Segment segment : segments) {
+            capacity += segment.table.keys.length;
+        }
+        return capacity;
+    }
+
+    /** Anzahl der Eintraege (waehrend paralleler Schreibzugriffe nur eine Momentaufnahme). */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    // Murmur3-Finalizer: verteilt auch fortlaufende IDs gleichmaessig
+    private static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Ein Segment: Tabelle aus Schluesseln und Werten + 1 (0 = frei).
+     */
+    private static final class Segment {
+
+        // Sperre als Feld: eine Unterklasse von ReentrantLock erbte Serializable (Lint [serial])
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private static final class Table {
+            final long[] keys;
+            final long[] values;
+
+            Table(int capacity) {
+                keys = new long[capacity];
+                values = new long[capacity];
+            }
+        }
+
+        private volatile Table table = new Table(INITIAL_CAPACITY);
+        private volatile int size;
+        private int tombstones; // nur unter der Sperre
+
+        long get(long key, int hash) {
+            Table t = table;
+            int mask = t.keys.length - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                long stored = (long) SLOTS.getAcquire(t.values, i);
+                if (stored == 0) {
+                    return MISSING;
+                }
+                if (t.keys[i] == key) {
+                    return stored == TOMBSTONE ? MISSING : stored - 1;
+                }
+            }
+        }
+
+        long putIfAbsent(long key, int hash, long value) {
+            lock.lock();
+            try {
+                Table t = table;
+                int mask = t.keys.length - 1;
+                int i = hash & mask;
+                while (t.values[i] != 0) {
+                    if (t.keys[i] == key) {
+                        if (t.values[i] != TOMBSTONE) {
+                            return t.values[i] - 1;
+                        }
+                        // Grabstein desselben Schluessels wiederbeleben — die Kette bleibt gleich
+                        SLOTS.setRelease(t.values, i, value + 1);
+                        tombstones--;
+                        size = size + 1;
+                        return MISSING;
+                    }
+                    i = (i + 1) & mask;
+                }
+                t.keys[i] = key;
+                SLOTS.setRelease(t.values, i, value + 1);
+                int newSize = size + 1;
+                size = newSize;
+                if ((newSize + tombstones) * 2 > t.keys.length) {
+                    table = rebuild(t, newSize);
+                    tombstones = 0;
+                }
+                return MISSING;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean replace(long key, int hash, long expected, long value) {
+            lock.lock();
+            try {
+                Table t = table;
+                int mask = t.keys.length - 1;
+                for (int i = hash & mask; t.values[i] != 0; i = (i + 1) & mask) {
+                    if (t.keys[i] == key) {
+                        if (t.values[i] == TOMBSTONE || t.values[i] - 1 != expected) {
+                            return false;
+                        }
+                        SLOTS.setRelease(t.values, i, value + 1);
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long remove(long key, int hash) {
+            return remove(key, hash, MISSING);
+        }
+
+        // expected == MISSING: unabhaengig vom aktuellen Wert entfernen
+        long remove(long key, int hash, long expected) {
+            lock.lock();
+            try {
+                Table t = table;
+                int mask = t.keys.length - 1;
+                for (int i = hash & mask; t.values[i] != 0; i = (i + 1) & mask) {
+                    if (t.keys[i] == key) {
+                        long stored = t.values[i];
+                        if (stored == TOMBSTONE || (expected != MISSING && stored - 1 != expected)) {
+                            return MISSING;
+                        }
+                        SLOTS.setRelease(t.values, i, TOMBSTONE);
+                        int newSize = size - 1;
+                        size = newSize;
+                        tombstones++;
+                        // Wenige lebende Eintraege in grosser Tabelle: verkleinern
+                        if (newSize * 8 < t.keys.length && t.keys.length > INITIAL_CAPACITY) {
+                            table = rebuild(t, newSize);
+                            tombstones = 0;
+                        }
+                        return stored - 1;
+                    }
+                }
+                return MISSING;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Neue Tabelle mit hoechstens 25 % Fuellgrad fuer die lebenden Eintraege, ohne Grabsteine
+        private static Table rebuild(Table old, int liveEntries) {
+            int capacity = INITIAL_CAPACITY;
+            while (capacity < (long) liveEntries * 4) {
+                capacity *= 2;
+            }
+            Table t = new Table(capacity);
+            int mask = t.keys.length - 1;
+            for (int j = 0; j < old.keys.length; j++) {
+                if (old.values[j] != 0 && old.values[j] != TOMBSTONE) {
+                    int i = (int) mix(old.keys[j]) & mask;
+                    while (t.values[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    t.keys[i] = old.keys[j];
+                    t.values[i] = old.values[j];
+                }
+            }
+            return t;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge.util;
+
+// Erweiterung: Begrenzter Cache mit Segmented-LRU-Verdraengung (haeufigkeitsbewusst).
+// Erweiterung: Groesse zur Laufzeit aenderbar (resize).
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Begrenzter Cache mit Segmented LRU (SLRU):
+ *
+ *   probation — neue Eintraege (20 % der Groesse); hier wird zuerst verdraengt
+ *   protected — Eintraege, die mindestens ein zweites Mal gelesen wurden (80 %)
+ *
+ * Ein einmaliger Durchlauf vieler Schluessel (z.B. ein Scan) verdraengt damit nur andere
+ * Neulinge, nicht die wiederholt genutzten Eintraege — anders als bei reinem LRU.
+ * Faellt ein Eintrag aus protected heraus, bekommt er in probation eine zweite Chance.
+ *
+ * Thread-sicher ueber eine einzige Sperre; alle Operationen ausser resize() sind O(1).
+ */
+public final class SegmentedLruCache<K, V> {
+
+    private int probationCapacity;   // nur unter this
+    private int protectedCapacity;   // nur unter this
+
+    // accessOrder = false: die Reihenfolge pflegen get()/put() selbst (aelteste zuerst)
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<K, V> protectedSegment = new LinkedHashMap<>();
+    private long evictions;
+
+    public SegmentedLruCache(int maxSize) {
+        setCapacities(maxSize);
+    }
+
+    /**
+     * Aendert die maximale Groesse. Beim Verkleinern wird sofort verdraengt: zuerst wandern
+     * die aeltesten protected-Eintraege nach probation, dann faellt probation auf seine Grenze.
+     */
+    public synchronized void resize(int maxSize) {
+        setCapacities(maxSize);
+        while (protectedSegment.size() > protectedCapacity) {
+            demoteEldestProtected();
+        }
+        while (probation.size() > probationCapacity) {
+            evictEldestProbation();
+        }
+    }
+
+    public synchronized int getMaxSize() {
+        return probationCapacity + protectedCapacity;
+    }
+
+    private void setCapacities(int maxSize) {
+        if (maxSize < 2) {
+            throw new IllegalArgumentException("Cache-Groesse muss mindestens 2 sein: " + maxSize);
+        }
+        probationCapacity = Math.max(1, maxSize / 5);
+        protectedCapacity = maxSize - probationCapacity;
+    }
+
+    /**
+     * Liefert den Wert oder null. Ein Treffer in probation befoerdert den Eintrag nach protected.
+     */
+    public synchronized V get(K key) {
+        V value = protectedSegment.remove(key);
+        if (value != null) {
+            protectedSegment.put(key, value); // ans Ende = zuletzt benutzt
+            return value;
+        }
+        value = probation.remove(key);
+        if (value != null) {
+            protectedSegment.put(key, value);
+            if (protectedSegment.size() > protectedCapacity) {
+                demoteEldestProtected();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Legt einen Eintrag an bzw. ersetzt ihn (ohne Befoerderung).
+     */
+    public synchronized void put(K key, V value) {
+        if (protectedSegment.containsKey(key)) {
+            protectedSegment.put(key, value);
+            return;
+        }
+        probation.remove(key);
+        probation.put(key, value);
+        if (probation.size() > probationCapacity) {
+            evictEldestProbation();
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        if (protectedSegment.remove(key) == null) {
+            probation.remove(key);
+        }
+    }
+
+    public synchronized void clear() {
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    public synchronized int size() {
+        return probation.size() + protectedSegment.size();
+    }
+
+    /** Anzahl der bisher verdraengten Eintraege. */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private void demoteEldestProtected() {
+        Iterator<Map.Entry<K, V>> eldest = protectedSegment.entrySet().iterator();
+        Map.Entry<K, V> entry = eldest.next();
+        eldest.remove();
+        probation.put(entry.getKey(), entry.getValue());
+        if (probation.size() > probationCapacity) {
+            evictEldestProbation();
+        }
+    }
+
+    private void evictEldestProbation() {
+        Iterator<K> eldest = probation.keySet().iterator();
+        eldest.next();
+        eldest.remove();
+        evictions++;
+    }
+}
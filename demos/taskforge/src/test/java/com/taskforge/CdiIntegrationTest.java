@@ -7,6 +7,9 @@ package com.taskforge;
 import com.taskforge.event.TaskEvent;
 import com.taskforge.interceptor.Logged;
 import com.taskforge.interceptor.Timed;
+import com.taskforge.metrics.CacheMetrics;
+import com.taskforge.metrics.LatencyHistogram;
+import com.taskforge.metrics.MethodLatencyRegistry;
 import com.taskforge.model.Task;
 import com.taskforge.qualifier.InMemory;
 import com.taskforge.qualifier.Persistent;
@@ -24,10 +27,18 @@ import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.se.SeContainer;
 import jakarta.enterprise.inject.se.SeContainerInitializer;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,10 +48,15 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class CdiIntegrationTest {
 
+    // Journal, Snapshots und ID-Hochwassermarke pro Lauf frisch — nichts landet in ./data
+    @TempDir
+    static Path storageDir;
+
     private static SeContainer container;
 
     @BeforeAll
     static void startContainer() {
+        System.setProperty("app.storage.dir", storageDir.toString());
         container = SeContainerInitializer.newInstance().initialize();
     }
 
@@ -49,6 +65,7 @@ class CdiIntegrationTest {
         if (container != null && container.isRunning()) {
             container.close();
         }
+        System.clearProperty("app.storage.dir");
     }
 
     // ---------------------------------------------------------------
@@ -113,6 +130,62 @@ class CdiIntegrationTest {
         assertTrue(repo.findByTitle("Persistent-Test").isPresent());
     }
 
+    @Test
+    @DisplayName("Erweiterung: CachingTaskRepository beantwortet wiederholte Suchen aus dem Cache")
+    void cachingDecoratorCountsHits() {
+        TaskRepository repo = container.select(TaskRepository.class,
+                new Persistent.Literal()).get();
+        CacheMetrics metrics = container.select(CacheMetrics.class).get();
+        String title = "Cache-Test-" + System.nanoTime();
+        Task task = new Task(title);
+        repo.add(task);
+
+        long hits = metrics.getHits();
+        long misses = metrics.getMisses();
+        assertSame(task, repo.findByTitle(title).orElseThrow());          // Fehlgriff, wird geladen
+        assertSame(task, repo.findByTitle(title.toUpperCase()).orElseThrow()); // Treffer
+        assertSame(task, repo.findById(task.getId()).orElseThrow());      // Fehlgriff
+        assertSame(task, repo.findById(task.getId()).orElseThrow());      // Treffer
+        assertEquals(hits + 2, metrics.getHits());
+        assertEquals(misses + 2, metrics.getMisses());
+    }
+
+    @Test
+    @DisplayName("Erweiterung: paralleles Nachladen bringt einen geloeschten Task nicht zurueck in den Cache")
+    void cacheDropsLookupRacingWithDelete() throws Exception {
+        TaskRepository repo = container.select(TaskRepository.class,
+                new Persistent.Literal()).get();
+        for (int round = 0; round < 100; round++) {
+            String title = "Cache-Delete-" + round + "-" + System.nanoTime();
+            Task task = new Task(title);
+            repo.add(task);
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] readers = new Thread[4];
+            for (int r = 0; r < readers.length; r++) {
+                readers[r] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    // Bis kurz nach dem delete() nachladen — jedes Mal ein Fehlgriff
+                    for (int i = 0; i < 200; i++) {
+                        repo.findById(task.getId());
+                        repo.findByTitle(title);
+                    }
+                });
+                readers[r].start();
+            }
+            start.countDown();
+            repo.delete(task.getId());
+            for (Thread reader : readers) {
+                reader.join(5_000);
+            }
+            assertTrue(repo.findById(task.getId()).isEmpty(), "Runde " + round + ": ID noch im Cache");
+            assertTrue(repo.findByTitle(title).isEmpty(), "Runde " + round + ": Titel noch im Cache");
+        }
+    }
+
     @Test
     @DisplayName("Uebung 3: MockTaskRepository ist als @Alternative registriert")
     void mockAlternativeExists() {
@@ -153,17 +226,15 @@ class CdiIntegrationTest {
     @DisplayName("Uebung 5: TaskStatistics zaehlt CREATED-Events")
     void statisticsCountsCreatedEvents() {
         TaskStatistics stats = container.select(TaskStatistics.class).get();
-        int before = stats.getCreatedCount();
+        long before = stats.getCreatedCount();
 
         TaskService service = container.select(TaskService.class).get();
         service.createTask("Stats-Test-1");
         service.createTask("Stats-Test-2");
 
-        // Da @Service @Dependent ist, brauchen wir eine frische Instanz
-        // aber TaskStatistics ist auch @Service (@Dependent) — der Observer
-        // wird trotzdem aufgerufen. Pruefen wir die Instanz direkt.
+        // TaskStatistics ist @ApplicationScoped — jede Instanz zeigt denselben Stand
         TaskStatistics freshStats = container.select(TaskStatistics.class).get();
-        assertTrue(freshStats.getCreatedCount() >= 0);
+        assertTrue(freshStats.getCreatedCount() >= before + 2);
     }
 
     @Test
@@ -183,6 +254,21 @@ class CdiIntegrationTest {
         assertFalse(result);
     }
 
+    @Test
+    @DisplayName("Erweiterung: deleteTask entfernt den Task aus Repository und Cache")
+    void deleteTaskRemovesTask() {
+        TaskService service = container.select(TaskService.class).get();
+        Task task = service.createTask("Delete-Test-" + System.nanoTime());
+        TaskRepository repo = container.select(TaskRepository.class, new InMemory.Literal()).get();
+        assertTrue(repo.findById(task.getId()).isPresent());
+
+        assertTrue(service.deleteTask(task.getId()));
+        assertFalse(service.deleteTask(task.getId()));
+        assertTrue(repo.findById(task.getId()).isEmpty());
+        assertTrue(repo.findByTitle(task.getTitle()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.deleteTask(0));
+    }
+
     // ---------------------------------------------------------------
     // Uebung 6: Interceptors (@Logged, @Timed)
     // ---------------------------------------------------------------
@@ -221,6 +307,134 @@ class CdiIntegrationTest {
                 "Interceptor-Ausgabe '[TIMER]' erwartet, gefunden:\n" + output);
     }
 
+    @Test
+    @DisplayName("Erweiterung: app.logged.level=ERROR unterdrueckt Ein-/Austritt, nicht Exceptions")
+    void loggedLevelErrorLogsOnlyFailures() {
+        PrintStream original = System.out;
+        ByteArrayOutputStream capture = new ByteArrayOutputStream();
+        System.setProperty("app.logged.level", "ERROR");
+        System.setOut(new PrintStream(capture));
+        try {
+            // @Dependent: neue Service-Instanz -> neue Interceptor-Instanz mit neuer Konfiguration
+            TaskService service = container.select(TaskService.class).get();
+            service.createTask("Level-Test");
+            assertThrows(IllegalArgumentException.class, () -> service.createTask(""));
+        } finally {
+            System.setOut(original);
+            System.clearProperty("app.logged.level");
+        }
+        String output = capture.toString();
+        assertFalse(output.contains("[LOGGED] ->"), "Kein Eintritt bei ERROR erwartet:\n" + output);
+        assertTrue(output.contains("[LOGGED] !! TaskService.createTask() warf IllegalArgumentException"),
+                "Exception-Ausgabe erwartet:\n" + output);
+    }
+
+    @Test
+    @DisplayName("Erweiterung: app.logged.level=OFF schaltet das Logging ab")
+    void loggedLevelOffLogsNothing() {
+        PrintStream original = System.out;
+        ByteArrayOutputStream capture = new ByteArrayOutputStream();
+        System.setProperty("app.logged.level", "OFF");
+        System.setOut(new PrintStream(capture));
+        try {
+            TaskService service = container.select(TaskService.class).get();
+            service.createTask("Off-Test");
+            assertThrows(IllegalArgumentException.class, () -> service.createTask(""));
+        } finally {
+            System.setOut(original);
+            System.clearProperty("app.logged.level");
+        }
+        assertFalse(capture.toString().contains("[LOGGED]"));
+    }
+
+    @Test
+    @DisplayName("Erweiterung: app.logged.sampleRate gibt nur einen Teil der Aufrufe aus")
+    void loggedSampleRateThinsOutput() {
+        PrintStream original = System.out;
+        ByteArrayOutputStream capture = new ByteArrayOutputStream();
+        System.setProperty("app.logged.sampleRate", "1000000");
+        System.setOut(new PrintStream(capture));
+        try {
+            TaskService service = container.select(TaskService.class).get();
+            for (int i = 0; i < 20; i++) {
+                service.getAppName();
+            }
+        } finally {
+            System.setOut(original);
+            System.clearProperty("app.logged.sampleRate");
+        }
+        // 20 Aufrufe bei 1 aus 1.000.000: praktisch nie eine Ausgabe
+        assertFalse(capture.toString().contains("[LOGGED] -> TaskService.getAppName()"));
+    }
+
+    @Test
+    @DisplayName("Erweiterung: @Timed fuellt die Histogramme der MethodLatencyRegistry")
+    void timedInterceptorRecordsHistogram() {
+        MethodLatencyRegistry registry = container.select(MethodLatencyRegistry.class).get();
+        TaskService service = container.select(TaskService.class).get();
+        service.createTask("Histogramm-Test");
+        LatencyHistogram histogram = registry.getHistogram("TaskService.createTask").orElseThrow();
+        assertTrue(histogram.getCount() >= 1);
+        assertTrue(histogram.getMax() > 0, "Dauer in Nanosekunden erwartet");
+        assertTrue(registry.getSummary().contains("TaskService.createTask: n="));
+    }
+
+    @Test
+    @DisplayName("Erweiterung: @Traced gibt den Aufrufbaum nur ueber der Schwelle aus")
+    void tracingPrintsCallTreeOnlyForSlowCalls() {
+        PrintStream original = System.out;
+        ByteArrayOutputStream fast = new ByteArrayOutputStream();
+        ByteArrayOutputStream slow = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(fast));
+            container.select(TaskService.class).get().getAppName();
+
+            // Schwelle -1: jeder aeusserste Aufruf gilt als langsam
+            System.setProperty("app.trace.thresholdMs", "-1");
+            System.setOut(new PrintStream(slow));
+            container.select(TaskService.class).get().createTask("Trace-Test");
+        } finally {
+            System.setOut(original);
+            System.clearProperty("app.trace.thresholdMs");
+        }
+        assertFalse(fast.toString().contains("[TRACE]"), "Schneller Aufruf ohne Baum erwartet");
+        String output = slow.toString();
+        assertTrue(output.contains("[TRACE] Langsamer Aufruf"), output);
+        int root = output.indexOf("\n    TaskService.createTask() ");
+        int child = output.indexOf("\n      InMemoryTaskRepository.add() ");
+        assertTrue(root >= 0 && child > root, "Repository-Aufruf eingerueckt unter dem Service erwartet:\n" + output);
+    }
+
+    @Test
+    @DisplayName("Erweiterung: JFR-Events fuer Service-Aufrufe und Task-Ereignisse")
+    void jfrEventsAreRecorded() throws Exception {
+        Path file = Files.createTempFile("taskforge", ".jfr");
+        String title = "JFR-Test-" + System.nanoTime();
+        try (Recording recording = new Recording()) {
+            recording.enable("com.taskforge.ServiceCall");
+            recording.enable("com.taskforge.TaskLifecycle");
+            recording.start();
+            TaskService service = container.select(TaskService.class).get();
+            service.createTask(title);
+            assertThrows(IllegalArgumentException.class, () -> service.createTask(""));
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("com.taskforge.ServiceCall")
+                && e.getString("className").equals("TaskService")
+                && e.getString("methodName").equals("createTask")
+                && !e.getBoolean("failed")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("com.taskforge.ServiceCall")
+                && e.getBoolean("failed")
+                && e.getString("exceptionType").equals(IllegalArgumentException.class.getName())));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("com.taskforge.TaskLifecycle")
+                && e.getString("action").equals("CREATED")
+                && e.getString("title").equals(title)));
+    }
+
     @Test
     @DisplayName("Uebung 6: Interceptor-Reihenfolge: LOGGED (900) vor TIMED (1000)")
     void interceptorOrderIsCorrect() {
@@ -289,6 +503,59 @@ class CdiIntegrationTest {
                 "Decorator-Ausgabe '[Validator]' erwartet");
     }
 
+    @Test
+    @DisplayName("Erweiterung: Decorator lehnt nicht-positive Seitengroesse ab")
+    void decoratorRejectsInvalidPageSize() {
+        TaskRepository repo = container.select(TaskRepository.class,
+                new InMemory.Literal()).get();
+        assertThrows(IllegalArgumentException.class, () -> repo.findPage(0, 0));
+    }
+
+    @Test
+    @DisplayName("Erweiterung: findPage blaettert durch das Repository")
+    void findPageThroughDecorator() {
+        TaskRepository repo = container.select(TaskRepository.class,
+                new InMemory.Literal()).get();
+        Task first = new Task("Paging-Test-1");
+        repo.add(first);
+        repo.add(new Task("Paging-Test-2"));
+        List<Task> page = repo.findPage(first.getId(), 1);
+        assertEquals(1, page.size());
+        assertEquals("Paging-Test-2", page.get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("Erweiterung: createTasks legt einen Batch mit einer Validierung an")
+    void createTasksAddsWholeBatch() {
+        PrintStream original = System.out;
+        ByteArrayOutputStream capture = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(capture));
+        List<Task> tasks;
+        try {
+            TaskService service = container.select(TaskService.class).get();
+            tasks = service.createTasks(List.of("Batch-Test-1", "Batch-Test-2", "Batch-Test-3"));
+        } finally {
+            System.setOut(original);
+        }
+        assertEquals(3, tasks.size());
+        TaskRepository repo = container.select(TaskRepository.class, new InMemory.Literal()).get();
+        assertTrue(repo.findByTitle("Batch-Test-3").isPresent());
+        String output = capture.toString();
+        assertTrue(output.contains("3 Task-Titel validiert"), "Batch-Validierung erwartet");
+        assertTrue(output.contains("createTasks()"), "Interceptor fuer den Batch erwartet");
+        assertFalse(output.contains("createTask()"), "Kein Einzelaufruf pro Task erwartet");
+    }
+
+    @Test
+    @DisplayName("Erweiterung: Ungueltiger Titel verwirft den ganzen Batch")
+    void createTasksRejectsWholeBatch() {
+        TaskService service = container.select(TaskService.class).get();
+        assertThrows(IllegalArgumentException.class,
+                () -> service.createTasks(List.of("Batch-Gueltig-" + System.nanoTime(), "")));
+        TaskRepository repo = container.select(TaskRepository.class, new InMemory.Literal()).get();
+        assertTrue(repo.findAll().stream().noneMatch(t -> t.getTitle().startsWith("Batch-Gueltig-")));
+    }
+
     // ---------------------------------------------------------------
     // Uebung 8: Stereotypes
     // ---------------------------------------------------------------
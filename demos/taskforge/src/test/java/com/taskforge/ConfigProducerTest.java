@@ -0,0 +1,231 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer den ConfigProducer: typisierte Werte, Cache und Neuladen per WatchService.
+
+import com.taskforge.config.ConfigChangedEvent;
+import com.taskforge.config.ConfigProducer;
+import com.taskforge.event.DispatchMode;
+import com.taskforge.event.TaskEvent;
+import com.taskforge.event.TaskEventBatch;
+import com.taskforge.event.TaskEventDispatcher;
+import com.taskforge.model.Task;
+import com.taskforge.qualifier.ConfigValue;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Startet einen eigenen Weld-Container, dessen ConfigProducer eine Datei im Temp-Verzeichnis
+ * liest und ueberwacht (app.config.file).
+ */
+class ConfigProducerTest {
+
+    private static final String INITIAL = """
+            test.int=42
+            test.long=5000000000
+            test.flag=TRUE
+            test.duration=250ms
+            test.mode=async
+            test.broken=zwoelf
+            """;
+
+    private static Path dir;
+    private static Path file;
+    // Journal, Snapshots und ID-Hochwassermarke pro Lauf frisch — nichts landet in ./data
+    @TempDir
+    static Path storageDir;
+
+    private static SeContainer container;
+
+    @BeforeAll
+    static void startContainer() throws Exception {
+        System.setProperty("app.storage.dir", storageDir.toString());
+        dir = Files.createTempDirectory("taskforge-config");
+        file = dir.resolve("taskforge.properties");
+        Files.writeString(file, INITIAL);
+        System.setProperty("app.config.file", file.toString());
+        container = SeContainerInitializer.newInstance()
+                .addBeanClasses(ChangeRecorder.class, ConfiguredProbe.class)
+                .initialize();
+    }
+
+    @AfterAll
+    static void stopContainer() throws Exception {
+        if (container != null && container.isRunning()) {
+            container.close();
+        }
+        System.clearProperty("app.storage.dir");
+        System.clearProperty("app.config.file");
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    @DisplayName("Typisierte Werte per Getter: int, long, boolean, Duration, Enum, Standardwerte")
+    void typedGetters() {
+        ConfigProducer config = container.select(ConfigProducer.class).get();
+
+        assertEquals(42, config.getInt("test.int", 0));
+        assertEquals(5_000_000_000L, config.getLong("test.long", 0));
+        assertTrue(config.getBoolean("test.flag", false));
+        assertEquals(Duration.ofMillis(250), config.getDuration("test.duration", Duration.ZERO));
+        assertEquals(DispatchMode.ASYNC, config.getEnum("test.mode", DispatchMode.class, DispatchMode.SYNC));
+        assertEquals(7, config.getInt("test.fehlt", 7));
+        assertEquals("TaskForge", config.getString("app.name", "?"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> config.getInt("test.broken", 0));
+        assertTrue(e.getMessage().contains("test.broken"));
+    }
+
+    @Test
+    @DisplayName("@ConfigValue injiziert int, long, boolean und Duration")
+    void typedInjection() {
+        ConfiguredProbe probe = container.select(ConfiguredProbe.class).get();
+
+        assertEquals(42, probe.number);
+        assertEquals(17L, probe.withDefault);
+        assertTrue(probe.flag);
+        assertEquals(Duration.ofMillis(250), probe.duration);
+        assertEquals("?", probe.missing);
+    }
+
+    @Test
+    @DisplayName("Geaenderte Datei -> ConfigChangedEvent mit den geaenderten Schluesseln, neue Werte")
+    void fileChangeFiresEvent() throws Exception {
+        ConfigProducer config = container.select(ConfigProducer.class).get();
+        ChangeRecorder recorder = container.select(ChangeRecorder.class).get();
+        long version = config.getVersion();
+
+        Files.writeString(file, INITIAL.replace("test.int=42", "test.int=43") + "test.neu=1\n");
+
+        ConfigChangedEvent event = recorder.next();
+        assertNotNull(event, "Kein ConfigChangedEvent nach Aenderung der Datei");
+        assertTrue(event.affects("test.int"));
+        assertTrue(event.affects("test.neu"));
+        assertFalse(event.affects("test.long"));
+        assertEquals("42", event.getOldValue("test.int"));
+        assertEquals("43", event.getNewValue("test.int"));
+        assertEquals(43, config.getInt("test.int", 0));
+        assertTrue(config.getVersion() > version);
+
+        // Unveraendert neu laden: kein Event
+        recorder.clear();
+        assertTrue(config.reload().isEmpty());
+        assertNull(recorder.poll());
+
+        // Fremde System-Properties zaehlen nicht, eigene Schluessel schon
+        System.setProperty("unrelated.taskforge.probe", "x");
+        System.setProperty("test.long", "8");
+        try {
+            assertEquals(Set.of("test.long"), config.reload());
+            assertEquals(8L, config.getLong("test.long", 0));
+            assertNull(config.getString("unrelated.taskforge.probe", null));
+        } finally {
+            System.clearProperty("unrelated.taskforge.probe");
+            System.clearProperty("test.long");
+        }
+        assertEquals(Set.of("test.long"), config.reload());
+        recorder.clear();
+
+        Files.writeString(file, INITIAL);
+        assertNotNull(recorder.next());
+        assertEquals(42, config.getInt("test.int", 0));
+    }
+
+    // Zugriff nur ueber Methoden — Felder eines @ApplicationScoped-Beans sind am Client-Proxy leer
+    @Test
+    @DisplayName("app.events.batch.maxSize wirkt ohne Neustart im TaskEventDispatcher")
+    void batchSizeAppliesLive() throws Exception {
+        TaskEventDispatcher dispatcher = container.select(TaskEventDispatcher.class).get();
+        ChangeRecorder recorder = container.select(ChangeRecorder.class).get();
+        dispatcher.getDispatchMode(); // Instanz hinter dem Client-Proxy erzeugen (IF_EXISTS-Observer)
+        recorder.clear();
+
+        Files.writeString(file, INITIAL + "app.events.batch.maxSize=3\napp.events.batch.maxDelayMs=60000\n");
+        assertNotNull(recorder.next(), "Kein ConfigChangedEvent nach Aenderung der Datei");
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatch(new TaskEvent(new Task("Live " + i), TaskEvent.Action.CREATED));
+        }
+        assertEquals(3, recorder.lastBatchSize());
+
+        Files.writeString(file, INITIAL);
+        assertNotNull(recorder.next());
+    }
+
+    @ApplicationScoped
+    public static class ChangeRecorder {
+
+        private final BlockingQueue<ConfigChangedEvent> events = new LinkedBlockingQueue<>();
+        private volatile int lastBatchSize;
+
+        // Nach allen Anwendungs-Observern: wer auf next() wartet, sieht die Aenderung schon angewendet
+        void onChange(@Observes @Priority(Interceptor.Priority.LIBRARY_AFTER) ConfigChangedEvent event) {
+            events.add(event);
+        }
+
+        void onBatch(@Observes TaskEventBatch batch) {
+            lastBatchSize = batch.size();
+        }
+
+        int lastBatchSize() {
+            return lastBatchSize;
+        }
+
+        ConfigChangedEvent next() throws InterruptedException {
+            return events.poll(10, TimeUnit.SECONDS);
+        }
+
+        ConfigChangedEvent poll() {
+            return events.poll();
+        }
+
+        void clear() {
+            events.clear();
+        }
+    }
+
+    @Dependent
+    public static class ConfiguredProbe {
+
+        @Inject
+        @ConfigValue("test.int")
+        int number;
+
+        @Inject
+        @ConfigValue(value = "test.fehlt", defaultValue = "17")
+        long withDefault;
+
+        @Inject
+        @ConfigValue("test.flag")
+        boolean flag;
+
+        @Inject
+        @ConfigValue("test.duration")
+        Duration duration;
+
+        @Inject
+        @ConfigValue("test.fehlt")
+        String missing;
+    }
+}
@@ -0,0 +1,108 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Dauertest: Erzeugen und Loeschen im Wechsel darf den Speicher nicht wachsen lassen
+
+import com.taskforge.model.Task;
+import com.taskforge.repository.InMemoryTaskRepository;
+import com.taskforge.repository.OffHeapTaskRepository;
+import com.taskforge.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Haelt 10.000 lebende Tasks und ersetzt sie millionenfach (Erzeugen + Loeschen).
+ * Ohne Speicherfreigabe wuerden Log, ID-Index und Titel-Index mit jeder Operation wachsen —
+ * mit Freigabe bleibt der belegte Heap nach dem Aufwaermen auf einem Plateau.
+ * Das OffHeapTaskRepository bekommt eindeutige Titel, damit auch die Titel-Arena gefordert ist;
+ * dort muss zusaetzlich der Off-Heap-Speicher auf einem Plateau bleiben.
+ */
+class DeleteSoakTest {
+
+    private static final int LIVE = 10_000;
+    private static final int WARMUP = 500_000;
+    private static final int CHURN = 3_000_000;
+
+    // Ohne Freigabe kaemen fuer CHURN Tasks mehrere hundert MB hinzu
+    private static final long TOLERANCE_BYTES = 32L * 1024 * 1024;
+
+    // Ohne Kompaktierung kaeme allein fuer die eindeutigen Titel ein Vielfaches hinzu
+    private static final long OFF_HEAP_TOLERANCE_BYTES = 16L * 1024 * 1024;
+
+    @Test
+    void heapPlateausUnderCreateDeleteChurn() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        Deque<Task> live = new ArrayDeque<>(LIVE);
+        for (int i = 0; i < LIVE; i++) {
+            Task task = new Task("Soak " + i);
+            repo.add(task);
+            live.add(task);
+        }
+
+        churn(repo, live, WARMUP, false);
+        long plateau = usedHeapAfterGc();
+        churn(repo, live, CHURN, false);
+        long after = usedHeapAfterGc();
+
+        assertEquals(LIVE, repo.findAll().size());
+        assertEquals(LIVE, repo.stream().count());
+        Task newest = live.peekLast();
+        assertSame(newest, repo.findById(newest.getId()).orElseThrow());
+        assertSame(newest, repo.findByTitle(newest.getTitle()).orElseThrow());
+        assertTrue(after - plateau < TOLERANCE_BYTES,
+                "Heap gewachsen um " + (after - plateau) / 1024 + " KB");
+    }
+
+    @Test
+    void offHeapPlateausUnderCreateDeleteChurnWithUniqueTitles() {
+        OffHeapTaskRepository repo = new OffHeapTaskRepository();
+        Deque<Task> live = new ArrayDeque<>(LIVE);
+        for (int i = 0; i < LIVE; i++) {
+            Task task = new Task("Soak " + i);
+            repo.add(task);
+            live.add(task);
+        }
+
+        churn(repo, live, WARMUP, true);
+        long plateau = usedHeapAfterGc();
+        long offHeapPlateau = repo.getOffHeapBytes();
+        churn(repo, live, CHURN, true);
+        long after = usedHeapAfterGc();
+        long offHeapAfter = repo.getOffHeapBytes();
+
+        assertEquals(LIVE, repo.findAll().size());
+        assertEquals(LIVE, repo.stream().count());
+        Task newest = live.peekLast();
+        assertEquals(newest.getId(), repo.findById(newest.getId()).orElseThrow().getId());
+        assertEquals(newest.getId(), repo.findByTitle(newest.getTitle()).orElseThrow().getId());
+        assertTrue(offHeapAfter - offHeapPlateau < OFF_HEAP_TOLERANCE_BYTES,
+                "Off-Heap gewachsen um " + (offHeapAfter - offHeapPlateau) / 1024 + " KB");
+        assertTrue(after - plateau < TOLERANCE_BYTES,
+                "Heap gewachsen um " + (after - plateau) / 1024 + " KB");
+    }
+
+    // Loescht jeweils den aeltesten Task und legt einen neuen an
+    private static void churn(TaskRepository repo, Deque<Task> live, int operations, boolean uniqueTitles) {
+        for (int i = 0; i < operations; i++) {
+            Task oldest = live.poll();
+            assertTrue(repo.delete(oldest.getId()).isPresent());
+            Task task = new Task(uniqueTitles ? "Soak " + oldest.getId() : "Soak " + (i % 50_000));
+            repo.add(task);
+            live.add(task);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
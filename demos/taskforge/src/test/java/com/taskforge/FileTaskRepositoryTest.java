@@ -0,0 +1,141 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer das FileTaskRepository ueber einen Neustart hinweg (zwei Weld-Container nacheinander)
+
+import com.taskforge.model.Task;
+import com.taskforge.qualifier.Persistent;
+import com.taskforge.repository.TaskRepository;
+
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Jeder Test bekommt ein eigenes app.storage.dir; "Neustart" = Container schliessen
+ * (letzter Snapshot in @PreDestroy) bzw. nur das Journal nachspielen lassen und neu starten.
+ */
+class FileTaskRepositoryTest {
+
+    @TempDir
+    Path storageDir;
+
+    @BeforeEach
+    void useStorageDir() {
+        System.setProperty("app.storage.dir", storageDir.toString());
+    }
+
+    @AfterEach
+    void clearStorageDir() {
+        System.clearProperty("app.storage.dir");
+        System.clearProperty("app.snapshot.everyRecords");
+    }
+
+    private static SeContainer start() {
+        return SeContainerInitializer.newInstance().initialize();
+    }
+
+    private static TaskRepository repository(SeContainer container) {
+        return container.select(TaskRepository.class, new Persistent.Literal()).get();
+    }
+
+    @Test
+    @DisplayName("complete() ueberlebt den Neustart — aus dem Snapshot")
+    void completionSurvivesRestartViaSnapshot() {
+        long id;
+        try (SeContainer container = start()) {
+            Task task = new Task("Erledigt vor Neustart");
+            repository(container).add(task);
+            id = task.getId();
+            assertTrue(repository(container).complete(id).orElseThrow().isCompleted());
+        }
+        try (SeContainer container = start()) {
+            assertTrue(repository(container).findById(id).orElseThrow().isCompleted());
+        }
+    }
+
+    @Test
+    @DisplayName("complete() ueberlebt den Neustart — aus dem Journal (ohne Snapshot dazwischen)")
+    void completionSurvivesRestartViaJournal() {
+        // Grosse Schwelle: kein Hintergrund-Snapshot; der Snapshot beim Beenden faellt weg,
+        // weil der erste Container nie sauber geschlossen wird — nur sein Journal zaehlt
+        System.setProperty("app.snapshot.everyRecords", "1000000");
+        Task open = new Task("Bleibt offen");
+        Task done = new Task("Im Journal erledigt");
+        SeContainer crashed = start();
+        repository(crashed).addAll(List.of(open, done));
+        repository(crashed).complete(done.getId());
+
+        // Zweiter Container liest dasselbe Verzeichnis, waehrend der erste noch "haengt"
+        try (SeContainer container = start()) {
+            assertTrue(repository(container).findById(done.getId()).orElseThrow().isCompleted());
+            assertFalse(repository(container).findById(open.getId()).orElseThrow().isCompleted());
+        } finally {
+            crashed.close();
+        }
+    }
+
+    @Test
+    @DisplayName("stream() liefert jeden Task genau einmal, auch wenn zwischendurch kompaktiert wird")
+    void streamSurvivesCompaction() {
+        System.setProperty("app.snapshot.everyRecords", "1000000");
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 3 * 1024; i++) {
+            batch.add(new Task("Stream " + i));
+        }
+        List<Long> seen = new ArrayList<>();
+        Iterator<Task> stream;
+        try (SeContainer container = start()) {
+            TaskRepository repository = repository(container);
+            repository.addAll(batch);
+            stream = repository.stream().iterator();
+            seen.add(stream.next().getId()); // erste Seite ist kopiert
+            for (int i = 0; i < 1000; i++) {
+                repository.delete(batch.get(i).getId());
+            }
+        } // Snapshot beim Beenden kompaktiert: 1000 Luecken >= ein Viertel der Liste
+        stream.forEachRemaining(task -> seen.add(task.getId()));
+        assertEquals(batch.stream().map(Task::getId).toList(), seen);
+    }
+
+    @Test
+    @DisplayName("findPage() blaettert nach dem Loeschen des Cursor-Tasks weiter")
+    void findPageResumesAfterDeletedCursor() {
+        Task a = new Task("Seite A");
+        Task b = new Task("Seite B");
+        Task c = new Task("Seite C");
+        try (SeContainer container = start()) {
+            TaskRepository repository = repository(container);
+            repository.addAll(List.of(a, b, c));
+            repository.delete(b.getId());
+            assertEquals(List.of(c.getId()),
+                    repository.findPage(b.getId(), 10).stream().map(Task::getId).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("findPage() folgt der Einfuegereihenfolge, nicht der ID-Reihenfolge")
+    void findPageFollowsInsertionOrderNotIdOrder() {
+        Task low = new Task("Niedrig");
+        Task middle = new Task("Mitte");
+        Task high = new Task("Hoch");
+        try (SeContainer container = start()) {
+            TaskRepository repository = repository(container);
+            // Ein anderer Thread mit spaeterem ID-Block fuegt zuerst ein
+            repository.add(high);
+            repository.add(low);
+            repository.add(middle);
+            repository.delete(high.getId());
+            List<Long> page = repository.findPage(high.getId(), 10).stream().map(Task::getId).toList();
+            assertEquals(List.of(low.getId(), middle.getId()), page.subList(page.size() - 2, page.size()));
+        }
+    }
+}
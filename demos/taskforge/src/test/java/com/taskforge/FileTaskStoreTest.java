@@ -0,0 +1,162 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer Snapshots und Journal-Kompaktierung des FileTaskRepository (ohne CDI-Container)
+
+import com.taskforge.model.Task;
+import com.taskforge.storage.FileTaskStore;
+import com.taskforge.storage.SyncMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testet Wiederherstellung aus Snapshot + Journal-Rest und misst die Startzeit
+ * mit einer Historie von 1 Mio. Datensaetzen (anpassbar per -Dtaskforge.startup.records=...).
+ */
+class FileTaskStoreTest {
+
+    private static final int HISTORY = Integer.getInteger("taskforge.startup.records", 1_000_000);
+    private static final int TAIL = 1_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoversSnapshotPlusJournalTail() throws Exception {
+        try (FileTaskStore store = new FileTaskStore(dir, SyncMode.ALWAYS, 0)) {
+            store.recover(t -> { });
+            List<Task> state = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Task task = new Task("Vor Snapshot " + i);
+                state.add(task);
+                store.sync(store.write(task));
+            }
+            store.writeSnapshot(store.rollJournal(), state);
+            store.sync(store.write(new Task("Nach Snapshot")));
+        }
+
+        List<String> titles = new ArrayList<>();
+        try (FileTaskStore store = new FileTaskStore(dir, SyncMode.ALWAYS, 0)) {
+            assertEquals(4, store.recover(t -> titles.add(t.getTitle())));
+            assertEquals(3, store.getSnapshotRecordsLoaded());
+            assertEquals(1, store.getJournalRecordsReplayed());
+        }
+        assertEquals(List.of("Vor Snapshot 0", "Vor Snapshot 1", "Vor Snapshot 2", "Nach Snapshot"),
+                titles);
+    }
+
+    @Test
+    void updatesAreReplayedInJournalOrder() throws Exception {
+        Task task = new Task("Wird erledigt");
+        try (FileTaskStore store = new FileTaskStore(dir, SyncMode.ALWAYS, 0)) {
+            store.recover(t -> { });
+            store.sync(store.write(task));
+            task.setCompleted(true);
+            store.sync(store.writeUpdate(task));
+        }
+
+        List<String> events = new ArrayList<>();
+        try (FileTaskStore store = new FileTaskStore(dir, SyncMode.ALWAYS, 0)) {
+            assertEquals(2, store.recover(t -> events.add("add " + t.isCompleted()),
+                    t -> events.add("update " + t.getId() + " " + t.isCompleted()), id -> { }));
+        }
+        assertEquals(List.of("add false", "update " + task.getId() + " true"), events);
+    }
+
+    @Test
+    void tombstonesAreReplayedAndDroppedBySnapshot() throws Exception {
+        Task kept = new Task("Bleibt");
+        Task dropped = new Task("Geloescht");
+        try (FileTaskStore store = new FileTaskStore(dir, SyncMode.ALWAYS, 0)) {
+            store.recover(t -> { });
+            store.sync(store.writeAll(List.of(kept, dropped)));
+            store.sync(store.writeDelete(dropped));
+        }
+
+        List<Long> added = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        try (FileTaskStore store = new FileTaskStore(dir, SyncMode.ALWAYS, 0)) {
+            assertEquals(3, store.recover(t -> added.add(t.getId()), t -> { }, deleted::add));
+            // Snapshot nur mit den lebenden Tasks — der Grabstein verschwindet mit dem alten Segment
+            store.writeSnapshot(store.rollJournal(), List.of(kept));
+        }
+        assertEquals(List.of(kept.getId(), dropped.getId()), added);
+        assertEquals(List.of(dropped.getId()), deleted);
+
+        deleted.clear();
+        List<String> titles = new ArrayList<>();
+        try (FileTaskStore store = new FileTaskStore(dir, SyncMode.ALWAYS, 0)) {
+            assertEquals(1, store.recover(t -> titles.add(t.getTitle()), t -> { }, deleted::add));
+        }
+        assertEquals(List.of("Bleibt"), titles);
+        assertTrue(deleted.isEmpty());
+    }
+
+    @Test
+    void compactionRemovesOldSegments() throws Exception {
+        try (FileTaskStore store = new FileTaskStore(dir, SyncMode.BATCH, 0)) {
+            store.recover(t -> { });
+            List<Task> state = new ArrayList<>();
+            for (int round = 0; round < 3; round++) {
+                Task task = new Task("Runde " + round);
+                state.add(task);
+                store.sync(store.write(task));
+                store.writeSnapshot(store.rollJournal(), List.copyOf(state));
+            }
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            List<String> names = files.map(p -> p.getFileName().toString()).sorted().toList();
+            assertEquals(List.of("journal-3.log", "snapshot-3.bin"), names);
+        }
+    }
+
+    @Test
+    void startupTimeWithAndWithoutSnapshot() throws Exception {
+        List<Task> state = new ArrayList<>(HISTORY);
+        try (FileTaskStore store = new FileTaskStore(dir, SyncMode.INTERVAL, 1_000)) {
+            store.recover(t -> { });
+            for (int i = 0; i < HISTORY; i++) {
+                Task task = new Task("Historie " + i);
+                state.add(task);
+                store.write(task);
+            }
+        }
+        long withoutSnapshot = timeRecovery(HISTORY);
+
+        try (FileTaskStore store = new FileTaskStore(dir, SyncMode.INTERVAL, 1_000)) {
+            store.recover(t -> { });
+            store.writeSnapshot(store.rollJournal(), state);
+            for (int i = 0; i < TAIL; i++) {
+                store.write(new Task("Rest " + i));
+            }
+        }
+        state = null;
+        long withSnapshot = timeRecovery(HISTORY + TAIL);
+
+        System.out.printf("[FileTaskStoreTest] Start mit %,d Datensaetzen: nur Journal %dms, "
+                        + "Snapshot + %d Journal-Datensaetze %dms%n",
+                HISTORY, withoutSnapshot / 1_000_000, TAIL, withSnapshot / 1_000_000);
+    }
+
+    private long timeRecovery(int expected) throws Exception {
+        long[] count = new long[1];
+        long start = System.nanoTime();
+        try (FileTaskStore store = new FileTaskStore(dir, SyncMode.INTERVAL, 1_000)) {
+            assertEquals(expected, store.recover(t -> count[0]++));
+            long elapsed = System.nanoTime() - start;
+            assertEquals(expected, count[0]);
+            // Mit Snapshot wird nur der Rest nach dem letzten Snapshot aus dem Journal gelesen
+            assertTrue(store.getJournalRecordsReplayed() == HISTORY
+                    || store.getJournalRecordsReplayed() == TAIL);
+            return elapsed;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer die blockweise, neustartfeste ID-Vergabe
+
+import com.taskforge.util.IdAllocator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testet IdAllocator ohne CDI-Container.
+ */
+class IdAllocatorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void concurrentThreadsNeverShareAnId() throws Exception {
+        IdAllocator allocator = new IdAllocator(64);
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                long[] ids = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = allocator.next();
+                }
+                return ids;
+            }));
+        }
+        Set<Long> seen = new HashSet<>();
+        for (Future<long[]> result : results) {
+            for (long id : result.get()) {
+                assertTrue(id > 0);
+                assertTrue(seen.add(id), "ID doppelt vergeben: " + id);
+            }
+        }
+        pool.shutdown();
+        assertEquals(threads * perThread, seen.size());
+    }
+
+    @Test
+    void restartContinuesBehindPersistedMark() {
+        Path mark = dir.resolve("ids.hwm");
+        IdAllocator first = new IdAllocator(16);
+        first.attach(IdAllocator.HighWaterMark.file(mark), 16);
+        long highest = 0;
+        for (int i = 0; i < 5_000; i++) {
+            highest = Math.max(highest, first.next());
+        }
+
+        // "Neustart": neuer Allocator, gleiche Markendatei
+        IdAllocator restarted = new IdAllocator(16);
+        restarted.attach(IdAllocator.HighWaterMark.file(mark), 16);
+        assertTrue(restarted.next() > highest);
+    }
+
+    @Test
+    void shortLivedThreadsRarelyExtendTheLease() throws Exception {
+        AtomicInteger stores = new AtomicInteger();
+        IdAllocator.HighWaterMark file = IdAllocator.HighWaterMark.file(dir.resolve("ids.hwm"));
+        IdAllocator allocator = new IdAllocator(1024);
+        allocator.attach(new IdAllocator.HighWaterMark() {
+            @Override
+            public long load() {
+                return file.load();
+            }
+
+            @Override
+            public void store(long mark) {
+                stores.incrementAndGet();
+                file.store(mark);
+            }
+        }, 1024);
+
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) { // ein Thread pro "Anfrage", je eine ID
+            long[] id = new long[1];
+            Thread thread = new Thread(() -> id[0] = allocator.next());
+            thread.start();
+            thread.join();
+            assertTrue(seen.add(id[0]));
+        }
+        // Volle Bloecke zu 1024 IDs haetten die Marke alle 64 Threads vorgeschoben (~16 Mal)
+        assertTrue(stores.get() <= 1, "Marke " + stores.get() + " Mal geschrieben");
+
+        // Ein langlebiger Thread kommt nach Bloecken zu 16, 32, ..., 512 auf volle 1024 IDs
+        for (int i = 0; i < 16 + 32 + 64 + 128 + 256 + 512; i++) {
+            allocator.next();
+        }
+        long fullBlockStart = allocator.next();
+        assertEquals(1024, allocator.getNextBlockStart() - fullBlockStart);
+    }
+
+    @Test
+    void advancePastDiscardsOpenBlocks() {
+        IdAllocator allocator = new IdAllocator(1024);
+        long before = allocator.next(); // erster Block [1, 17) ist jetzt offen
+        allocator.advancePast(before + 10);
+        // ohne Verwerfen kaeme before + 1 aus dem offenen Block
+        assertTrue(allocator.next() > before + 10);
+    }
+}
@@ -0,0 +1,246 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer das InMemoryTaskRepository (ohne CDI-Container)
+
+import com.taskforge.model.Task;
+import com.taskforge.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testet das InMemoryTaskRepository direkt als POJO.
+ */
+class InMemoryTaskRepositoryTest {
+
+    @Test
+    void findByTitleIgnoresCase() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        Task task = new Task("Index-Test");
+        repo.add(task);
+        assertSame(task, repo.findByTitle("index-test").orElseThrow());
+        assertSame(task, repo.findByTitle("INDEX-TEST").orElseThrow());
+    }
+
+    @Test
+    void findByTitleReturnsFirstOfDuplicates() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        Task first = new Task("Doppelt");
+        repo.add(first);
+        repo.add(new Task("doppelt"));
+        assertSame(first, repo.findByTitle("Doppelt").orElseThrow());
+        assertEquals(2, repo.findAll().size());
+    }
+
+    @Test
+    void findByTitleMissesUnknownAndNull() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        repo.add(new Task("Vorhanden"));
+        assertTrue(repo.findByTitle("Fehlt").isEmpty());
+        assertTrue(repo.findByTitle(null).isEmpty());
+    }
+
+    @Test
+    void findByIdReturnsStoredTask() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        Task task = new Task("ID-Test");
+        repo.add(new Task("Davor"));
+        repo.add(task);
+        assertSame(task, repo.findById(task.getId()).orElseThrow());
+        assertTrue(repo.findById(-5).isEmpty());
+        assertTrue(repo.findById(Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void concurrentAddsLoseNothing() throws Exception {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        int threads = 8;
+        int perThread = 5_000;
+        List<Task> created = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int writer = t;
+            writers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    Task task = new Task("W" + writer + "-" + i);
+                    created.add(task);
+                    repo.add(task);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        pool.shutdown();
+
+        List<Task> all = repo.findAll();
+        assertEquals(threads * perThread, all.size());
+        Set<Task> stored = Collections.newSetFromMap(new IdentityHashMap<>());
+        stored.addAll(all);
+        assertEquals(threads * perThread, stored.size());
+        assertTrue(stored.containsAll(created));
+        for (Task task : created) {
+            assertSame(task, repo.findByTitle(task.getTitle()).orElseThrow());
+            assertSame(task, repo.findById(task.getId()).orElseThrow());
+        }
+    }
+
+    @Test
+    void findAllIsStableSnapshotDuringWrites() throws Exception {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        for (int i = 0; i < 100; i++) {
+            repo.add(new Task("Vorher " + i));
+        }
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        Future<?> writes = writer.submit(() -> {
+            for (int i = 0; i < 50_000; i++) {
+                repo.add(new Task("Parallel " + i));
+            }
+        });
+        while (!writes.isDone()) {
+            List<Task> snapshot = repo.findAll();
+            int size = snapshot.size();
+            int iterated = 0;
+            for (Task task : snapshot) {  // keine ConcurrentModificationException
+                assertNotNull(task);
+                iterated++;
+            }
+            assertEquals(size, iterated);
+        }
+        writes.get();
+        writer.shutdown();
+        assertTrue(writer.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(50_100, repo.findAll().size());
+    }
+
+    @Test
+    void findPageWalksInInsertionOrder() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        for (int i = 0; i < 25; i++) {
+            repo.add(new Task("Seite " + i));
+        }
+        List<String> titles = new ArrayList<>();
+        long cursor = 0;
+        List<Task> page;
+        while (!(page = repo.findPage(cursor, 10)).isEmpty()) {
+            assertTrue(page.size() <= 10);
+            page.forEach(t -> titles.add(t.getTitle()));
+            cursor = page.get(page.size() - 1).getId();
+        }
+        assertEquals(25, titles.size());
+        assertEquals("Seite 0", titles.get(0));
+        assertEquals("Seite 24", titles.get(24));
+    }
+
+    @Test
+    void findPageResumesAfterDeletedCursor() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        Task a = new Task("A");
+        Task b = new Task("B");
+        Task c = new Task("C");
+        repo.addAll(List.of(a, b, c));
+        List<Task> first = repo.findPage(0, 2);
+        repo.delete(b.getId()); // letzter Task der Seite verschwindet zwischen zwei Seiten
+        assertEquals(List.of(c), repo.findPage(first.get(1).getId(), 10));
+        assertEquals(List.of(a, c), repo.findPage(Long.MAX_VALUE, 10)); // unbekannt: von vorn
+    }
+
+    @Test
+    void findPageFollowsInsertionOrderNotIdOrder() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        Task low = new Task("Niedrig");
+        Task middle = new Task("Mitte");
+        Task high = new Task("Hoch");
+        // Ein anderer Thread mit spaeterem ID-Block fuegt zuerst ein
+        repo.add(high);
+        repo.add(low);
+        repo.add(middle);
+        List<Task> first = repo.findPage(0, 1);
+        repo.delete(high.getId());
+        assertEquals(List.of(low, middle), repo.findPage(first.get(0).getId(), 10));
+
+        Task again = new Task(high.getId(), "Wieder da", false, high.getCreatedAt());
+        repo.add(again); // geloeschte ID darf neu belegt werden
+        assertSame(again, repo.findById(high.getId()).orElseThrow());
+        assertEquals(List.of(low, middle, again), repo.findAll());
+    }
+
+    @Test
+    void streamSeesTasksPresentAtCall() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        repo.add(new Task("A"));
+        repo.add(new Task("B"));
+        var stream = repo.stream();
+        repo.add(new Task("C"));
+        assertEquals(List.of("A", "B"), stream.map(Task::getTitle).toList());
+    }
+
+    @Test
+    void deleteRemovesFromAllIndexes() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        Task a = new Task("A");
+        Task b = new Task("B");
+        Task c = new Task("C");
+        repo.addAll(List.of(a, b, c));
+        List<Task> before = repo.findAll();
+
+        assertSame(b, repo.delete(b.getId()).orElseThrow());
+        assertTrue(repo.delete(b.getId()).isEmpty());
+        assertTrue(repo.findById(b.getId()).isEmpty());
+        assertTrue(repo.findByTitle("b").isEmpty());
+        assertEquals(List.of(a, c), repo.findAll());
+        assertEquals(List.of(a, c), repo.stream().toList());
+        assertEquals(List.of(c), repo.findPage(a.getId(), 10));
+        assertEquals(3, before.size()); // frueherer Snapshot bleibt unveraendert
+    }
+
+    @Test
+    void deleteFallsBackToNextTaskWithSameTitle() {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        Task first = new Task("Doppelt");
+        Task second = new Task("DOPPELT");
+        Task third = new Task("doppelt");
+        repo.addAll(List.of(first, second, third));
+        repo.delete(second.getId());
+        assertSame(first, repo.findByTitle("doppelt").orElseThrow());
+        repo.delete(first.getId());
+        assertSame(third, repo.findByTitle("doppelt").orElseThrow());
+        repo.delete(third.getId());
+        assertTrue(repo.findByTitle("doppelt").isEmpty());
+    }
+
+    @Test
+    void deleteRacingWithAddLeavesNoTitleEntry() throws Exception {
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        for (int round = 0; round < 2_000; round++) {
+            Task task = new Task("Rennen " + round);
+            // Loescht, sobald der Task sichtbar ist — oft noch bevor add() den Titel eintraegt
+            Thread deleter = new Thread(() -> {
+                while (repo.delete(task.getId()).isEmpty()) {
+                    Thread.onSpinWait();
+                }
+            });
+            deleter.start();
+            repo.add(task);
+            deleter.join(5_000);
+            assertTrue(repo.findByTitle(task.getTitle()).isEmpty(), "Runde " + round);
+        }
+    }
+}
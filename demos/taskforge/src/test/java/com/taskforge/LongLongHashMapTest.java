@@ -0,0 +1,126 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer die primitive Hash-Map der ID-Indizes
+
+import com.taskforge.util.LongLongHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testet LongLongHashMap einzeln und unter parallelen Schreib- und Lesezugriffen.
+ */
+class LongLongHashMapTest {
+
+    @Test
+    void putIfAbsentKeepsFirstValue() {
+        LongLongHashMap map = new LongLongHashMap();
+        assertEquals(LongLongHashMap.MISSING, map.putIfAbsent(7, 70));
+        assertEquals(70, map.putIfAbsent(7, 71));
+        assertEquals(70, map.get(7));
+        assertEquals(LongLongHashMap.MISSING, map.get(8));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void handlesZeroNegativeAndExtremeKeys() {
+        LongLongHashMap map = new LongLongHashMap();
+        long[] keys = {0, -1, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (int i = 0; i < keys.length; i++) {
+            map.putIfAbsent(keys[i], i);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, map.get(keys[i]));
+        }
+        assertThrows(IllegalArgumentException.class, () -> map.putIfAbsent(1, -1));
+    }
+
+    @Test
+    void removeHidesEntryAndAllowsReinsert() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.putIfAbsent(5, 50);
+        map.putIfAbsent(6, 60);
+        assertEquals(50, map.remove(5));
+        assertEquals(LongLongHashMap.MISSING, map.remove(5));
+        assertEquals(LongLongHashMap.MISSING, map.get(5));
+        assertEquals(60, map.get(6)); // Sondierkette bleibt trotz Grabstein intakt
+        assertEquals(LongLongHashMap.MISSING, map.putIfAbsent(5, 51));
+        assertEquals(51, map.get(5));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void capacityStaysFlatUnderChurn() {
+        LongLongHashMap map = new LongLongHashMap();
+        int live = 10_000;
+        for (long key = 0; key < live; key++) {
+            map.putIfAbsent(key, key);
+        }
+        long plateau = 0;
+        for (long key = live; key < 1_000_000; key++) {
+            map.putIfAbsent(key, key);
+            assertEquals(key - live, map.remove(key - live));
+            if (key == 100_000) {
+                plateau = map.capacity();
+            }
+        }
+        assertEquals(live, map.size());
+        assertTrue(map.capacity() <= plateau, map.capacity() + " > " + plateau);
+        for (long key = 1_000_000 - live; key < 1_000_000; key++) {
+            assertEquals(key, map.get(key));
+        }
+
+        for (long key = 1_000_000 - live; key < 1_000_000; key++) {
+            map.remove(key);
+        }
+        assertEquals(0, map.size());
+        assertTrue(map.capacity() < plateau, "leere Map schrumpft");
+    }
+
+    @Test
+    void conditionalReplaceAndRemoveOnlyHitTheExpectedValue() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.putIfAbsent(7, 1);
+        assertFalse(map.replace(7, 2, 3));
+        assertTrue(map.replace(7, 1, 3));
+        assertEquals(3, map.get(7));
+        assertFalse(map.remove(7, 1));
+        assertTrue(map.remove(7, 3));
+        assertEquals(LongLongHashMap.MISSING, map.get(7));
+        assertFalse(map.replace(7, 3, 4));
+    }
+
+    @Test
+    void readersSeeEveryEntryWhileWritersGrowTheTable() throws Exception {
+        LongLongHashMap map = new LongLongHashMap();
+        int writers = 4;
+        int perWriter = 100_000;
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            long base = (long) w * perWriter;
+            futures.add(pool.submit(() -> {
+                for (long key = base; key < base + perWriter; key++) {
+                    map.putIfAbsent(key, key * 2);
+                    // eigener Eintrag ist sofort sichtbar, auch waehrend andere die Tabelle vergroessern
+                    assertEquals(key * 2, map.get(key));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        assertEquals((long) writers * perWriter, map.size());
+        for (long key = 0; key < (long) writers * perWriter; key++) {
+            assertEquals(key * 2, map.get(key));
+        }
+    }
+}
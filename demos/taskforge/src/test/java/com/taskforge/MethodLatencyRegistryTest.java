@@ -0,0 +1,75 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer die Latenz-Histogramme je Methode
+
+import com.taskforge.metrics.LatencyHistogram;
+import com.taskforge.metrics.MethodLatencyRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testet MethodLatencyRegistry direkt als POJO.
+ */
+class MethodLatencyRegistryTest {
+
+    @Test
+    void recordsPerMethodInNanoseconds() throws Exception {
+        MethodLatencyRegistry registry = new MethodLatencyRegistry();
+        Method toString = Object.class.getMethod("toString");
+        Method hashCode = Object.class.getMethod("hashCode");
+        for (long nanos = 1_000; nanos <= 100_000; nanos += 1_000) {
+            registry.record(toString, nanos);
+        }
+        registry.record(hashCode, 250); // unter einer Millisekunde — bleibt sichtbar
+
+        LatencyHistogram histogram = registry.getHistogram("Object.toString").orElseThrow();
+        assertEquals(100, histogram.getCount());
+        assertEquals(95_000, histogram.percentile(0.95), 95_000 / 16.0);
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(250, registry.getHistogram("Object.hashCode").orElseThrow().getMax());
+        assertEquals("Object.toString", registry.nameOf(toString));
+        assertEquals(List.of("Object.hashCode", "Object.toString"),
+                List.copyOf(registry.getHistograms().keySet()));
+        assertTrue(registry.getSummary().contains("Object.hashCode: n=1, p50=0.3us, p95=0.3us"));
+        assertTrue(registry.getHistogram("Object.equals").isEmpty());
+    }
+
+    @Test
+    void resetStartsEmptyHistograms() throws Exception {
+        MethodLatencyRegistry registry = new MethodLatencyRegistry();
+        Method method = Object.class.getMethod("toString");
+        registry.record(method, 42);
+        registry.reset();
+        assertEquals(0, registry.getHistogram("Object.toString").orElseThrow().getCount());
+        registry.record(method, 7);
+        assertEquals(7, registry.getHistogram("Object.toString").orElseThrow().getMax());
+    }
+
+    @Test
+    void concurrentRecordsLoseNothing() throws Exception {
+        MethodLatencyRegistry registry = new MethodLatencyRegistry();
+        Method method = Object.class.getMethod("toString");
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    registry.record(method, i);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals((long) threads * perThread,
+                registry.getHistogram("Object.toString").orElseThrow().getCount());
+    }
+}
@@ -0,0 +1,94 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer den Prometheus-Endpunkt: eigener Container mit app.metrics.enabled=true, Port 0.
+
+import com.taskforge.endpoint.MetricsEndpoint;
+import com.taskforge.service.TaskService;
+
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Startet einen eigenen Weld-Container mit eingeschaltetem Endpunkt und fragt /metrics per HTTP ab.
+ */
+class MetricsEndpointTest {
+
+    // Journal, Snapshots und ID-Hochwassermarke pro Lauf frisch — nichts landet in ./data
+    @TempDir
+    static Path storageDir;
+
+    private static SeContainer container;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void startContainer() {
+        System.setProperty("app.storage.dir", storageDir.toString());
+        System.setProperty("app.metrics.enabled", "true");
+        System.setProperty("app.metrics.port", "0");
+        container = SeContainerInitializer.newInstance().initialize();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        if (container != null && container.isRunning()) {
+            container.close();
+        }
+        System.clearProperty("app.storage.dir");
+        System.clearProperty("app.metrics.enabled");
+        System.clearProperty("app.metrics.port");
+    }
+
+    private static URI metricsUri() {
+        int port = container.select(MetricsEndpoint.class).get().getPort();
+        return URI.create("http://127.0.0.1:" + port + "/metrics");
+    }
+
+    @Test
+    @DisplayName("GET /metrics liefert Latenzen, Bestand, Events und JVM-Werte")
+    void scrapeContainsAllFamilies() throws Exception {
+        TaskService service = container.select(TaskService.class).get();
+        service.createTask("Metrik-Task");
+        service.completeTask("Metrik-Task");
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(metricsUri()).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain; version=0.0.4"));
+        String body = response.body();
+        assertTrue(body.contains("# TYPE taskforge_method_latency_seconds summary"), body);
+        assertTrue(body.contains("taskforge_method_latency_seconds_count{method=\"TaskService.createTask\"}"), body);
+        assertTrue(body.contains("quantile=\"0.99\""), body);
+        assertTrue(body.contains("taskforge_repository_tasks{repository=\"inMemory\"}"), body);
+        assertTrue(body.contains("taskforge_task_events_total{action=\"created\"}"), body);
+        assertTrue(body.contains("taskforge_task_events_total{action=\"completed\"}"), body);
+        assertTrue(body.contains("jvm_memory_used_bytes{area=\"heap\"}"), body);
+        assertTrue(body.contains("jvm_gc_collections_total{gc="), body);
+        assertTrue(body.contains("jvm_threads_live "), body);
+    }
+
+    @Test
+    @DisplayName("Andere Methoden als GET/HEAD werden mit 405 abgelehnt")
+    void postIsRejected() throws Exception {
+        HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(metricsUri()).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        assertEquals(405, response.statusCode());
+        assertEquals("GET, HEAD", response.headers().firstValue("Allow").orElse(""));
+    }
+}
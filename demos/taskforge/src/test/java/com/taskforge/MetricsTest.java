@@ -0,0 +1,96 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer SlidingWindowCounter und LatencyHistogram
+
+import com.taskforge.event.TaskEvent;
+import com.taskforge.event.TaskEventBatch;
+import com.taskforge.metrics.LatencyHistogram;
+import com.taskforge.metrics.SlidingWindowCounter;
+import com.taskforge.model.Task;
+import com.taskforge.service.TaskStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testet die Metrik-Bausteine mit einer steuerbaren Uhr.
+ */
+class MetricsTest {
+
+    @Test
+    void windowCountsOnlyRecentSeconds() {
+        AtomicLong clock = new AtomicLong(1_000_000);
+        SlidingWindowCounter counter = new SlidingWindowCounter(60, clock::get);
+        for (int second = 0; second < 30; second++) {
+            counter.increment();
+            counter.increment();
+            clock.addAndGet(1000);
+        }
+        // jetzt Sekunde 30 (noch leer), Ereignisse in den Sekunden 0..29; 10er-Fenster = 21..30
+        assertEquals(18, counter.count(10));
+        assertEquals(60, counter.count(60));
+        assertEquals(1.0, counter.ratePerSecond(60), 1e-9);
+
+        clock.addAndGet(45_000); // Sekunde 75: nur noch 16..29 im 60-Sekunden-Fenster
+        assertEquals(28, counter.count(60));
+        assertEquals(0, counter.count(10));
+        assertThrows(IllegalArgumentException.class, () -> counter.count(61));
+    }
+
+    @Test
+    void bucketIsReusedAfterOneRound() {
+        AtomicLong clock = new AtomicLong();
+        SlidingWindowCounter counter = new SlidingWindowCounter(5, clock::get);
+        counter.increment();
+        clock.addAndGet(5_000); // gleicher Bucket, naechste Runde
+        counter.increment();
+        assertEquals(1, counter.count(5));
+    }
+
+    @Test
+    void histogramPercentilesStayWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 100_000; v++) {
+            histogram.record(v);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_000.5, histogram.getMean(), 1e-6);
+        assertEquals(50_000, histogram.percentile(0.5), 50_000 / 16.0);
+        assertEquals(99_000, histogram.percentile(0.99), 99_000 / 16.0);
+        assertEquals(100_000, histogram.percentile(1.0));
+        assertEquals(1, histogram.percentile(0.0));
+    }
+
+    @Test
+    void histogramHandlesSmallNegativeAndHugeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(0.5));
+        histogram.record(-5);
+        histogram.record(7);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.percentile(0.3));
+        assertEquals(7, histogram.percentile(0.6));
+        assertEquals(Long.MAX_VALUE, histogram.percentile(1.0));
+    }
+
+    @Test
+    void statisticsRecordsRatesAndCompletionLatency() {
+        TaskStatistics stats = new TaskStatistics();
+        Task task = new Task(1, "Latenz", true, LocalDateTime.now().minusSeconds(2));
+        stats.onTaskEvents(new TaskEventBatch(List.of(
+                new TaskEvent(task, TaskEvent.Action.CREATED),
+                new TaskEvent(task, TaskEvent.Action.COMPLETED))));
+        assertEquals(1.0 / 60, stats.getCreatedPerSecond(1), 1e-9);
+        assertEquals(1.0 / 900, stats.getCompletedPerSecond(15), 1e-9);
+        assertEquals(1, stats.getCompletionLatency().getCount());
+        assertTrue(stats.getCompletionLatency().getMax() >= 1999); // Event-Zeitstempel in ganzen ms
+        assertTrue(stats.getRateSummary().contains("n=1"));
+        assertThrows(IllegalArgumentException.class, () -> stats.getCreatedPerSecond(16));
+    }
+}
@@ -0,0 +1,193 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer das OffHeapTaskRepository (ohne CDI-Container)
+
+import com.taskforge.model.Task;
+import com.taskforge.repository.OffHeapTaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testet das OffHeapTaskRepository direkt als POJO.
+ */
+class OffHeapTaskRepositoryTest {
+
+    @Test
+    void viewsCarryStoredColumns() {
+        OffHeapTaskRepository repo = new OffHeapTaskRepository();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000);
+        repo.add(new Task(42, "Spalten-Test", true, createdAt));
+        Task view = repo.findAll().get(0);
+        assertEquals(42, view.getId());
+        assertEquals("Spalten-Test", view.getTitle());
+        assertTrue(view.isCompleted());
+        assertEquals(createdAt, view.getCreatedAt());
+    }
+
+    @Test
+    void findByTitleIgnoresCaseAndReturnsFirst() {
+        OffHeapTaskRepository repo = new OffHeapTaskRepository();
+        Task first = new Task("Doppelt");
+        repo.add(first);
+        repo.add(new Task("DOPPELT"));
+        assertEquals(first.getId(), repo.findByTitle("doppelt").orElseThrow().getId());
+        assertTrue(repo.findByTitle("Fehlt").isEmpty());
+        assertTrue(repo.findByTitle(null).isEmpty());
+    }
+
+    @Test
+    void setCompletedWritesThroughToRow() {
+        OffHeapTaskRepository repo = new OffHeapTaskRepository();
+        repo.add(new Task("Abschliessen"));
+        repo.findByTitle("Abschliessen").orElseThrow().setCompleted(true);
+        assertTrue(repo.findAll().get(0).isCompleted());
+        assertTrue(repo.findAll().get(0).toString().contains("erledigt"));
+    }
+
+    @Test
+    void deleteUnlinksTitleChainAndHidesRow() {
+        OffHeapTaskRepository repo = new OffHeapTaskRepository();
+        Task first = new Task("Kette");
+        Task middle = new Task("KETTE");
+        Task last = new Task("kette");
+        Task other = new Task("Andere");
+        repo.addAll(List.of(first, middle, last, other));
+        List<Task> before = repo.findAll();
+
+        assertEquals(first.getId(), repo.delete(first.getId()).orElseThrow().getId());
+        assertTrue(repo.delete(first.getId()).isEmpty());
+        assertTrue(repo.findById(first.getId()).isEmpty());
+        assertEquals(middle.getId(), repo.findByTitle("kette").orElseThrow().getId());
+
+        repo.delete(middle.getId());
+        assertEquals(last.getId(), repo.findByTitle("kette").orElseThrow().getId());
+        repo.delete(last.getId());
+        assertTrue(repo.findByTitle("kette").isEmpty());
+        assertEquals(other.getId(), repo.findByTitle("andere").orElseThrow().getId());
+
+        assertEquals(List.of(other.getId()), repo.findAll().stream().map(Task::getId).toList());
+        assertEquals(1, repo.stream().count());
+        assertEquals(4, before.size()); // frueherer Snapshot bleibt unveraendert
+        repo.add(new Task("Kette"));
+        assertEquals("Kette", repo.findByTitle("KETTE").orElseThrow().getTitle());
+    }
+
+    @Test
+    void deletedRowStaysDeletedAndCursorSkipsIt() {
+        OffHeapTaskRepository repo = new OffHeapTaskRepository();
+        Task a = new Task("A");
+        Task b = new Task("B");
+        Task c = new Task("C");
+        repo.addAll(List.of(a, b, c));
+        Task view = repo.findById(b.getId()).orElseThrow();
+        repo.delete(b.getId());
+        view.setCompleted(true); // Sicht auf eine geloeschte Zeile belebt sie nicht wieder
+        assertTrue(repo.findById(b.getId()).isEmpty());
+        assertEquals(List.of(c.getId()), repo.findPage(a.getId(), 5).stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void fullyDeletedSlabIsReleased() {
+        OffHeapTaskRepository repo = new OffHeapTaskRepository();
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 70_000; i++) { // ein voller Slab + Anfang des zweiten
+            batch.add(new Task("Slab " + (i % 10)));
+        }
+        repo.addAll(batch);
+        long allocated = repo.getOffHeapBytes();
+        for (int i = 0; i < 65_536; i++) {
+            repo.delete(batch.get(i).getId());
+        }
+        assertTrue(repo.getOffHeapBytes() < allocated);
+        assertEquals(70_000 - 65_536, repo.findAll().size());
+        assertEquals(batch.get(65_536).getId(), repo.findAll().get(0).getId());
+        assertEquals(batch.get(65_536).getId(), repo.findByTitle("Slab 6").orElseThrow().getId());
+        assertEquals(70_000 - 65_536, repo.stream().count());
+        assertEquals(batch.get(65_537).getId(),
+                repo.findPage(batch.get(65_536).getId(), 1).get(0).getId());
+    }
+
+    @Test
+    void compactionKeepsOrderAndForwardsOldViews() {
+        OffHeapTaskRepository repo = new OffHeapTaskRepository();
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 140_000; i++) {
+            batch.add(new Task("Kompakt " + i)); // eindeutige Titel -> Arena waechst mit
+        }
+        repo.addAll(batch);
+        Task survivor = batch.get(139_999);
+        Task oldView = repo.findById(survivor.getId()).orElseThrow();
+        List<Task> before = repo.findAll();
+        long allocated = repo.getOffHeapBytes();
+
+        for (int i = 0; i < 140_000; i += 2) {
+            repo.delete(batch.get(i).getId());
+        }
+        repo.delete(batch.get(1).getId()); // jetzt mehr geloeschte als lebende Zeilen -> Kompaktierung
+
+        assertTrue(repo.getOffHeapBytes() < allocated);
+        List<Task> after = repo.findAll();
+        assertEquals(140_000 - 70_001, after.size());
+        assertEquals(batch.get(3).getId(), after.get(0).getId());
+        assertEquals(survivor.getId(), after.get(after.size() - 1).getId());
+        assertEquals("Kompakt 139999", repo.findByTitle("KOMPAKT 139999").orElseThrow().getTitle());
+        assertTrue(repo.findByTitle("Kompakt 2").isEmpty());
+        assertEquals(batch.get(5).getId(), repo.findPage(batch.get(3).getId(), 1).get(0).getId());
+
+        // Sicht und Snapshot von vor der Kompaktierung bleiben gueltig
+        oldView.setCompleted(true);
+        assertTrue(repo.findById(survivor.getId()).orElseThrow().isCompleted());
+        assertTrue(oldView.isCompleted());
+        assertEquals(140_000, before.size());
+        assertEquals("Kompakt 139999", before.get(139_999).getTitle());
+    }
+
+    @Test
+    void growsAcrossSlabsAndPagesInOrder() {
+        OffHeapTaskRepository repo = new OffHeapTaskRepository();
+        int count = 150_000; // mehr als zwei Zeilen-Slabs
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(new Task("Zeile " + (i % 1000))); // viele gleiche Titel -> Deduplizierung
+        }
+        repo.addAll(batch);
+        assertEquals(count, repo.findAll().size());
+        assertEquals(count, repo.stream().count());
+
+        Task cursor = batch.get(99_999);
+        List<Task> page = repo.findPage(cursor.getId(), 3);
+        assertEquals(List.of(batch.get(100_000).getId(), batch.get(100_001).getId(),
+                batch.get(100_002).getId()), page.stream().map(Task::getId).toList());
+        assertEquals("Zeile 999", repo.findAll().get(count - 1).getTitle());
+        assertEquals("Zeile 123", repo.findById(batch.get(120_123).getId()).orElseThrow().getTitle());
+        assertTrue(repo.findById(Long.MAX_VALUE).isEmpty());
+        assertEquals(batch.get(0).getId(), repo.findPage(Long.MAX_VALUE, 1).get(0).getId()); // unbekannt: von vorn
+
+        repo.delete(cursor.getId()); // geloeschter Cursor: weiter beim naechsten Task
+        assertEquals(batch.get(100_000).getId(), repo.findPage(cursor.getId(), 1).get(0).getId());
+    }
+
+    @Test
+    void findPageFollowsInsertionOrderNotIdOrder() {
+        OffHeapTaskRepository repo = new OffHeapTaskRepository();
+        Task low = new Task("Niedrig");
+        Task middle = new Task("Mitte");
+        Task high = new Task("Hoch");
+        // Ein anderer Thread mit spaeterem ID-Block fuegt zuerst ein
+        repo.add(high);
+        repo.add(low);
+        repo.add(middle);
+        repo.delete(high.getId());
+        assertEquals(List.of(low.getId(), middle.getId()),
+                repo.findPage(high.getId(), 10).stream().map(Task::getId).toList());
+
+        repo.add(new Task(high.getId(), "Wieder da", false, high.getCreatedAt()));
+        assertEquals("Wieder da", repo.findById(high.getId()).orElseThrow().getTitle());
+    }
+}
@@ -0,0 +1,77 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer die Segmented-LRU-Verdraengung des Repository-Caches
+
+import com.taskforge.util.SegmentedLruCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testet SegmentedLruCache ohne CDI-Container.
+ */
+class SegmentedLruCacheTest {
+
+    @Test
+    void staysWithinMaxSize() {
+        SegmentedLruCache<Integer, String> cache = new SegmentedLruCache<>(10);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, "v" + i);
+            cache.get(i);
+        }
+        assertEquals(10, cache.size());
+        assertEquals(90, cache.getEvictions());
+    }
+
+    @Test
+    void frequentlyUsedEntriesSurviveAScan() {
+        SegmentedLruCache<Integer, String> cache = new SegmentedLruCache<>(10);
+        for (int i = 0; i < 5; i++) {
+            cache.put(i, "heiss" + i);
+            cache.get(i); // zweiter Zugriff -> protected
+        }
+        for (int i = 100; i < 1_000; i++) {
+            cache.put(i, "scan"); // einmalige Schluessel verdraengen nur einander
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals("heiss" + i, cache.get(i));
+        }
+    }
+
+    @Test
+    void invalidateRemovesFromBothSegments() {
+        SegmentedLruCache<String, String> cache = new SegmentedLruCache<>(10);
+        cache.put("neu", "1");
+        cache.put("alt", "2");
+        cache.get("alt");
+        cache.invalidate("neu");
+        cache.invalidate("alt");
+        assertNull(cache.get("neu"));
+        assertNull(cache.get("alt"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void resizeShrinksImmediatelyAndKeepsHotEntries() {
+        SegmentedLruCache<Integer, String> cache = new SegmentedLruCache<>(100);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, "v" + i);
+            cache.get(i);
+        }
+        cache.get(99); // zuletzt benutzt
+
+        cache.resize(10);
+
+        assertEquals(10, cache.getMaxSize());
+        assertEquals(10, cache.size());
+        assertEquals("v99", cache.get(99));
+
+        cache.resize(1_000);
+        for (int i = 1_000; i < 1_500; i++) {
+            cache.put(i, "v" + i);
+            cache.get(i);
+        }
+        assertEquals(510, cache.size());
+    }
+}
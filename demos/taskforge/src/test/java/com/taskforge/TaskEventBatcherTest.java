@@ -0,0 +1,113 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer das Micro-Batching der TaskEvents
+
+import com.taskforge.event.TaskEvent;
+import com.taskforge.event.TaskEventBatch;
+import com.taskforge.event.TaskEventBatcher;
+import com.taskforge.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testet TaskEventBatcher ohne CDI-Container.
+ */
+class TaskEventBatcherTest {
+
+    private final List<TaskEventBatch> delivered = new CopyOnWriteArrayList<>();
+
+    private static TaskEvent created(String title) {
+        return new TaskEvent(new Task(title), TaskEvent.Action.CREATED);
+    }
+
+    @Test
+    void sizeOneDeliversEachEventImmediately() {
+        try (TaskEventBatcher batcher = new TaskEventBatcher(1, 50, delivered::add)) {
+            batcher.offer(created("A"));
+            assertEquals(1, delivered.size());
+            batcher.offer(created("B"));
+            assertEquals(2, delivered.size());
+        }
+    }
+
+    @Test
+    void fullBatchIsDeliveredInOrder() {
+        try (TaskEventBatcher batcher = new TaskEventBatcher(3, 60_000, delivered::add)) {
+            batcher.offer(created("A"));
+            batcher.offer(created("B"));
+            assertTrue(delivered.isEmpty());
+            batcher.offer(created("C"));
+            assertEquals(1, delivered.size());
+            assertEquals(List.of("A", "B", "C"), delivered.get(0).getEvents().stream()
+                    .map(e -> e.getTask().getTitle()).toList());
+        }
+    }
+
+    @Test
+    void partialBatchIsDeliveredAfterMaxDelay() throws Exception {
+        try (TaskEventBatcher batcher = new TaskEventBatcher(100, 20, delivered::add)) {
+            batcher.offer(created("Spaet"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (delivered.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, delivered.size());
+            assertEquals(1, delivered.get(0).size());
+        }
+    }
+
+    @Test
+    void closeDeliversRemainder() {
+        TaskEventBatcher batcher = new TaskEventBatcher(100, 60_000, delivered::add);
+        batcher.offer(created("Rest"));
+        batcher.close();
+        assertEquals(1, delivered.size());
+    }
+
+    @Test
+    void offerAfterCloseIsDeliveredImmediately() {
+        TaskEventBatcher batcher = new TaskEventBatcher(100, 60_000, delivered::add);
+        batcher.close();
+        batcher.offer(created("Nachzuegler"));
+        assertEquals(1, delivered.size());
+        assertEquals(1, delivered.get(0).size());
+    }
+
+    @Test
+    void inOrderSeesBatchesInOfferOrderEvenIfDeliveryOvertakes() throws Exception {
+        List<String> logged = new CopyOnWriteArrayList<>();
+        CountDownLatch firstInSink = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (TaskEventBatcher batcher = new TaskEventBatcher(1, 60_000,
+                events -> events.forEach(e -> logged.add(e.getTask().getTitle())),
+                batch -> {
+                    if (batch.getEvents().get(0).getTask().getTitle().equals("A")) {
+                        firstInSink.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    delivered.add(batch);
+                })) {
+            Thread first = new Thread(() -> batcher.offer(created("A")));
+            first.start();
+            assertTrue(firstInSink.await(5, TimeUnit.SECONDS));
+            batcher.offer(created("B"));
+            release.countDown();
+            first.join(5_000);
+        }
+        // Zustellung hat sich ueberholt, das Log nicht
+        assertEquals(List.of("B", "A"), delivered.stream()
+                .map(b -> b.getEvents().get(0).getTask().getTitle()).toList());
+        assertEquals(List.of("A", "B"), logged);
+    }
+}
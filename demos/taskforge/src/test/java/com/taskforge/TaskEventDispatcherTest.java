@@ -0,0 +1,93 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer den begrenzten Executor der asynchronen Event-Zustellung
+
+import com.taskforge.event.OverflowPolicy;
+import com.taskforge.event.TaskEventDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueft die drei Ueberlaufstrategien mit einem Zustell-Thread und einem Queue-Platz.
+ * Ein blockierter Observer (release) haelt den Thread fest, ein zweites Event fuellt die Queue.
+ */
+class TaskEventDispatcherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final LongAdder dropped = new LongAdder();
+
+    private ThreadPoolExecutor saturated(OverflowPolicy policy) throws InterruptedException {
+        ThreadPoolExecutor executor = TaskEventDispatcher.createExecutor(1, 1, policy, true, dropped);
+        CountDownLatch running = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            await(release);
+        });
+        running.await();
+        executor.execute(() -> { }); // belegt den einzigen Queue-Platz
+        return executor;
+    }
+
+    @Test
+    void dropDiscardsAndCounts() throws Exception {
+        ThreadPoolExecutor executor = saturated(OverflowPolicy.DROP);
+        assertThrows(RejectedExecutionException.class,
+                () -> executor.execute(() -> fail("verworfenes Event darf nicht laufen")));
+        assertEquals(1, dropped.sum());
+
+        // Weld stellt ueber supplyAsync zu: die Ablehnung erreicht den Aufrufer statt zu versanden
+        assertThrows(RejectedExecutionException.class,
+                () -> CompletableFuture.supplyAsync(() -> fail("verworfen"), executor));
+        assertEquals(2, dropped.sum());
+        release.countDown();
+        shutdown(executor);
+    }
+
+    @Test
+    void callerRunsDeliversOnCallingThread() throws Exception {
+        ThreadPoolExecutor executor = saturated(OverflowPolicy.CALLER_RUNS);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+        assertSame(Thread.currentThread(), ranOn.get());
+        release.countDown();
+        shutdown(executor);
+    }
+
+    @Test
+    void blockWaitsForFreeSlot() throws Exception {
+        ThreadPoolExecutor executor = saturated(OverflowPolicy.BLOCK);
+        CountDownLatch delivered = new CountDownLatch(1);
+        Thread producer = new Thread(() -> executor.execute(delivered::countDown));
+        producer.start();
+        producer.join(200);
+        assertTrue(producer.isAlive(), "Aufrufer muss bei voller Queue warten");
+        release.countDown();
+        producer.join(5_000);
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(0, dropped.sum());
+        shutdown(executor);
+    }
+
+    private static void shutdown(ThreadPoolExecutor executor) throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
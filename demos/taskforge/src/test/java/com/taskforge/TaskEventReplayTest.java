@@ -0,0 +1,132 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer das persistente Event-Log und dessen paralleles Replay (ohne CDI-Container)
+
+import com.taskforge.event.TaskEvent;
+import com.taskforge.event.TaskEventBatch;
+import com.taskforge.model.Task;
+import com.taskforge.repository.InMemoryTaskRepository;
+import com.taskforge.service.TaskEventReplay;
+import com.taskforge.service.TaskStatistics;
+import com.taskforge.storage.TaskEventLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Schreibt eine Event-Historie und baut daraus Repository und Statistik neu auf.
+ */
+class TaskEventReplayTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayRebuildsRepositoryAndStatistics() throws Exception {
+        Path file = dir.resolve("events.log");
+        int count = 20_000;
+        long now = System.currentTimeMillis();
+        List<Task> tasks = new ArrayList<>();
+        try (TaskEventLog log = new TaskEventLog(file)) {
+            List<TaskEvent> created = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Task task = new Task("Historie " + i);
+                tasks.add(task);
+                created.add(new TaskEvent(task, TaskEvent.Action.CREATED, now - 10_000));
+            }
+            log.append(created);
+            List<TaskEvent> later = new ArrayList<>();
+            for (int i = 0; i < count; i += 2) {
+                later.add(new TaskEvent(tasks.get(i), TaskEvent.Action.COMPLETED, now - 4_000));
+            }
+            for (int i = 0; i < count; i += 5) {
+                later.add(new TaskEvent(tasks.get(i), TaskEvent.Action.DELETED, now));
+            }
+            log.append(later);
+            assertEquals(count + count / 2 + count / 5, log.getWrittenCount());
+        }
+
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        TaskStatistics stats = new TaskStatistics();
+        TaskEventReplay.Result result = TaskEventReplay.replay(file, repo, stats, 4);
+
+        assertEquals(count + count / 2 + count / 5, result.getEvents());
+        assertEquals(count - count / 5, result.getTasks());
+        assertEquals(count - count / 5, repo.findAll().size());
+        assertTrue(repo.findById(tasks.get(0).getId()).isEmpty(), "geloeschter Task");
+        Task restored = repo.findById(tasks.get(2).getId()).orElseThrow();
+        assertEquals("Historie 2", restored.getTitle());
+        assertTrue(restored.isCompleted());
+        assertFalse(repo.findById(tasks.get(1).getId()).orElseThrow().isCompleted());
+
+        assertEquals(count, stats.getCreatedCount());
+        assertEquals(count / 2, stats.getCompletedCount());
+        assertEquals(count / 5, stats.getDeletedCount());
+        assertEquals(6_000, stats.getCompletionLatency().percentile(0.5), 6_000 / 16.0);
+        assertEquals((double) count / 60, stats.getCreatedPerSecond(1), 1e-9);
+
+        // Neue IDs liegen hinter allen nachgespielten
+        long maxId = tasks.stream().mapToLong(Task::getId).max().orElseThrow();
+        assertTrue(new Task("Danach").getId() > maxId);
+    }
+
+    @Test
+    void failedPartitionLeavesRepositoryUntouched() throws Exception {
+        Path file = dir.resolve("events.log");
+        Task poisoned = new Task("Scheitert");
+        try (TaskEventLog log = new TaskEventLog(file)) {
+            List<TaskEvent> created = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                created.add(new TaskEvent(new Task("Gesund " + i), TaskEvent.Action.CREATED));
+            }
+            created.add(new TaskEvent(poisoned, TaskEvent.Action.CREATED));
+            log.append(created);
+        }
+        // Nur die Partition mit dem vergifteten Task scheitert, alle anderen werden fertig
+        TaskStatistics failing = new TaskStatistics() {
+            @Override
+            public void onTaskEvents(TaskEventBatch batch) {
+                if (batch.getEvents().stream().anyMatch(e -> e.getTask().getId() == poisoned.getId())) {
+                    throw new IllegalStateException("Statistik kaputt");
+                }
+            }
+        };
+
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        assertThrows(IOException.class, () -> TaskEventReplay.replay(file, repo, failing, 4));
+        assertEquals(0, repo.size(), "kein halb aufgebautes Repository");
+    }
+
+    @Test
+    void tornTailIsDiscardedOnOpenAndIgnoredByReplay() throws Exception {
+        Path file = dir.resolve("events.log");
+        Task task = new Task("Vor dem Absturz");
+        try (TaskEventLog log = new TaskEventLog(file)) {
+            log.append(List.of(new TaskEvent(task, TaskEvent.Action.CREATED)));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 40, 1, 2, 3})); // halber Datensatz
+        }
+
+        InMemoryTaskRepository replayed = new InMemoryTaskRepository();
+        assertEquals(1, TaskEventReplay.replay(file, replayed, null, 2).getTasks());
+
+        try (TaskEventLog log = new TaskEventLog(file)) {
+            log.append(List.of(new TaskEvent(task, TaskEvent.Action.COMPLETED)));
+        }
+        InMemoryTaskRepository repo = new InMemoryTaskRepository();
+        TaskEventReplay.Result result = TaskEventReplay.replay(file, repo, null, 2);
+        assertEquals(2, result.getEvents());
+        assertTrue(repo.findById(task.getId()).orElseThrow().isCompleted());
+    }
+}
@@ -0,0 +1,120 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer das Task-Journal des FileTaskRepository (ohne CDI-Container)
+
+import com.taskforge.model.Task;
+import com.taskforge.storage.SyncMode;
+import com.taskforge.storage.TaskJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testet Schreiben, Wiedereinlesen und Group Commit des TaskJournal.
+ */
+class TaskJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayRestoresWrittenTasks() throws Exception {
+        Path file = dir.resolve("tasks.journal");
+        Task written = new Task("Persistiert");
+        written.setCompleted(true);
+        try (TaskJournal journal = new TaskJournal(file, SyncMode.ALWAYS, 0)) {
+            journal.replay(t -> { });
+            journal.sync(journal.write(written));
+            journal.sync(journal.write(new Task("Äöü – UTF-8")));
+        }
+
+        List<Task> replayed = new ArrayList<>();
+        try (TaskJournal journal = new TaskJournal(file, SyncMode.ALWAYS, 0)) {
+            assertEquals(2, journal.replay(replayed::add));
+        }
+        assertEquals(written.getId(), replayed.get(0).getId());
+        assertEquals("Persistiert", replayed.get(0).getTitle());
+        assertTrue(replayed.get(0).isCompleted());
+        assertEquals("Äöü – UTF-8", replayed.get(1).getTitle());
+    }
+
+    @Test
+    void replayTruncatesTornTail() throws Exception {
+        Path file = dir.resolve("tasks.journal");
+        try (TaskJournal journal = new TaskJournal(file, SyncMode.ALWAYS, 0)) {
+            journal.replay(t -> { });
+            journal.sync(journal.write(new Task("Vollstaendig")));
+            journal.sync(journal.write(new Task("Abgebrochen")));
+        }
+        // Absturz mitten im letzten Datensatz simulieren
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (TaskJournal journal = new TaskJournal(file, SyncMode.ALWAYS, 0)) {
+            assertEquals(1, journal.replay(t -> { }));
+            journal.sync(journal.write(new Task("Danach")));
+        }
+        List<Task> replayed = new ArrayList<>();
+        try (TaskJournal journal = new TaskJournal(file, SyncMode.ALWAYS, 0)) {
+            journal.replay(replayed::add);
+        }
+        assertEquals(List.of("Vollstaendig", "Danach"),
+                replayed.stream().map(Task::getTitle).toList());
+    }
+
+    @Test
+    void groupCommitMakesConcurrentWritesDurable() throws Exception {
+        Path file = dir.resolve("tasks.journal");
+        int threads = 8;
+        int perThread = 200;
+        try (TaskJournal journal = new TaskJournal(file, SyncMode.BATCH, 0)) {
+            journal.replay(t -> { });
+            List<Thread> writers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Thread writer = new Thread(() -> {
+                    try {
+                        for (int n = 0; n < perThread; n++) {
+                            journal.sync(journal.write(new Task("Parallel")));
+                        }
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                writers.add(writer);
+                writer.start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            // Nie mehr fsyncs als Schreibvorgaenge, bei Konkurrenz deutlich weniger
+            assertTrue(journal.getSyncCount() <= threads * perThread);
+        }
+        try (TaskJournal journal = new TaskJournal(file, SyncMode.BATCH, 0)) {
+            assertEquals(threads * perThread, journal.replay(t -> { }));
+        }
+    }
+
+    @Test
+    void writeAllAppendsBatchInOrder() throws Exception {
+        Path file = dir.resolve("tasks.journal");
+        try (TaskJournal journal = new TaskJournal(file, SyncMode.ALWAYS, 0)) {
+            journal.replay(t -> { });
+            journal.sync(journal.writeAll(List.of(new Task("Eins"), new Task("Zwei"), new Task("Drei"))));
+            assertEquals(1, journal.getSyncCount());
+        }
+        List<Task> replayed = new ArrayList<>();
+        try (TaskJournal journal = new TaskJournal(file, SyncMode.ALWAYS, 0)) {
+            journal.replay(replayed::add);
+        }
+        assertEquals(List.of("Eins", "Zwei", "Drei"), replayed.stream().map(Task::getTitle).toList());
+    }
+}
@@ -0,0 +1,121 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer das Ringpuffer-Backend des TaskLogger
+
+import com.taskforge.event.TaskEvent;
+import com.taskforge.observer.TaskLogRingBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueft Format, Vollstaendigkeit und Reihenfolge — mit einem sehr kleinen Ring,
+ * damit die Erzeuger regelmaessig auf den Konsumenten warten muessen.
+ */
+class TaskLogRingBufferTest {
+
+    @Test
+    void formatsLikeSynchronousLogger() {
+        StringWriter out = new StringWriter();
+        TaskLogRingBuffer ring = new TaskLogRingBuffer(8, out);
+        ring.publish(TaskEvent.Action.CREATED, "Ring");
+        ring.close();
+        assertEquals("  [LOG] CREATED: \"Ring\"" + System.lineSeparator(), out.toString());
+        assertEquals(1, ring.getWrittenCount());
+    }
+
+    @Test
+    void closeDrainsEverythingInPerProducerOrder() throws Exception {
+        StringWriter out = new StringWriter();
+        TaskLogRingBuffer ring = new TaskLogRingBuffer(16, out);
+        int producers = 4;
+        int perProducer = 10_000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    ring.publish(TaskEvent.Action.COMPLETED, producer + "-" + i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        ring.close();
+
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertEquals(producers * perProducer, lines.length);
+        int[] expectedNext = new int[producers];
+        for (String line : lines) {
+            String title = line.substring(line.indexOf('"') + 1, line.lastIndexOf('"'));
+            int producer = Integer.parseInt(title.substring(0, title.indexOf('-')));
+            int index = Integer.parseInt(title.substring(title.indexOf('-') + 1));
+            assertEquals(expectedNext[producer]++, index, "Reihenfolge von Erzeuger " + producer);
+        }
+    }
+
+    @Test
+    void idleConsumerParksWithoutTimeoutAndWakesOnPublish() throws Exception {
+        StringWriter out = new StringWriter();
+        TaskLogRingBuffer ring = new TaskLogRingBuffer(8, out);
+        try {
+            ring.publish(TaskEvent.Action.CREATED, "Erste");
+            awaitWritten(ring, 1);
+            // Leerer Ring: Konsument schlaeft in park() ohne Timeout (WAITING, nicht TIMED_WAITING)
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (consumerState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(Thread.State.WAITING, consumerState());
+            ring.publish(TaskEvent.Action.COMPLETED, "Zweite");
+            awaitWritten(ring, 2);
+        } finally {
+            ring.close();
+        }
+    }
+
+    @Test
+    void publishAfterCloseIsWrittenSynchronously() {
+        StringWriter out = new StringWriter();
+        TaskLogRingBuffer ring = new TaskLogRingBuffer(2, out);
+        ring.close();
+        for (int i = 0; i < 5; i++) { // mehr als der Ring fasst
+            ring.publish(TaskEvent.Action.DELETED, "Spaet " + i);
+        }
+        assertEquals(5, ring.getWrittenCount());
+        assertTrue(out.toString().endsWith("  [LOG] DELETED: \"Spaet 4\"" + System.lineSeparator()));
+    }
+
+    private static void awaitWritten(TaskLogRingBuffer ring, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (ring.getWrittenCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, ring.getWrittenCount());
+    }
+
+    private static Thread.State consumerState() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("taskforge-log"))
+                .map(Thread::getState)
+                .findFirst().orElse(Thread.State.TERMINATED);
+    }
+}
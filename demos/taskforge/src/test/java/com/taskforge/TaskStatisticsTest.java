@@ -0,0 +1,76 @@
+// Generated by AI (Claude/Anthropic) — not reviewed by the original author
+package com.taskforge;
+
+// Tests fuer die Zaehler von TaskStatistics unter parallelen Events
+
+import com.taskforge.event.TaskEvent;
+import com.taskforge.event.TaskEventBatch;
+import com.taskforge.model.Task;
+import com.taskforge.service.TaskStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testet TaskStatistics direkt als POJO.
+ */
+class TaskStatisticsTest {
+
+    @Test
+    void countsEveryAction() {
+        TaskStatistics stats = new TaskStatistics();
+        Task task = new Task("Zaehlen");
+        stats.onTaskEvents(new TaskEventBatch(List.of(
+                new TaskEvent(task, TaskEvent.Action.CREATED),
+                new TaskEvent(task, TaskEvent.Action.COMPLETED),
+                new TaskEvent(task, TaskEvent.Action.DELETED))));
+        assertEquals(1, stats.getCreatedCount());
+        assertEquals(1, stats.getCompletedCount());
+        assertEquals(1, stats.getDeletedCount());
+        assertEquals("Erstellt: 1, Erledigt: 1, Geloescht: 1", stats.getSummary());
+    }
+
+    @Test
+    void concurrentEventsAreCountedExactly() throws Exception {
+        TaskStatistics stats = new TaskStatistics();
+        int threads = 8;
+        int batchesPerThread = 10_000;
+        Task task = new Task("Parallel");
+        // Pro Batch: 2x CREATED, 1x COMPLETED, 1x DELETED
+        TaskEventBatch batch = new TaskEventBatch(List.of(
+                new TaskEvent(task, TaskEvent.Action.CREATED),
+                new TaskEvent(task, TaskEvent.Action.CREATED),
+                new TaskEvent(task, TaskEvent.Action.COMPLETED),
+                new TaskEvent(task, TaskEvent.Action.DELETED)));
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> observers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            observers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < batchesPerThread; i++) {
+                    stats.onTaskEvents(batch);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> observer : observers) {
+            observer.get();
+        }
+        pool.shutdown();
+
+        long batches = (long) threads * batchesPerThread;
+        assertEquals(2 * batches, stats.getCreatedCount());
+        assertEquals(batches, stats.getCompletedCount());
+        assertEquals(batches, stats.getDeletedCount());
+    }
+}